@@ -0,0 +1,77 @@
+package p79068.util.random;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+
+/**
+ * JMH benchmarks of the thread-safe generators when shared by several threads. The {@link #main(String[])} method runs them with 1, 2, 4, ... threads up to the number of processors; alternatively run through {@code org.openjdk.jmh.Main} with {@code -t} set explicitly.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConcurrentBenchmark {
+	
+	@Param({"SynchronizedRandom", "PerThreadRandom", "StripedRandom"})
+	public String wrapper;
+	
+	private Random random;
+	
+	
+	@Setup
+	public void setup() {
+		switch (wrapper) {
+			case "SynchronizedRandom":  random = new SynchronizedRandom(new MersenneTwister(12345));  break;
+			case "PerThreadRandom":     random = new PerThreadRandom(new MersenneTwister(12345));     break;
+			case "StripedRandom":       random = new StripedRandom();                                 break;
+			default:  throw new IllegalArgumentException("Unknown wrapper: " + wrapper);
+		}
+	}
+	
+	
+	
+	@Benchmark
+	public int uniformInt() {
+		return random.uniformInt();
+	}
+	
+	
+	@Benchmark
+	public double uniformDouble() {
+		return random.uniformDouble();
+	}
+	
+	
+	
+	public static void main(String[] args) throws RunnerException {
+		int maxThreads = Runtime.getRuntime().availableProcessors();
+		for (int threads = 1; ; threads *= 2) {
+			threads = Math.min(threads, maxThreads);
+			Options opts = new OptionsBuilder()
+				.include(ConcurrentBenchmark.class.getSimpleName())
+				.threads(threads)
+				.build();
+			new Runner(opts).run();
+			if (threads == maxThreads)
+				break;
+		}
+	}
+	
+}
@@ -0,0 +1,159 @@
+package p79068.util.random;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * JMH benchmarks of the non-uniform distributions: the one-off methods of {@link FancyRandom}, the prepared distribution objects, and {@link AliasTable}. See {@link GeneratorBenchmark} for how to run.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DistributionBenchmark {
+	
+	@Param({"MersenneTwister", "Xoshiro256PlusPlus"})
+	public String generator;
+	
+	private Random random;
+	private FancyRandom fancy;
+	private double[] array;
+	
+	private BinomialDistribution binomialSmall;
+	private BinomialDistribution binomialLarge;
+	private PoissonDistribution poissonSmall;
+	private PoissonDistribution poissonLarge;
+	private GammaDistribution gamma;
+	private BetaDistribution beta;
+	private AliasTable aliasTable;
+	
+	
+	@Setup
+	public void setup() {
+		random = GeneratorBenchmark.newGenerator(generator);
+		fancy = new FancyRandom(random);
+		array = new double[65536];
+		binomialSmall = new BinomialDistribution(20, 0.3);
+		binomialLarge = new BinomialDistribution(100000000, 0.3);
+		poissonSmall = new PoissonDistribution(3.5);
+		poissonLarge = new PoissonDistribution(1000);
+		gamma = new GammaDistribution(2.5, 1);
+		beta = new BetaDistribution(2, 5);
+		double[] weights = new double[4096];
+		for (int i = 0; i < weights.length; i++)
+			weights[i] = 1.0 / (i + 1);  // Zipf-like
+		aliasTable = new AliasTable(weights);
+	}
+	
+	
+	
+	/* FancyRandom one-off methods */
+	
+	@Benchmark
+	public double gaussianDouble() {
+		return fancy.gaussianDouble();
+	}
+	
+	
+	@Benchmark
+	public double[] gaussianDoubles() {
+		fancy.gaussianDoubles(array);
+		return array;
+	}
+	
+	
+	@Benchmark
+	public double[] uniformDoubles() {
+		fancy.uniformDoubles(array);
+		return array;
+	}
+	
+	
+	@Benchmark
+	public double exponentialDouble() {
+		return fancy.exponentialDouble();
+	}
+	
+	
+	@Benchmark
+	public int binomialIntLarge() {
+		return fancy.binomialInt(100000000, 0.3);
+	}
+	
+	
+	@Benchmark
+	public int geometricInt() {
+		return fancy.geometricInt(0.01);
+	}
+	
+	
+	@Benchmark
+	public int poissonInt() {
+		return fancy.poissonInt(1000);
+	}
+	
+	
+	@Benchmark
+	public double gammaDouble() {
+		return fancy.gammaDouble(2.5);
+	}
+	
+	
+	
+	/* Prepared distributions */
+	
+	@Benchmark
+	public int binomialSmallPrepared() {
+		return binomialSmall.sample(random);
+	}
+	
+	
+	@Benchmark
+	public int binomialLargePrepared() {
+		return binomialLarge.sample(random);
+	}
+	
+	
+	@Benchmark
+	public int poissonSmallPrepared() {
+		return poissonSmall.sample(random);
+	}
+	
+	
+	@Benchmark
+	public int poissonLargePrepared() {
+		return poissonLarge.sample(random);
+	}
+	
+	
+	@Benchmark
+	public double gammaPrepared() {
+		return gamma.sample(random);
+	}
+	
+	
+	@Benchmark
+	public double betaPrepared() {
+		return beta.sample(random);
+	}
+	
+	
+	@Benchmark
+	public int aliasTable() {
+		return aliasTable.sample(random);
+	}
+	
+}
@@ -0,0 +1,178 @@
+package p79068.util.random;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * JMH benchmarks of the uniform output methods of every generator in this package.
+ * <p>The benchmark sources need jmh-core and jmh-generator-annprocess (as an annotation processor) on the class path, in addition to the library sources. Run for example:<br>
+ * {@code java -cp ... org.openjdk.jmh.Main GeneratorBenchmark -prof gc}<br>
+ * where {@code -prof gc} adds the allocation rate per operation next to the time per operation.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GeneratorBenchmark {
+	
+	@Param({"MersenneTwister", "Sfmt19937", "Dsfmt19937", "Isaac", "Isaac64", "LcgRandom", "Xoshiro256StarStar", "Xoshiro256PlusPlus", "Xoroshiro128PlusPlus", "Pcg32", "Pcg64", "Pcg64Dxsm", "Philox4x32", "ChaChaRandom", "PrefetchingIsaac", "PrefetchingChaCha"})
+	public String generator;
+	
+	private Random random;
+	
+	
+	@Setup
+	public void setup() {
+		random = newGenerator(generator);
+	}
+	
+	
+	@TearDown
+	public void tearDown() throws Exception {
+		if (random instanceof AutoCloseable)
+			((AutoCloseable)random).close();  // Stops the background thread of the prefetching generators
+	}
+	
+	
+	
+	/* Single values */
+	
+	@Benchmark
+	public int uniformInt() {
+		return random.uniformInt();
+	}
+	
+	
+	@Benchmark
+	public int uniformIntPowerOf2Bound() {
+		return random.uniformInt(1 << 20);
+	}
+	
+	
+	@Benchmark
+	public int uniformIntSmallBound() {
+		return random.uniformInt(1000003);
+	}
+	
+	
+	@Benchmark
+	public int uniformIntLargeBound() {
+		// Just over 2^30, where a rejection method based on 31-bit values rejects almost half the time
+		return random.uniformInt((1 << 30) + 1);
+	}
+	
+	
+	@Benchmark
+	public long uniformLong() {
+		return random.uniformLong();
+	}
+	
+	
+	@Benchmark
+	public long uniformLongBound() {
+		return random.uniformLong(1000000000000000003L);
+	}
+	
+	
+	@Benchmark
+	public double uniformDouble() {
+		return random.uniformDouble();
+	}
+	
+	
+	
+	/* Bulk values */
+	
+	@Benchmark
+	public byte[] uniformBytes(ArrayState arrays) {
+		random.uniformBytes(arrays.bytes);
+		return arrays.bytes;
+	}
+	
+	
+	@Benchmark
+	public int[] uniformInts(ArrayState arrays) {
+		random.uniformInts(arrays.ints);
+		return arrays.ints;
+	}
+	
+	
+	@Benchmark
+	public long[] uniformLongs(ArrayState arrays) {
+		random.uniformLongs(arrays.longs);
+		return arrays.longs;
+	}
+	
+	
+	@Benchmark
+	public double[] uniformDoubles(ArrayState arrays) {
+		random.uniformDoubles(arrays.doubles);
+		return arrays.doubles;
+	}
+	
+	
+	
+	/**
+	 * Returns a new generator of the specified class name with a fixed seed.
+	 */
+	static Random newGenerator(String name) {
+		switch (name) {
+			case "MersenneTwister":       return new MersenneTwister(12345);
+			case "Sfmt19937":             return new Sfmt19937(12345);
+			case "Dsfmt19937":            return new Dsfmt19937(12345);
+			case "Isaac":                 return new Isaac(new int[256]);
+			case "Isaac64":               return new Isaac64(new long[256]);
+			case "LcgRandom":             return new LcgRandom(12345);
+			case "Xoshiro256StarStar":    return new Xoshiro256StarStar(12345);
+			case "Xoshiro256PlusPlus":    return new Xoshiro256PlusPlus(12345);
+			case "Xoroshiro128PlusPlus":  return new Xoroshiro128PlusPlus(12345);
+			case "Pcg32":                 return new Pcg32(12345, 0);
+			case "Pcg64":                 return new Pcg64(12345, 0);
+			case "Pcg64Dxsm":             return new Pcg64Dxsm(12345, 0);
+			case "Philox4x32":            return new Philox4x32(12345);
+			case "ChaChaRandom":          return new ChaChaRandom(new byte[32]);
+			case "PrefetchingIsaac":      return new PrefetchingRandom(new Isaac(new int[256]));
+			case "PrefetchingChaCha":     return new PrefetchingRandom(new ChaChaRandom(new byte[32]));
+			default:  throw new IllegalArgumentException("Unknown generator: " + name);
+		}
+	}
+	
+	
+	
+	@State(Scope.Thread)
+	public static class ArrayState {
+		
+		@Param({"16", "1024", "65536"})
+		public int size;
+		
+		public byte[] bytes;
+		public int[] ints;
+		public long[] longs;
+		public double[] doubles;
+		
+		
+		@Setup
+		public void setup() {
+			bytes = new byte[size];
+			ints = new int[size];
+			longs = new long[size];
+			doubles = new double[size];
+		}
+		
+	}
+	
+}
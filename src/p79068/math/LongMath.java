@@ -115,6 +115,18 @@ public final class LongMath {
 	}
 	
 	
+	/**
+	 * Returns the upper 64 bits of the 128-bit product of the specified unsigned integers.
+	 * @param x a multiplicand, interpreted as an unsigned 64-bit integer
+	 * @param y a multiplicand, interpreted as an unsigned 64-bit integer
+	 * @return the upper half of {@code x} times {@code y}, as an unsigned 64-bit integer
+	 */
+	public static long multiplyHighUnsigned(long x, long y) {
+		// Convert the signed high product to unsigned by adding back y * 2^64 if x is negative, and vice versa
+		return Math.multiplyHigh(x, y) + ((x >> 63) & y) + ((y >> 63) & x);
+	}
+	
+	
 	
 	// Simple functions
 	
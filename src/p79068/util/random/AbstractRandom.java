@@ -1,7 +1,10 @@
 package p79068.util.random;
 
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 import p79068.Assert;
-import p79068.math.IntegerMath;
+import p79068.math.LongMath;
 
 
 /**
@@ -26,6 +29,7 @@ public abstract class AbstractRandom implements Random {
 	
 	/**
 	 * Returns a random, uniformly distributed integer between 0 (inclusive) and {@code n} (exclusive). {@code n} must be positive.
+	 * <p>This uses Lemire's multiply-shift method (2019): the bound is multiplied by a random 32-bit value and the upper half of the product is returned. A division is only needed with probability {@code n}/2<sup>32</sup>, to decide whether to reject a biased product.</p>
 	 * @param n the upper bound of the range to generate in
 	 * @return an integer in the range [0, {@code n}), each with equal probability
 	 * @throws IllegalArgumentException if {@code n} &le; 0
@@ -33,18 +37,76 @@ public abstract class AbstractRandom implements Random {
 	public int uniformInt(int n) {
 		if (n <= 0)
 			throw new IllegalArgumentException();
-		
-		if (IntegerMath.isPowerOf2(n))
-			return uniformInt() & (n - 1);  // Fast path
-		else {  // Unbiased
-			int random;
-			int result;
-			do {  // Rejection sampling
-				random = uniformInt() >>> 1;  // In the range [0, 2^31)
-				result = random % n;
-			} while (random - result + (n - 1) < 0);
-			return result;
+		return uniformIntBelow(n);
+	}
+	
+	
+	/**
+	 * Returns a random, uniformly distributed integer between {@code lo} (inclusive) and {@code hi} (exclusive). The range may span more than half of the {@code int} values.
+	 * @param lo the lower bound of the range, inclusive
+	 * @param hi the upper bound of the range, exclusive
+	 * @return an integer in the range [{@code lo}, {@code hi}), each with equal probability
+	 * @throws IllegalArgumentException if {@code lo} &ge; {@code hi}
+	 */
+	public int uniformInt(int lo, int hi) {
+		if (lo >= hi)
+			throw new IllegalArgumentException();
+		return lo + uniformIntBelow((long)hi - lo);
+	}
+	
+	
+	// Returns a uniform value in [0, n) for 1 <= n < 2^32, cast to int.
+	private int uniformIntBelow(long n) {
+		long m = (uniformInt() & 0xFFFFFFFFL) * n;  // Unsigned 64-bit product
+		if ((m & 0xFFFFFFFFL) < n) {
+			long threshold = (1L << 32) % n;
+			while ((m & 0xFFFFFFFFL) < threshold)
+				m = (uniformInt() & 0xFFFFFFFFL) * n;
+		}
+		return (int)(m >>> 32);
+	}
+	
+	
+	/**
+	 * Returns a random, uniformly distributed integer between 0 (inclusive) and {@code n} (exclusive). {@code n} must be positive.
+	 * <p>This uses Lemire's multiply-shift method on the full 128-bit product.</p>
+	 * @param n the upper bound of the range to generate in
+	 * @return an integer in the range [0, {@code n}), each with equal probability
+	 * @throws IllegalArgumentException if {@code n} &le; 0
+	 */
+	public long uniformLong(long n) {
+		if (n <= 0)
+			throw new IllegalArgumentException();
+		return uniformLongBelow(n);
+	}
+	
+	
+	/**
+	 * Returns a random, uniformly distributed integer between {@code lo} (inclusive) and {@code hi} (exclusive). The range may span more than half of the {@code long} values.
+	 * @param lo the lower bound of the range, inclusive
+	 * @param hi the upper bound of the range, exclusive
+	 * @return an integer in the range [{@code lo}, {@code hi}), each with equal probability
+	 * @throws IllegalArgumentException if {@code lo} &ge; {@code hi}
+	 */
+	public long uniformLong(long lo, long hi) {
+		if (lo >= hi)
+			throw new IllegalArgumentException();
+		return lo + uniformLongBelow(hi - lo);
+	}
+	
+	
+	// Returns a uniform value in [0, n), where n is a non-zero unsigned 64-bit integer.
+	private long uniformLongBelow(long n) {
+		long x = uniformLong();
+		long low = x * n;
+		if (Long.compareUnsigned(low, n) < 0) {
+			long threshold = Long.remainderUnsigned(-n, n);  // 2^64 mod n
+			while (Long.compareUnsigned(low, threshold) < 0) {
+				x = uniformLong();
+				low = x * n;
+			}
 		}
+		return LongMath.multiplyHighUnsigned(x, n);
 	}
 	
 	
@@ -105,4 +167,131 @@ public abstract class AbstractRandom implements Random {
 			b[off] = (byte)rand;
 	}
 	
+	
+	/**
+	 * Stores random, uniformly distributed {@code int} values into the specified array.
+	 * @param b the array to store to
+	 */
+	public void uniformInts(int[] b) {
+		uniformInts(b, 0, b.length);
+	}
+	
+	
+	/**
+	 * Stores random, uniformly distributed {@code int} values into the specified array range. Subclasses that buffer their output should override this to copy directly from the buffer.
+	 * @param b the array to store to
+	 * @param off the offset into the array
+	 * @param len the length of the range to store
+	 */
+	public void uniformInts(int[] b, int off, int len) {
+		Assert.assertRangeInBounds(b.length, off, len);
+		for (int end = off + len; off < end; off++)
+			b[off] = uniformInt();
+	}
+	
+	
+	/**
+	 * Stores random, uniformly distributed {@code long} values into the specified array.
+	 * @param b the array to store to
+	 */
+	public void uniformLongs(long[] b) {
+		uniformLongs(b, 0, b.length);
+	}
+	
+	
+	/**
+	 * Stores random, uniformly distributed {@code long} values into the specified array range.
+	 * @param b the array to store to
+	 * @param off the offset into the array
+	 * @param len the length of the range to store
+	 */
+	public void uniformLongs(long[] b, int off, int len) {
+		Assert.assertRangeInBounds(b.length, off, len);
+		for (int end = off + len; off < end; off++)
+			b[off] = uniformLong();
+	}
+	
+	
+	/**
+	 * Stores random {@code double} values uniformly distributed in [0, 1) into the specified array.
+	 * @param b the array to store to
+	 */
+	public void uniformDoubles(double[] b) {
+		uniformDoubles(b, 0, b.length);
+	}
+	
+	
+	/**
+	 * Stores random {@code double} values uniformly distributed in [0, 1) into the specified array range.
+	 * @param b the array to store to
+	 * @param off the offset into the array
+	 * @param len the length of the range to store
+	 */
+	public void uniformDoubles(double[] b, int off, int len) {
+		Assert.assertRangeInBounds(b.length, off, len);
+		for (int end = off + len; off < end; off++)
+			b[off] = uniformDouble();
+	}
+	
+	
+	/**
+	 * Returns an effectively unlimited stream of random {@code int} values, as from {@link #uniformInt()}. Values are drawn from this generator as the stream is consumed.
+	 * <p>When the stream runs in parallel, each split-off part draws from its own generator, so the parts proceed without contention. That generator comes from {@link SplittableRandom#split()} if this generator supports it, or else is a {@link Xoshiro256PlusPlus} seeded from this generator.</p>
+	 * @return a stream of {@code Long.MAX_VALUE} random {@code int} values
+	 */
+	public IntStream ints() {
+		return RandomStreams.ints(this, Long.MAX_VALUE);
+	}
+	
+	
+	/**
+	 * Returns a stream of the specified number of random {@code int} values, as from {@link #uniformInt()}. See {@link #ints()}.
+	 * @param size the number of values
+	 * @return a stream of {@code size} random {@code int} values
+	 * @throws IllegalArgumentException if {@code size} is negative
+	 */
+	public IntStream ints(long size) {
+		return RandomStreams.ints(this, size);
+	}
+	
+	
+	/**
+	 * Returns an effectively unlimited stream of random {@code long} values, as from {@link #uniformLong()}. See {@link #ints()}.
+	 * @return a stream of {@code Long.MAX_VALUE} random {@code long} values
+	 */
+	public LongStream longs() {
+		return RandomStreams.longs(this, Long.MAX_VALUE);
+	}
+	
+	
+	/**
+	 * Returns a stream of the specified number of random {@code long} values, as from {@link #uniformLong()}. See {@link #ints()}.
+	 * @param size the number of values
+	 * @return a stream of {@code size} random {@code long} values
+	 * @throws IllegalArgumentException if {@code size} is negative
+	 */
+	public LongStream longs(long size) {
+		return RandomStreams.longs(this, size);
+	}
+	
+	
+	/**
+	 * Returns an effectively unlimited stream of random {@code double} values in [0, 1), as from {@link #uniformDouble()}. See {@link #ints()}.
+	 * @return a stream of {@code Long.MAX_VALUE} random {@code double} values
+	 */
+	public DoubleStream doubles() {
+		return RandomStreams.doubles(this, Long.MAX_VALUE);
+	}
+	
+	
+	/**
+	 * Returns a stream of the specified number of random {@code double} values in [0, 1), as from {@link #uniformDouble()}. See {@link #ints()}.
+	 * @param size the number of values
+	 * @return a stream of {@code size} random {@code double} values
+	 * @throws IllegalArgumentException if {@code size} is negative
+	 */
+	public DoubleStream doubles(long size) {
+		return RandomStreams.doubles(this, size);
+	}
+	
 }
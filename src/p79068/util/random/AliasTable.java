@@ -0,0 +1,185 @@
+package p79068.util.random;
+
+import p79068.Assert;
+
+
+/**
+ * A discrete distribution over the integers 0 to <var>n</var>&minus;1 with arbitrary fixed weights, sampled in constant time by the alias method.
+ * <p>The table is built by Vose's algorithm (1991) in O(<var>n</var>) time. Each sample then costs one {@code uniformLong()} from the source of randomness (except with probability below <var>n</var>/2<sup>32</sup>, when another is drawn): the upper 32 bits pick a column without bias, and the lower 32 bits decide between the column and its alias. Thus the probability of each outcome is represented with a resolution of 2<sup>&minus;32</sup>/<var>n</var>.</p>
+ * <p>The bulk sampling methods give the same values and consume the same random numbers as the same number of calls to {@link #sample(Random)}.</p>
+ * <p>Mutability: <em>Immutable</em><br>
+ * Thread safety: <em>Safe</em></p>
+ */
+public final class AliasTable {
+	
+	private static final double THRESHOLD_SCALE = 4294967296.0;  // 2^32
+	
+	
+	
+	private final int size;
+	
+	private final long[] thresholds;  // Each in [0, 2^32]; column i is chosen if the fraction is below thresholds[i]
+	
+	private final int[] aliases;
+	
+	private final int rejectionThreshold;  // Equal to 2^32 mod size
+	
+	
+	
+	/**
+	 * Constructs an alias table from the specified weights. Outcome {@code i} has probability {@code weights[i]} / (sum of weights).
+	 * @param weights the non-negative weights of the outcomes
+	 * @throws IllegalArgumentException if the array is empty, if a weight is negative or not finite, or if the sum of weights is not positive and finite
+	 */
+	public AliasTable(double[] weights) {
+		Assert.assertNotNull(weights);
+		size = weights.length;
+		if (size == 0)
+			throw new IllegalArgumentException("Empty weights");
+		double sum = 0;
+		for (double w : weights) {
+			if (!(w >= 0 && w < Double.POSITIVE_INFINITY))
+				throw new IllegalArgumentException("Invalid weight");
+			sum += w;
+		}
+		if (!(sum > 0 && sum < Double.POSITIVE_INFINITY))
+			throw new IllegalArgumentException("Invalid sum of weights");
+		
+		thresholds = new long[size];
+		aliases = new int[size];
+		rejectionThreshold = (int)((1L << 32) % size);
+		
+		// Vose's algorithm, with the worklists of small and large columns sharing one array from opposite ends
+		double[] scaled = new double[size];
+		int[] work = new int[size];
+		int numSmall = 0;
+		int largeStart = size;
+		for (int i = 0; i < size; i++) {
+			scaled[i] = weights[i] / sum * size;
+			if (scaled[i] < 1) {
+				work[numSmall] = i;
+				numSmall++;
+			} else {
+				largeStart--;
+				work[largeStart] = i;
+			}
+		}
+		while (numSmall > 0 && largeStart < size) {
+			numSmall--;
+			int small = work[numSmall];
+			int large = work[largeStart];
+			largeStart++;
+			thresholds[small] = Math.round(scaled[small] * THRESHOLD_SCALE);
+			aliases[small] = large;
+			scaled[large] = (scaled[large] + scaled[small]) - 1;
+			if (scaled[large] < 1) {
+				work[numSmall] = large;
+				numSmall++;
+			} else {
+				largeStart--;
+				work[largeStart] = large;
+			}
+		}
+		// Whatever remains has probability 1 up to rounding error
+		for (int i = 0; i < numSmall; i++) {
+			thresholds[work[i]] = 1L << 32;
+			aliases[work[i]] = work[i];
+		}
+		for (int i = largeStart; i < size; i++) {
+			thresholds[work[i]] = 1L << 32;
+			aliases[work[i]] = work[i];
+		}
+	}
+	
+	
+	/**
+	 * Constructs an alias table from the specified integer weights, such as frequency counts. Outcome {@code i} has probability {@code weights[i]} / (sum of weights).
+	 * @param weights the non-negative weights of the outcomes
+	 * @throws IllegalArgumentException if the array is empty, if a weight is negative, or if all weights are zero
+	 */
+	public AliasTable(long[] weights) {
+		this(toDoubles(weights));
+	}
+	
+	
+	private static double[] toDoubles(long[] weights) {
+		Assert.assertNotNull(weights);
+		double[] result = new double[weights.length];
+		for (int i = 0; i < weights.length; i++) {
+			if (weights[i] < 0)
+				throw new IllegalArgumentException("Invalid weight");
+			result[i] = weights[i];
+		}
+		return result;
+	}
+	
+	
+	
+	/**
+	 * Returns the number of outcomes of this distribution.
+	 * @return the number of outcomes
+	 */
+	public int size() {
+		return size;
+	}
+	
+	
+	/**
+	 * Returns a random outcome from this distribution, using the specified source of randomness.
+	 * @param rand the source of randomness
+	 * @return an integer in the range [0, {@code size()})
+	 */
+	public int sample(Random rand) {
+		int result;
+		do result = lookup(rand.uniformLong());
+		while (result == -1);
+		return result;
+	}
+	
+	
+	/**
+	 * Stores random outcomes from this distribution into the specified array, using the specified source of randomness.
+	 * @param rand the source of randomness
+	 * @param out the array to fill
+	 */
+	public void sample(Random rand, int[] out) {
+		sample(rand, out, 0, out.length);
+	}
+	
+	
+	/**
+	 * Stores random outcomes from this distribution into the specified array range, using the specified source of randomness.
+	 * @param rand the source of randomness
+	 * @param out the array to write to
+	 * @param off the starting index in the array
+	 * @param len the number of outcomes to store
+	 */
+	public void sample(Random rand, int[] out, int off, int len) {
+		Assert.assertRangeInBounds(out.length, off, len);
+		long[] buffer = new long[Math.min(len, 256)];
+		int end = off + len;
+		while (off < end) {
+			// Draw exactly one long per remaining value, so that a rejection leaves the remainder for the next round
+			int n = Math.min(end - off, buffer.length);
+			rand.uniformLongs(buffer, 0, n);
+			for (int i = 0; i < n; i++) {
+				int k = lookup(buffer[i]);
+				if (k != -1) {
+					out[off] = k;
+					off++;
+				}
+			}
+		}
+	}
+	
+	
+	// Returns the outcome selected by the specified random bits, or -1 if they must be rejected.
+	private int lookup(long bits) {
+		long m = (bits >>> 32) * size;  // Lemire's multiply-shift column selection
+		if ((m & 0xFFFFFFFFL) < rejectionThreshold)
+			return -1;
+		int column = (int)(m >>> 32);
+		return (bits & 0xFFFFFFFFL) < thresholds[column] ? column : aliases[column];
+	}
+	
+}
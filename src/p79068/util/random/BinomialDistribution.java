@@ -0,0 +1,244 @@
+package p79068.util.random;
+
+
+/**
+ * A binomial distribution with fixed parameters, prepared for repeated sampling.
+ * <p>Sampling takes constant expected time regardless of the number of trials. Depending on the parameters, one of these methods is used:</p>
+ * <ul>
+ *   <li>Fewer than 16 trials: one Bernoulli trial per uniform value.</li>
+ *   <li>Mean below 10: inversion by sequential search from 0, with expected cost proportional to the mean.</li>
+ *   <li>Otherwise: BTRD, the transformed rejection method with decomposition of Hormann (1993), which needs about 1.1 uniform values per sample.</li>
+ * </ul>
+ * <p>A success probability above 0.5 is handled by sampling the number of failures instead.</p>
+ * <p>Mutability: <em>Immutable</em><br>
+ * Thread safety: <em>Safe</em></p>
+ */
+public final class BinomialDistribution {
+	
+	// Stirling series corrections fc(k) = ln(k!) - (k + 1/2) ln(k + 1) + (k + 1) - ln(2 pi) / 2, for small k
+	private static final double[] STIRLING_CORRECTIONS = {
+		0.08106146679532726, 0.04134069595540929, 0.02767792568499834, 0.02079067210376509, 0.01664469118982119,
+		0.01387612882307075, 0.01189670994589177, 0.01041126526197209, 0.009255462182712733, 0.008330563433362871,
+	};
+	
+	
+	
+	private final int n;
+	
+	private final double p;  // The sampled probability, which is at most 0.5
+	
+	private final boolean flipped;  // Whether p is the failure probability
+	
+	private final Method method;
+	
+	// Precomputed values for inversion and BTRD, or 0 if unused
+	private final double r;
+	private final double nr;
+	private final double q0n;  // Inversion only
+	
+	// Precomputed values for BTRD only, or 0 if unused
+	private final int m;
+	private final double npq;
+	private final double a;
+	private final double b;
+	private final double c;
+	private final double alpha;
+	private final double vr;
+	private final double urvr;
+	private final double h;
+	
+	
+	
+	/**
+	 * Constructs a binomial distribution with the specified number of trials and success probability.
+	 * @param n the number of trials
+	 * @param p the success probability
+	 * @throws IllegalArgumentException if {@code n} is negative or {@code p} is not in [0, 1]
+	 */
+	public BinomialDistribution(int n, double p) {
+		if (n < 0 || !(p >= 0 && p <= 1))
+			throw new IllegalArgumentException();
+		this.n = n;
+		flipped = p > 0.5;
+		this.p = flipped ? 1 - p : p;
+		double q = 1 - this.p;
+		
+		if (n < 16 || this.p == 0)
+			method = Method.DIRECT;
+		else if (n * this.p < 10)
+			method = Method.INVERSION;
+		else
+			method = Method.BTRD;
+		
+		if (method != Method.DIRECT) {
+			r = this.p / q;
+			nr = (n + 1) * r;
+		} else {
+			r = 0;
+			nr = 0;
+		}
+		q0n = method == Method.INVERSION ? Math.pow(q, n) : 0;
+		
+		if (method == Method.BTRD) {
+			m = (int)Math.floor((n + 1) * this.p);
+			npq = n * this.p * q;
+			double sqrtNpq = Math.sqrt(npq);
+			b = 1.15 + 2.53 * sqrtNpq;
+			a = -0.0873 + 0.0248 * b + 0.01 * this.p;
+			c = n * this.p + 0.5;
+			alpha = (2.83 + 5.1 / b) * sqrtNpq;
+			vr = 0.92 - 4.2 / b;
+			urvr = 0.86 * vr;
+			double nm = n - m + 1;
+			h = (m + 0.5) * Math.log((m + 1) / (r * nm)) + stirlingCorrection(m) + stirlingCorrection(n - m);
+		} else {
+			m = 0;
+			npq = 0;
+			a = 0;
+			b = 0;
+			c = 0;
+			alpha = 0;
+			vr = 0;
+			urvr = 0;
+			h = 0;
+		}
+	}
+	
+	
+	
+	/**
+	 * Returns the number of trials of this distribution.
+	 * @return the number of trials
+	 */
+	public int getTrials() {
+		return n;
+	}
+	
+	
+	/**
+	 * Returns the success probability of this distribution.
+	 * @return the success probability
+	 */
+	public double getProbability() {
+		return flipped ? 1 - p : p;
+	}
+	
+	
+	/**
+	 * Returns a random integer from this distribution, using the specified source of randomness.
+	 * @param rand the source of randomness
+	 * @return a binomially distributed integer in the range [0, {@code getTrials()}]
+	 */
+	public int sample(Random rand) {
+		int k;
+		switch (method) {
+			case DIRECT:     k = sampleDirect(rand);     break;
+			case INVERSION:  k = sampleInversion(rand);  break;
+			case BTRD:       k = sampleBtrd(rand);       break;
+			default:  throw new AssertionError();
+		}
+		return flipped ? n - k : k;
+	}
+	
+	
+	private int sampleDirect(Random rand) {
+		int count = 0;
+		for (int i = 0; i < n; i++) {
+			if (rand.uniformDouble() < p)
+				count++;
+		}
+		return count;
+	}
+	
+	
+	private int sampleInversion(Random rand) {
+		while (true) {
+			double u = rand.uniformDouble();
+			double prob = q0n;
+			int k = 0;
+			while (u > prob) {
+				u -= prob;
+				k++;
+				if (k > n)
+					break;  // Rounding error; start over
+				prob *= nr / k - r;
+			}
+			if (k <= n)
+				return k;
+		}
+	}
+	
+	
+	private int sampleBtrd(Random rand) {
+		while (true) {
+			double u;
+			double v = rand.uniformDouble();
+			if (v <= urvr) {
+				// Fast path: the point lies in the inner box under the hat
+				u = v / vr - 0.43;
+				return (int)Math.floor((2 * a / (0.5 - Math.abs(u)) + b) * u + c);
+			}
+			if (v >= vr)
+				u = rand.uniformDouble() - 0.5;
+			else {
+				u = v / vr - 0.93;
+				u = Math.signum(u) * 0.5 - u;
+				v = rand.uniformDouble() * vr;
+			}
+			
+			double us = 0.5 - Math.abs(u);
+			double kd = Math.floor((2 * a / us + b) * u + c);
+			if (kd < 0 || kd > n)
+				continue;
+			int k = (int)kd;
+			v = v * alpha / (a / (us * us) + b);
+			int km = Math.abs(k - m);
+			
+			if (km <= 15) {
+				// Evaluate the probability ratio f(k) / f(m) by the recurrence
+				double f = 1;
+				if (m < k) {
+					for (int i = m + 1; i <= k; i++)
+						f *= nr / i - r;
+				} else if (m > k) {
+					for (int i = k + 1; i <= m; i++)
+						v *= nr / i - r;
+				}
+				if (v <= f)
+					return k;
+			} else {
+				// Squeeze with bounds on the log ratio, then the exact test
+				v = Math.log(v);
+				double rho = (km / npq) * (((km / 3.0 + 0.625) * km + 1.0 / 6) / npq + 0.5);
+				double t = -(double)km * km / (2 * npq);
+				if (v < t - rho)
+					return k;
+				if (v > t + rho)
+					continue;
+				double nk = n - k + 1;
+				double nm = n - m + 1;
+				if (v <= h + (n + 1) * Math.log(nm / nk) + (k + 0.5) * Math.log(nk * r / (k + 1)) - stirlingCorrection(k) - stirlingCorrection(n - k))
+					return k;
+			}
+		}
+	}
+	
+	
+	// Returns ln(k!) - (k + 1/2) ln(k + 1) + (k + 1) - ln(2 pi) / 2, for k >= 0.
+	static double stirlingCorrection(int k) {
+		if (k < STIRLING_CORRECTIONS.length)
+			return STIRLING_CORRECTIONS[k];
+		double rk = k + 1;
+		double rk2 = rk * rk;
+		return (1.0 / 12 - (1.0 / 360 - 1.0 / 1260 / rk2) / rk2) / rk;
+	}
+	
+	
+	
+	private enum Method {
+		DIRECT,     // One Bernoulli trial per uniform value
+		INVERSION,  // Sequential search from 0
+		BTRD,       // Transformed rejection with decomposition
+	}
+	
+}
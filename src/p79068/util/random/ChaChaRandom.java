@@ -0,0 +1,250 @@
+package p79068.util.random;
+
+import java.security.SecureRandom;
+import java.util.Arrays;
+import p79068.Assert;
+
+
+/**
+ * A cryptographically secure pseudorandom number generator based on Daniel J. Bernstein's ChaCha stream cipher, with 20, 12 or 8 rounds.
+ * <p>The output is the cipher's keystream for a 256-bit key and 64-bit nonce, with a 64-bit block counter starting at 0 (the original ChaCha layout, not the IETF one). Keystream is generated 64 blocks (4 KiB) at a time into a buffer, so most calls are a simple array read. {@link #uniformBytes(byte[], int, int)} returns the keystream bytes in order, which makes the output directly comparable with the cipher's test vectors.</p>
+ * <p>In fast-key-erasure mode, the first 32 bytes of each buffer refill replace the key and are never output, and words are zeroed as they are handed out. Capturing the state then reveals nothing about earlier output. See Bernstein's <q>Fast-key-erasure random-number generators</q> (2017).</p>
+ * <p>Mutability: <em>Mutable</em><br>
+ * Thread safety: <em>Unsafe</em></p>
+ */
+public final class ChaChaRandom extends AbstractRandom {
+	
+	private static final int BUFFER_BLOCKS = 64;
+	
+	
+	
+	private final int rounds;
+	
+	private final boolean fastKeyErasure;
+	
+	// The cipher input block: 4 constant words, 8 key words, 2 counter words, 2 nonce words
+	private final int[] input;
+	
+	// Buffer of generated keystream
+	private final int[] buffer;
+	private int index;  // In the range [0, buffer.length]; the buffer is empty when equal to the length
+	
+	
+	
+	/**
+	 * Constructs a ChaCha20 generator with a key from {@link SecureRandom} and fast key erasure enabled.
+	 */
+	public ChaChaRandom() {
+		this(newKey(), 0, 20, true);
+	}
+	
+	
+	/**
+	 * Constructs a ChaCha20 generator with the specified key, a zero nonce, and fast key erasure disabled.
+	 * @param key the 32-byte key
+	 * @throws IllegalArgumentException if the key is not 32 bytes long
+	 */
+	public ChaChaRandom(byte[] key) {
+		this(key, 0, 20, false);
+	}
+	
+	
+	/**
+	 * Constructs a ChaCha generator with the specified parameters.
+	 * @param key the 32-byte key
+	 * @param nonce the 64-bit nonce, which selects an independent keystream for the same key
+	 * @param rounds the number of rounds, which must be 8, 12 or 20
+	 * @param fastKeyErasure whether to replace the key on each refill so that earlier output cannot be reconstructed
+	 * @throws IllegalArgumentException if the key is not 32 bytes long or the number of rounds is unsupported
+	 */
+	public ChaChaRandom(byte[] key, long nonce, int rounds, boolean fastKeyErasure) {
+		if (key.length != 32)
+			throw new IllegalArgumentException("Key must be 32 bytes");
+		if (rounds != 8 && rounds != 12 && rounds != 20)
+			throw new IllegalArgumentException("Unsupported number of rounds");
+		this.rounds = rounds;
+		this.fastKeyErasure = fastKeyErasure;
+		
+		input = new int[16];
+		input[0] = 0x61707865;  // "expand 32-byte k"
+		input[1] = 0x3320646E;
+		input[2] = 0x79622D32;
+		input[3] = 0x6B206574;
+		for (int i = 0; i < 32; i++)
+			input[4 + i / 4] |= (key[i] & 0xFF) << (i % 4 * 8);
+		input[14] = (int)nonce;
+		input[15] = (int)(nonce >>> 32);
+		
+		buffer = new int[BUFFER_BLOCKS * 16];
+		index = buffer.length;
+	}
+	
+	
+	
+	@Override
+	public int uniformInt() {
+		if (index == buffer.length)
+			refill();
+		int result = buffer[index];
+		if (fastKeyErasure)
+			buffer[index] = 0;
+		index++;
+		return result;
+	}
+	
+	
+	@Override
+	public long uniformLong() {
+		if (index <= buffer.length - 2) {  // Fast path
+			long result = (long)buffer[index] << 32 | (buffer[index + 1] & 0xFFFFFFFFL);
+			if (fastKeyErasure) {
+				buffer[index + 0] = 0;
+				buffer[index + 1] = 0;
+			}
+			index += 2;
+			return result;
+		} else
+			return (long)uniformInt() << 32 | (uniformInt() & 0xFFFFFFFFL);
+	}
+	
+	
+	/**
+	 * Stores the next keystream bytes into the specified array range, in keystream order. If {@code len} is not a multiple of 4, the unused bytes of the last word are discarded.
+	 * @param b the byte array to store to
+	 * @param off the offset into the array
+	 * @param len the length of the range to store
+	 */
+	@Override
+	public void uniformBytes(byte[] b, int off, int len) {
+		Assert.assertRangeInBounds(b.length, off, len);
+		while (len >= 4) {
+			if (index == buffer.length)
+				refill();
+			int n = Math.min(len / 4, buffer.length - index);
+			for (int i = index, end = index + n; i < end; i++, off += 4) {
+				int w = buffer[i];
+				b[off + 0] = (byte)(w >>>  0);
+				b[off + 1] = (byte)(w >>>  8);
+				b[off + 2] = (byte)(w >>> 16);
+				b[off + 3] = (byte)(w >>> 24);
+			}
+			if (fastKeyErasure)
+				Arrays.fill(buffer, index, index + n, 0);
+			index += n;
+			len -= n * 4;
+		}
+		if (len > 0) {
+			for (int w = uniformInt(); len > 0; len--, off++, w >>>= 8)
+				b[off] = (byte)w;
+		}
+	}
+	
+	
+	@Override
+	public void uniformInts(int[] b, int off, int len) {
+		Assert.assertRangeInBounds(b.length, off, len);
+		while (len > 0) {
+			if (index == buffer.length)
+				refill();
+			int n = Math.min(len, buffer.length - index);
+			System.arraycopy(buffer, index, b, off, n);
+			if (fastKeyErasure)
+				Arrays.fill(buffer, index, index + n, 0);
+			index += n;
+			off += n;
+			len -= n;
+		}
+	}
+	
+	
+	/**
+	 * Mixes the specified bytes into the key, then replaces the key with keystream derived from it and discards any buffered output. Afterward, the old key cannot be computed from the new state.
+	 * <p>The new key is the keystream block at the last counter value (2<sup>64</sup> &minus; 1), which is never output, so the new key cannot be predicted from earlier output even if the seed is empty.</p>
+	 * @param seed the bytes to mix in, of any length
+	 */
+	public void reseed(byte[] seed) {
+		for (int i = 0; i < seed.length; i++)
+			input[4 + i / 4 % 8] ^= (seed[i] & 0xFF) << (i % 4 * 8);
+		input[12] = -1;  // Reserved for key derivation; output starts from counter 0
+		input[13] = -1;
+		int[] block = new int[16];
+		chacha(input, block, 0, rounds);
+		System.arraycopy(block, 0, input, 4, 8);
+		input[12] = 0;
+		input[13] = 0;
+		Arrays.fill(block, 0);
+		Arrays.fill(buffer, 0);
+		index = buffer.length;
+	}
+	
+	
+	private void refill() {
+		for (int i = 0; i < buffer.length; i += 16) {
+			chacha(input, buffer, i, rounds);
+			input[12]++;
+			if (input[12] == 0)
+				input[13]++;
+		}
+		index = 0;
+		if (fastKeyErasure) {
+			System.arraycopy(buffer, 0, input, 4, 8);
+			Arrays.fill(buffer, 0, 8, 0);
+			input[12] = 0;  // A new key starts a new keystream
+			input[13] = 0;
+			index = 8;
+		}
+	}
+	
+	
+	// Computes one 64-byte block of keystream from the input block, storing 16 words at the offset.
+	static void chacha(int[] in, int[] out, int off, int rounds) {
+		int x0  = in[ 0], x1  = in[ 1], x2  = in[ 2], x3  = in[ 3];
+		int x4  = in[ 4], x5  = in[ 5], x6  = in[ 6], x7  = in[ 7];
+		int x8  = in[ 8], x9  = in[ 9], x10 = in[10], x11 = in[11];
+		int x12 = in[12], x13 = in[13], x14 = in[14], x15 = in[15];
+		for (int i = 0; i < rounds; i += 2) {
+			// Column round
+			x0 += x4;  x12 = Integer.rotateLeft(x12 ^ x0, 16);  x8  += x12;  x4 = Integer.rotateLeft(x4 ^ x8 , 12);
+			x0 += x4;  x12 = Integer.rotateLeft(x12 ^ x0,  8);  x8  += x12;  x4 = Integer.rotateLeft(x4 ^ x8 ,  7);
+			x1 += x5;  x13 = Integer.rotateLeft(x13 ^ x1, 16);  x9  += x13;  x5 = Integer.rotateLeft(x5 ^ x9 , 12);
+			x1 += x5;  x13 = Integer.rotateLeft(x13 ^ x1,  8);  x9  += x13;  x5 = Integer.rotateLeft(x5 ^ x9 ,  7);
+			x2 += x6;  x14 = Integer.rotateLeft(x14 ^ x2, 16);  x10 += x14;  x6 = Integer.rotateLeft(x6 ^ x10, 12);
+			x2 += x6;  x14 = Integer.rotateLeft(x14 ^ x2,  8);  x10 += x14;  x6 = Integer.rotateLeft(x6 ^ x10,  7);
+			x3 += x7;  x15 = Integer.rotateLeft(x15 ^ x3, 16);  x11 += x15;  x7 = Integer.rotateLeft(x7 ^ x11, 12);
+			x3 += x7;  x15 = Integer.rotateLeft(x15 ^ x3,  8);  x11 += x15;  x7 = Integer.rotateLeft(x7 ^ x11,  7);
+			// Diagonal round
+			x0 += x5;  x15 = Integer.rotateLeft(x15 ^ x0, 16);  x10 += x15;  x5 = Integer.rotateLeft(x5 ^ x10, 12);
+			x0 += x5;  x15 = Integer.rotateLeft(x15 ^ x0,  8);  x10 += x15;  x5 = Integer.rotateLeft(x5 ^ x10,  7);
+			x1 += x6;  x12 = Integer.rotateLeft(x12 ^ x1, 16);  x11 += x12;  x6 = Integer.rotateLeft(x6 ^ x11, 12);
+			x1 += x6;  x12 = Integer.rotateLeft(x12 ^ x1,  8);  x11 += x12;  x6 = Integer.rotateLeft(x6 ^ x11,  7);
+			x2 += x7;  x13 = Integer.rotateLeft(x13 ^ x2, 16);  x8  += x13;  x7 = Integer.rotateLeft(x7 ^ x8 , 12);
+			x2 += x7;  x13 = Integer.rotateLeft(x13 ^ x2,  8);  x8  += x13;  x7 = Integer.rotateLeft(x7 ^ x8 ,  7);
+			x3 += x4;  x14 = Integer.rotateLeft(x14 ^ x3, 16);  x9  += x14;  x4 = Integer.rotateLeft(x4 ^ x9 , 12);
+			x3 += x4;  x14 = Integer.rotateLeft(x14 ^ x3,  8);  x9  += x14;  x4 = Integer.rotateLeft(x4 ^ x9 ,  7);
+		}
+		out[off +  0] = x0  + in[ 0];
+		out[off +  1] = x1  + in[ 1];
+		out[off +  2] = x2  + in[ 2];
+		out[off +  3] = x3  + in[ 3];
+		out[off +  4] = x4  + in[ 4];
+		out[off +  5] = x5  + in[ 5];
+		out[off +  6] = x6  + in[ 6];
+		out[off +  7] = x7  + in[ 7];
+		out[off +  8] = x8  + in[ 8];
+		out[off +  9] = x9  + in[ 9];
+		out[off + 10] = x10 + in[10];
+		out[off + 11] = x11 + in[11];
+		out[off + 12] = x12 + in[12];
+		out[off + 13] = x13 + in[13];
+		out[off + 14] = x14 + in[14];
+		out[off + 15] = x15 + in[15];
+	}
+	
+	
+	private static byte[] newKey() {
+		byte[] key = new byte[32];
+		new SecureRandom().nextBytes(key);
+		return key;
+	}
+	
+}
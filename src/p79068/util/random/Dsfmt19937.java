@@ -0,0 +1,199 @@
+package p79068.util.random;
+
+import p79068.Assert;
+
+
+/**
+ * The double precision SIMD-oriented Fast Mersenne Twister (dSFMT19937) pseudorandom number generator by Mutsuo Saito and Makoto Matsumoto.
+ * Translated from the reference C code (version 2.2) at http://www.math.sci.hiroshima-u.ac.jp/~m-mat/MT/SFMT/ .
+ * <p>The generator works directly in the bit pattern of {@code double} values in [1, 2): each 64-bit state word has the sign and exponent fixed and 52 random mantissa bits, so {@link #uniformDouble()} needs only a subtraction. The period is a multiple of 2<sup>19937</sup> &minus; 1. The state is 191 words of 128 bits plus one extra, and the whole block is regenerated at once by a loop of two {@code long} operations per word.</p>
+ * <p>Unlike most generators in this package, {@link #uniformDouble()} has 52 bits of granularity, and it returns exactly the reference {@code dsfmt_genrand_close_open()} values. {@link #uniformInt()} returns the low 32 bits of the next word, like {@code dsfmt_genrand_uint32()}, and {@link #uniformLong()} combines two of those with the first one in the high half.</p>
+ * <p>Mutability: <em>Mutable</em><br>
+ * Thread safety: <em>Unsafe</em></p>
+ */
+public final class Dsfmt19937 extends AbstractRandom implements Cloneable {
+	
+	private static final int N = 191;  // Number of 128-bit words, excluding the extra one
+	private static final int N64 = N * 2;
+	
+	private static final int POS1 = 117;
+	private static final int SL1 = 19;
+	private static final int SR = 12;
+	private static final long MSK1 = 0x000FFAFFFFFFFB3FL;
+	private static final long MSK2 = 0x000FFDFFFC90FFFDL;
+	private static final long FIX1 = 0x90014964B32F4329L;
+	private static final long FIX2 = 0x3B8D12AC548A7C7AL;
+	private static final long PCV1 = 0x3D84E1AC0DC82880L;
+	private static final long PCV2 = 0x0000000000000001L;
+	
+	private static final long LOW_MASK = 0x000FFFFFFFFFFFFFL;
+	private static final long HIGH_CONST = 0x3FF0000000000000L;  // The bits of 1.0
+	
+	
+	
+	// Words 2i (low) and 2i+1 (high) form the 128-bit word i; words N64 and N64+1 are the extra word ("lung")
+	private long[] state;
+	
+	private int index;  // The next 64-bit output, in the range [0, N64]
+	
+	
+	
+	/**
+	 * Constructs a generator with an arbitrary seed.
+	 */
+	public Dsfmt19937() {
+		this((int)System.nanoTime() ^ (int)System.currentTimeMillis());
+	}
+	
+	
+	/**
+	 * Constructs a generator with the specified seed, like {@code dsfmt_init_gen_rand()}.
+	 */
+	public Dsfmt19937(int seed) {
+		state = new long[N64 + 2];
+		// Fill all the words 32 bits at a time, low half first
+		int x = seed;
+		for (int i = 0; i < (N + 1) * 4; i++) {
+			int shift = (i & 1) * 32;
+			state[i >>> 1] |= (x & 0xFFFFFFFFL) << shift;
+			x = 1812433253 * (x ^ (x >>> 30)) + i + 1;
+		}
+		for (int i = 0; i < N64; i++)
+			state[i] = (state[i] & LOW_MASK) | HIGH_CONST;
+		certifyPeriod();
+		index = N64;
+	}
+	
+	
+	
+	@Override
+	public double uniformDouble() {
+		if (index == N64)
+			nextState();
+		double result = Double.longBitsToDouble(state[index]) - 1.0;
+		index++;
+		return result;
+	}
+	
+	
+	/**
+	 * Returns a random {@code double} value uniformly distributed between 1.0 (inclusive) and 2.0 (exclusive), which is the generator's native output. This equals {@link #uniformDouble()} plus 1 exactly.
+	 * @return a {@code double} in the range [1, 2), each with equal probability
+	 */
+	public double uniformDouble1To2() {
+		if (index == N64)
+			nextState();
+		double result = Double.longBitsToDouble(state[index]);
+		index++;
+		return result;
+	}
+	
+	
+	@Override
+	public int uniformInt() {
+		if (index == N64)
+			nextState();
+		int result = (int)state[index];
+		index++;
+		return result;
+	}
+	
+	
+	@Override
+	public long uniformLong() {
+		return (long)uniformInt() << 32 | (uniformInt() & 0xFFFFFFFFL);
+	}
+	
+	
+	@Override
+	public void uniformInts(int[] b, int off, int len) {
+		Assert.assertRangeInBounds(b.length, off, len);
+		for (int end = off + len; off < end; ) {
+			if (index == N64)
+				nextState();
+			int n = Math.min(end - off, N64 - index);
+			for (int i = index, j = off, stop = off + n; j < stop; i++, j++)
+				b[j] = (int)state[i];
+			index += n;
+			off += n;
+		}
+	}
+	
+	
+	@Override
+	public void uniformDoubles(double[] b, int off, int len) {
+		Assert.assertRangeInBounds(b.length, off, len);
+		for (int end = off + len; off < end; ) {
+			if (index == N64)
+				nextState();
+			int n = Math.min(end - off, N64 - index);
+			for (int i = index, j = off, stop = off + n; j < stop; i++, j++)
+				b[j] = Double.longBitsToDouble(state[i]) - 1.0;
+			index += n;
+			off += n;
+		}
+	}
+	
+	
+	/**
+	 * Stores random {@code double} values uniformly distributed in [1, 2) into the specified array range, as by {@link #uniformDouble1To2()}.
+	 * @param b the array to store to
+	 * @param off the offset into the array
+	 * @param len the length of the range to store
+	 */
+	public void uniformDoubles1To2(double[] b, int off, int len) {
+		Assert.assertRangeInBounds(b.length, off, len);
+		for (int end = off + len; off < end; ) {
+			if (index == N64)
+				nextState();
+			int n = Math.min(end - off, N64 - index);
+			for (int i = index, j = off, stop = off + n; j < stop; i++, j++)
+				b[j] = Double.longBitsToDouble(state[i]);
+			index += n;
+			off += n;
+		}
+	}
+	
+	
+	@Override
+	public Dsfmt19937 clone() {
+		try {
+			Dsfmt19937 result = (Dsfmt19937)super.clone();
+			result.state = result.state.clone();
+			return result;
+		} catch (CloneNotSupportedException e) {
+			throw new AssertionError(e);
+		}
+	}
+	
+	
+	// Regenerates all 191 words of 128 bits, like dsfmt_gen_rand_all().
+	private void nextState() {
+		long[] s = state;
+		long lung0 = s[N64];
+		long lung1 = s[N64 + 1];
+		for (int i = 0; i < N64; i += 2) {
+			int j = i + POS1 * 2 < N64 ? i + POS1 * 2 : i + POS1 * 2 - N64;
+			long t0 = s[i];
+			long t1 = s[i + 1];
+			long l0 = (t0 << SL1) ^ (lung1 >>> 32) ^ (lung1 << 32) ^ s[j];
+			long l1 = (t1 << SL1) ^ (lung0 >>> 32) ^ (lung0 << 32) ^ s[j + 1];
+			s[i] = (l0 >>> SR) ^ (l0 & MSK1) ^ t0;
+			s[i + 1] = (l1 >>> SR) ^ (l1 & MSK2) ^ t1;
+			lung0 = l0;
+			lung1 = l1;
+		}
+		s[N64] = lung0;
+		s[N64 + 1] = lung1;
+		index = 0;
+	}
+	
+	
+	// Ensures the period is a multiple of 2^19937 - 1 by forcing the parity check, like period_certification().
+	private void certifyPeriod() {
+		long inner = ((state[N64] ^ FIX1) & PCV1) ^ ((state[N64 + 1] ^ FIX2) & PCV2);
+		if (Long.bitCount(inner) % 2 == 0)
+			state[N64 + 1] ^= 1;  // The lowest set bit of PCV2
+	}
+	
+}
@@ -1,5 +1,10 @@
 package p79068.util.random;
 
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import p79068.Assert;
+
 
 /**
  * A random number generator with more output types and probability distributions.
@@ -15,15 +20,10 @@ public final class FancyRandom implements Random {
 	
 	private final Random random;
 	
-	private boolean hasNextGaussian;
-	private double nextGaussian;
-	
 	
 	
 	public FancyRandom(Random rand) {
 		random = rand;
-		hasNextGaussian = false;
-		nextGaussian = Double.NaN;
 	}
 	
 	
@@ -72,38 +72,72 @@ public final class FancyRandom implements Random {
 	}
 	
 	
+	/**
+	 * Returns a random, uniformly distributed integer between {@code lo} (inclusive) and {@code hi} (exclusive). {@code lo} must be less than {@code hi}.
+	 * @return an integer in the range [{@code lo}, {@code hi}), each with equal probability
+	 * @throws IllegalArgumentException if {@code lo} &ge; {@code hi}
+	 */
+	public int uniformInt(int lo, int hi) {
+		return random.uniformInt(lo, hi);
+	}
+	
+	
+	/**
+	 * Stores random, uniformly distributed {@code int} values into the specified array.
+	 */
+	public void uniformInts(int[] b) {
+		random.uniformInts(b);
+	}
+	
+	
+	/**
+	 * Stores random, uniformly distributed {@code int} values into the specified array range.
+	 */
+	public void uniformInts(int[] b, int off, int len) {
+		random.uniformInts(b, off, len);
+	}
+	
+	
 	/**
 	 * Returns a random integer from the binomial distribution with the specified number of trials and the specified success probability.
+	 * <p>This takes constant expected time, even for a large number of trials. To draw many values with the same parameters, construct a {@link BinomialDistribution} once and sample from it.</p>
 	 * @param n the number of trials
 	 * @param p the success probability
 	 * @return a binomially distributed integer in the range [0, {@code n}]
 	 */
 	public int binomialInt(int n, double p) {
-		if (n < 0 || p < 0 || p > 1 || Double.isNaN(p))
-			throw new IllegalArgumentException();
-		
-		int count = 0;
-		for (int i = 0; i < n; i++) {
-			if (random.uniformDouble() < p)
-				count++;
-		}
-		return count;
+		return new BinomialDistribution(n, p).sample(random);
 	}
 	
 	
 	/**
-	 * Returns a random integer from the geometric distribution with the specified success probability. The probability of getting 0 is {@code p}, of getting 1 is (1&minus;{@code p})p, etc.
+	 * Returns a random integer from the geometric distribution with the specified success probability. The probability of getting 0 is {@code p}, of getting 1 is (1&minus;{@code p})p, etc. (This is the number of failures before the first success.)
+	 * <p>This uses inversion, which costs one uniform value and one logarithm. Values too large for an {@code int} are clamped to {@code Integer.MAX_VALUE}.</p>
 	 * @param p the success probability
 	 * @return a geometrically distributed integer in the range [0, {@code Integer.MAX_VALUE}]
 	 */
 	public int geometricInt(double p) {
-		if (p < 0 || p > 1)
+		if (!(p >= 0 && p <= 1))
 			throw new IllegalArgumentException();
+		if (p == 1)
+			return 0;
+		if (p == 0)
+			return Integer.MAX_VALUE;
 		
-		int count = 0;
-		while (random.uniformDouble() < p && count != Integer.MAX_VALUE)
-			count++;
-		return count;
+		double u = 1 - random.uniformDouble();  // In (0, 1]
+		double k = Math.floor(Math.log(u) / Math.log1p(-p));
+		return k < Integer.MAX_VALUE ? (int)k : Integer.MAX_VALUE;
+	}
+	
+	
+	/**
+	 * Returns a random integer from the Poisson distribution with the specified mean.
+	 * <p>This takes constant expected time for a large mean. To draw many values with the same mean, construct a {@link PoissonDistribution} once and sample from it.</p>
+	 * @param lambda the mean, which must be in [0, 2<sup>30</sup>]
+	 * @return a Poisson-distributed non-negative integer
+	 */
+	public int poissonInt(double lambda) {
+		return new PoissonDistribution(lambda).sample(random);
 	}
 	
 	
@@ -118,6 +152,42 @@ public final class FancyRandom implements Random {
 	}
 	
 	
+	/**
+	 * Returns a random, uniformly distributed integer between 0 (inclusive) and {@code n} (exclusive). {@code n} must be positive.
+	 * @return an integer in the range [0, {@code n}), each with equal probability
+	 * @throws IllegalArgumentException if {@code n} &le; 0
+	 */
+	public long uniformLong(long n) {
+		return random.uniformLong(n);
+	}
+	
+	
+	/**
+	 * Returns a random, uniformly distributed integer between {@code lo} (inclusive) and {@code hi} (exclusive). {@code lo} must be less than {@code hi}.
+	 * @return an integer in the range [{@code lo}, {@code hi}), each with equal probability
+	 * @throws IllegalArgumentException if {@code lo} &ge; {@code hi}
+	 */
+	public long uniformLong(long lo, long hi) {
+		return random.uniformLong(lo, hi);
+	}
+	
+	
+	/**
+	 * Stores random, uniformly distributed {@code long} values into the specified array.
+	 */
+	public void uniformLongs(long[] b) {
+		random.uniformLongs(b);
+	}
+	
+	
+	/**
+	 * Stores random, uniformly distributed {@code long} values into the specified array range.
+	 */
+	public void uniformLongs(long[] b, int off, int len) {
+		random.uniformLongs(b, off, len);
+	}
+	
+	
 	/* Random byte array */
 	
 	/**
@@ -158,43 +228,169 @@ public final class FancyRandom implements Random {
 	}
 	
 	
+	/**
+	 * Stores random {@code double} values uniformly distributed in [0, 1) into the specified array.
+	 */
+	public void uniformDoubles(double[] b) {
+		random.uniformDoubles(b);
+	}
+	
+	
+	/**
+	 * Stores random {@code double} values uniformly distributed in [0, 1) into the specified array range.
+	 */
+	public void uniformDoubles(double[] b, int off, int len) {
+		random.uniformDoubles(b, off, len);
+	}
+	
+	
 	/**
 	 * Returns a random {@code double} with an exponential distribution of mean 1.
 	 * <p>To obtain a exponentially distributed value with mean {@code lambda}, use this expression: {@code exponential() * lambda}</p>
+	 * <p>This uses the ziggurat method, which usually costs one {@code uniformLong()} and no logarithm per value.</p>
 	 * @return a {@code double} with an exponential distribution of mean 1.
 	 */
 	public double exponentialDouble() {
-		double x;
-		do x = random.uniformDouble();
-		while (x == 0);
-		return -Math.log(x);
+		return Ziggurat.exponential(random);
+	}
+	
+	
+	/**
+	 * Stores random {@code double} values with an exponential distribution of mean 1 into the specified array.
+	 * @param b the array to store to
+	 */
+	public void exponentialDoubles(double[] b) {
+		exponentialDoubles(b, 0, b.length);
+	}
+	
+	
+	/**
+	 * Stores random {@code double} values with an exponential distribution of mean 1 into the specified array range.
+	 * <p>This draws {@code uniformLong()} values in blocks through the underlying generator's bulk method and runs the ziggurat's fast path over each block in a tight loop, instead of going through {@link #exponentialDouble()} once per value. The values differ from those of repeated calls, but have the same distribution.</p>
+	 * @param b the array to store to
+	 * @param off the offset into the array
+	 * @param len the length of the range to store
+	 */
+	public void exponentialDoubles(double[] b, int off, int len) {
+		Assert.assertRangeInBounds(b.length, off, len);
+		Ziggurat.exponentials(random, b, off, len);
 	}
 	
 	
 	/**
 	 * Returns a random {@code double} with a Gaussian (<q>normal</q>) distribution of mean 0.0 and standard deviation 1.0.
 	 * <p>To obtain a Gaussian-distributed value with mean {@code m} and standard deviation {@code s}, use this expression: {@code gaussian()*s + m}</p>
-	 * <p>Note that the probability of producing a number outside of [&minus;10, 10] is 10<sup>&minus;23</sup>; the probability of producing a number outside of [&minus;15, 15] is 10<sup>&minus;50</sup> (i.e., effectively impossible). (Assuming that the underlying random number generator is unbiased.)</p>
+	 * <p>This uses the ziggurat method, which usually costs one {@code uniformLong()} and no logarithm or square root per value.</p>
 	 * @return a {@code double} with a Gaussian distribution of mean 0.0 and standard deviation 1.0
 	 */
-	public double gaussianDouble() {  // Uses the Box-Muller transform
-		if (!hasNextGaussian) {
-			double x, y;
-			double magsqr;
-			// Use rejection sampling to pick a point uniformly distributed in the unit circle
-			do {
-				x = random.uniformDouble() * 2 - 1;
-				y = random.uniformDouble() * 2 - 1;
-				magsqr = x * x + y * y;
-			} while (magsqr >= 1 || magsqr == 0);
-			double temp = Math.sqrt(-2 * Math.log(magsqr) / magsqr);
-			nextGaussian = y * temp;
-			hasNextGaussian = true;
-			return x * temp;
-		} else {
-			hasNextGaussian = false;
-			return nextGaussian;
-		}
+	public double gaussianDouble() {
+		return Ziggurat.normal(random);
+	}
+	
+	
+	/**
+	 * Stores random {@code double} values with a Gaussian distribution of mean 0.0 and standard deviation 1.0 into the specified array.
+	 * @param b the array to store to
+	 */
+	public void gaussianDoubles(double[] b) {
+		gaussianDoubles(b, 0, b.length);
+	}
+	
+	
+	/**
+	 * Stores random {@code double} values with a Gaussian distribution of mean 0.0 and standard deviation 1.0 into the specified array range.
+	 * <p>This draws {@code uniformLong()} values in blocks through the underlying generator's bulk method and runs the ziggurat's fast path over each block in a tight loop, instead of going through {@link #gaussianDouble()} once per value. The values differ from those of repeated calls, but have the same distribution.</p>
+	 * @param b the array to store to
+	 * @param off the offset into the array
+	 * @param len the length of the range to store
+	 */
+	public void gaussianDoubles(double[] b, int off, int len) {
+		Assert.assertRangeInBounds(b.length, off, len);
+		Ziggurat.normals(random, b, off, len);
+	}
+	
+	
+	/**
+	 * Returns a random {@code double} from the gamma distribution with the specified shape and scale 1.
+	 * <p>To draw many values with the same parameters, construct a {@link GammaDistribution} once and sample from it.</p>
+	 * @param shape the shape parameter
+	 * @return a gamma-distributed non-negative {@code double}
+	 */
+	public double gammaDouble(double shape) {
+		return new GammaDistribution(shape, 1).sample(random);
+	}
+	
+	
+	/**
+	 * Returns a random {@code double} from the beta distribution with the specified shape parameters.
+	 * <p>To draw many values with the same parameters, construct a {@link BetaDistribution} once and sample from it.</p>
+	 * @param alpha the first shape parameter
+	 * @param beta the second shape parameter
+	 * @return a beta-distributed {@code double} in [0, 1]
+	 */
+	public double betaDouble(double alpha, double beta) {
+		return new BetaDistribution(alpha, beta).sample(random);
+	}
+	
+	
+	/**
+	 * Returns a random {@code double} from the chi-squared distribution with the specified degrees of freedom.
+	 * <p>To draw many values with the same parameter, construct a {@link ChiSquaredDistribution} once and sample from it.</p>
+	 * @param k the degrees of freedom
+	 * @return a chi-squared-distributed non-negative {@code double}
+	 */
+	public double chiSquaredDouble(double k) {
+		return new ChiSquaredDistribution(k).sample(random);
+	}
+	
+	
+	/* Streams */
+	
+	/**
+	 * Returns an effectively unlimited stream of random {@code int} values, as from {@link #uniformInt()}.
+	 */
+	public IntStream ints() {
+		return random.ints();
+	}
+	
+	
+	/**
+	 * Returns a stream of the specified number of random {@code int} values, as from {@link #uniformInt()}.
+	 */
+	public IntStream ints(long size) {
+		return random.ints(size);
+	}
+	
+	
+	/**
+	 * Returns an effectively unlimited stream of random {@code long} values, as from {@link #uniformLong()}.
+	 */
+	public LongStream longs() {
+		return random.longs();
+	}
+	
+	
+	/**
+	 * Returns a stream of the specified number of random {@code long} values, as from {@link #uniformLong()}.
+	 */
+	public LongStream longs(long size) {
+		return random.longs(size);
+	}
+	
+	
+	/**
+	 * Returns an effectively unlimited stream of random {@code double} values in [0, 1), as from {@link #uniformDouble()}.
+	 */
+	public DoubleStream doubles() {
+		return random.doubles();
+	}
+	
+	
+	/**
+	 * Returns a stream of the specified number of random {@code double} values in [0, 1), as from {@link #uniformDouble()}.
+	 */
+	public DoubleStream doubles(long size) {
+		return random.doubles(size);
 	}
 	
 }
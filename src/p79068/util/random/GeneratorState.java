@@ -0,0 +1,78 @@
+package p79068.util.random;
+
+import p79068.Assert;
+
+
+/**
+ * Static helpers for the binary state format of the generators that support checkpointing.
+ * <p>A state begins with an 8-byte header: a 4-byte tag identifying the generator type, then a 4-byte format version. All multi-byte fields, including the header, are big-endian.</p>
+ * <p>Instantiability: <em>Not applicable</em></p>
+ */
+final class GeneratorState {
+	
+	/** The length of the header, in bytes. */
+	public static final int HEADER_LENGTH = 8;
+	
+	
+	
+	/**
+	 * Checks that the specified range can hold the specified number of bytes.
+	 */
+	public static void checkRange(byte[] b, int off, int len) {
+		Assert.assertNotNull(b);
+		Assert.assertRangeInBounds(b.length, off, len);
+	}
+	
+	
+	/**
+	 * Writes the header with the specified tag and version at the specified offset.
+	 */
+	public static void writeHeader(byte[] b, int off, int tag, int version) {
+		putInt(b, off, tag);
+		putInt(b, off + 4, version);
+	}
+	
+	
+	/**
+	 * Checks that the header at the specified offset has the specified tag and version.
+	 * @throws IllegalArgumentException if the tag or version differs
+	 */
+	public static void checkHeader(byte[] b, int off, int tag, int version) {
+		if (getInt(b, off) != tag)
+			throw new IllegalArgumentException("State is for a different generator");
+		if (getInt(b, off + 4) != version)
+			throw new IllegalArgumentException("Unsupported state version");
+	}
+	
+	
+	public static void putInt(byte[] b, int off, int x) {
+		b[off + 0] = (byte)(x >>> 24);
+		b[off + 1] = (byte)(x >>> 16);
+		b[off + 2] = (byte)(x >>>  8);
+		b[off + 3] = (byte)(x >>>  0);
+	}
+	
+	
+	public static int getInt(byte[] b, int off) {
+		return (b[off] & 0xFF) << 24 | (b[off + 1] & 0xFF) << 16 | (b[off + 2] & 0xFF) << 8 | (b[off + 3] & 0xFF);
+	}
+	
+	
+	public static void putLong(byte[] b, int off, long x) {
+		putInt(b, off, (int)(x >>> 32));
+		putInt(b, off + 4, (int)x);
+	}
+	
+	
+	public static long getLong(byte[] b, int off) {
+		return (long)getInt(b, off) << 32 | (getInt(b, off + 4) & 0xFFFFFFFFL);
+	}
+	
+	
+	
+	/**
+	 * Not instantiable.
+	 */
+	private GeneratorState() {}
+	
+}
@@ -0,0 +1,118 @@
+package p79068.util.random;
+
+import p79068.math.IntegerMath;
+
+
+/**
+ * The Halton low-discrepancy sequence, optionally scrambled by random digit permutations.
+ * <p>Coordinate <var>j</var> of point <var>i</var> is the radical inverse of <var>i</var> in the base of the (<var>j</var>+1)th prime: the base-<var>p</var> digits of <var>i</var> mirrored around the radix point. Any dimension is supported, but in the unscrambled sequence, coordinates with large and nearby bases are strongly correlated for the first many points.</p>
+ * <p>The scrambled sequence maps the digits of each coordinate through a random permutation of the digits of its base, as in Braaten and Weller (1979) and Mascagni and Chi (2004) but with a random rather than optimized permutation. The permutation keeps 0 fixed (otherwise the infinitely many leading zeros of the index would contribute), so base 2 is unchanged, and the same permutation is applied at every digit position. This breaks up the correlations between coordinates while keeping the stratification of each coordinate.</p>
+ * <p>Mutability: <em>Immutable</em><br>
+ * Thread safety: <em>Safe</em></p>
+ */
+public final class HaltonSequence implements QuasiRandomSequence {
+	
+	private static final double ONE_MINUS_ULP = Math.nextDown(1.0);
+	
+	
+	
+	private final int[] bases;
+	
+	private final int[][] permutations;  // permutations[j][d] is the replacement of digit d of coordinate j
+	
+	
+	/**
+	 * Constructs an unscrambled Halton sequence of the specified dimension. Its first point is at the origin.
+	 * @param dimension the number of coordinates
+	 * @throws IllegalArgumentException if the dimension is not positive
+	 */
+	public HaltonSequence(int dimension) {
+		this(dimension, null);
+	}
+	
+	
+	/**
+	 * Constructs a Halton sequence of the specified dimension, scrambled by random digit permutations drawn from the specified generator.
+	 * @param dimension the number of coordinates
+	 * @param rand the source of randomness for the scrambling, or {@code null} for the unscrambled sequence
+	 * @throws IllegalArgumentException if the dimension is not positive
+	 */
+	public HaltonSequence(int dimension, Random rand) {
+		if (dimension < 1)
+			throw new IllegalArgumentException("Unsupported dimension");
+		bases = new int[dimension];
+		for (int j = 0, p = 2; j < dimension; p++) {
+			if (IntegerMath.isPrime(p)) {
+				bases[j] = p;
+				j++;
+			}
+		}
+		
+		if (rand == null)
+			permutations = null;
+		else {
+			permutations = new int[dimension][];
+			for (int j = 0; j < dimension; j++) {
+				int[] perm = new int[bases[j]];
+				for (int d = 0; d < perm.length; d++)
+					perm[d] = d;
+				RandomArrays.shuffle(perm, 1, perm.length - 1, rand);
+				permutations[j] = perm;
+			}
+		}
+	}
+	
+	
+	
+	public int dimension() {
+		return bases.length;
+	}
+	
+	
+	/**
+	 * Stores the coordinates of the point at the specified index, which must be non-negative.
+	 */
+	public void point(long index, double[] out) {
+		if (index < 0)
+			throw new IllegalArgumentException("Index out of range");
+		if (out.length < bases.length)
+			throw new IndexOutOfBoundsException();
+		for (int j = 0; j < bases.length; j++)
+			out[j] = coordinate(j, index);
+	}
+	
+	
+	/**
+	 * Stores the coordinates of consecutive points in dimension-major order. The range of indexes must not exceed {@code Long.MAX_VALUE}.
+	 */
+	public void points(long start, int count, double[] out) {
+		if (start < 0 || count < 0 || start + count < 0)
+			throw new IllegalArgumentException("Index out of range");
+		if (out.length < (long)bases.length * count)
+			throw new IndexOutOfBoundsException();
+		for (int j = 0; j < bases.length; j++) {
+			int off = j * count;
+			for (int i = 0; i < count; i++)
+				out[off + i] = coordinate(j, start + i);
+		}
+	}
+	
+	
+	// Returns the (scrambled) radical inverse of the index in the base of coordinate j.
+	private double coordinate(int j, long index) {
+		int p = bases[j];
+		double invBase = 1.0 / p;
+		double scale = invBase;
+		double result = 0;
+		if (permutations == null) {
+			for (; index != 0; index /= p, scale *= invBase)
+				result += (index % p) * scale;
+		} else {
+			int[] perm = permutations[j];
+			for (; index != 0; index /= p, scale *= invBase)
+				result += perm[(int)(index % p)] * scale;
+		}
+		return Math.min(result, ONE_MINUS_ULP);  // Rounding could otherwise reach 1
+	}
+	
+}
@@ -1,5 +1,7 @@
 package p79068.util.random;
 
+import p79068.Assert;
+
 
 /**
  * The ISAAC secure pseudorandom number generator by Bob Jenkins.
@@ -7,6 +9,16 @@ package p79068.util.random;
  */
 public final class Isaac extends AbstractRandom implements Cloneable {
 	
+	/**
+	 * The length in bytes of the state written by {@link #saveState(byte[], int)}.
+	 */
+	public static final int STATE_LENGTH = GeneratorState.HEADER_LENGTH + 256 * 4 + 3 * 4 + 256 * 4 + 4;
+	
+	private static final int STATE_TAG = 0x49534143;  // "ISAC"
+	
+	private static final int STATE_VERSION = 1;
+	
+	
 	// RNG internal state
 	private int[] mm;  // Length 256
 	private int aa;
@@ -122,6 +134,125 @@ public final class Isaac extends AbstractRandom implements Cloneable {
 	}
 	
 	
+	@Override
+	public void uniformInts(int[] b, int off, int len) {
+		Assert.assertRangeInBounds(b.length, off, len);
+		for (int end = off + len; off < end; ) {
+			if (count == 0)
+				nextState();
+			// Copy as much as possible from the buffer, which is read backward
+			int n = Math.min(end - off, count);
+			for (int i = count - 1, j = off, stop = off + n; j < stop; i--, j++)
+				b[j] = gen[i];
+			count -= n;
+			off += n;
+		}
+	}
+	
+	
+	@Override
+	public void uniformLongs(long[] b, int off, int len) {
+		Assert.assertRangeInBounds(b.length, off, len);
+		for (int end = off + len; off < end; ) {
+			if (count < 2) {  // Straddles a buffer refill
+				b[off] = uniformLong();
+				off++;
+				continue;
+			}
+			int n = Math.min(end - off, count / 2);
+			for (int i = count - 1, j = off, stop = off + n; j < stop; i -= 2, j++)
+				b[j] = (long)gen[i] << 32 | (gen[i - 1] & 0xFFFFFFFFL);
+			count -= n * 2;
+			off += n;
+		}
+	}
+	
+	
+	@Override
+	public void uniformDoubles(double[] b, int off, int len) {
+		Assert.assertRangeInBounds(b.length, off, len);
+		for (int end = off + len; off < end; ) {
+			if (count < 2) {  // Straddles a buffer refill
+				b[off] = uniformDouble();
+				off++;
+				continue;
+			}
+			int n = Math.min(end - off, count / 2);
+			for (int i = count - 1, j = off, stop = off + n; j < stop; i -= 2, j++)
+				b[j] = ((long)(gen[i] & 0x1FFFFF) << 32 | (gen[i - 1] & 0xFFFFFFFFL)) * DOUBLE_SCALER;
+			count -= n * 2;
+			off += n;
+		}
+	}
+	
+	
+	/**
+	 * Returns a new array containing this generator's state, which can be passed to {@link #restoreState(byte[])} to continue the exact sequence from this point.
+	 * @return the state as an array of length {@link #STATE_LENGTH}
+	 */
+	public byte[] saveState() {
+		byte[] result = new byte[STATE_LENGTH];
+		saveState(result, 0);
+		return result;
+	}
+	
+	
+	/**
+	 * Writes this generator's state into the specified array without allocating memory. The format is a versioned header followed by {@code mm}, {@code aa}, {@code bb}, {@code cc}, the output buffer, and the number of unread outputs, all big-endian.
+	 * @param b the array to write {@link #STATE_LENGTH} bytes to
+	 * @param off the offset to start writing at
+	 */
+	public void saveState(byte[] b, int off) {
+		GeneratorState.checkRange(b, off, STATE_LENGTH);
+		GeneratorState.writeHeader(b, off, STATE_TAG, STATE_VERSION);
+		off += GeneratorState.HEADER_LENGTH;
+		for (int i = 0; i < 256; i++, off += 4)
+			GeneratorState.putInt(b, off, mm[i]);
+		GeneratorState.putInt(b, off + 0, aa);
+		GeneratorState.putInt(b, off + 4, bb);
+		GeneratorState.putInt(b, off + 8, cc);
+		off += 12;
+		for (int i = 0; i < 256; i++, off += 4)
+			GeneratorState.putInt(b, off, gen[i]);
+		GeneratorState.putInt(b, off, count);
+	}
+	
+	
+	/**
+	 * Replaces this generator's state with the specified state, which was saved by {@link #saveState()} or {@link #saveState(byte[], int)}.
+	 * @param b the saved state
+	 * @throws IllegalArgumentException if the state is not a valid ISAAC state of a supported version
+	 */
+	public void restoreState(byte[] b) {
+		restoreState(b, 0);
+	}
+	
+	
+	/**
+	 * Replaces this generator's state with the state at the specified offset of the array, without allocating memory. This generator is unchanged if an exception is thrown.
+	 * @param b the array containing the saved state
+	 * @param off the offset of the saved state
+	 * @throws IllegalArgumentException if the state is not a valid ISAAC state of a supported version
+	 */
+	public void restoreState(byte[] b, int off) {
+		GeneratorState.checkRange(b, off, STATE_LENGTH);
+		GeneratorState.checkHeader(b, off, STATE_TAG, STATE_VERSION);
+		off += GeneratorState.HEADER_LENGTH;
+		int newCount = GeneratorState.getInt(b, off + STATE_LENGTH - GeneratorState.HEADER_LENGTH - 4);
+		if (newCount < 0 || newCount > 256)
+			throw new IllegalArgumentException("Invalid count");
+		for (int i = 0; i < 256; i++, off += 4)
+			mm[i] = GeneratorState.getInt(b, off);
+		aa = GeneratorState.getInt(b, off + 0);
+		bb = GeneratorState.getInt(b, off + 4);
+		cc = GeneratorState.getInt(b, off + 8);
+		off += 12;
+		for (int i = 0; i < 256; i++, off += 4)
+			gen[i] = GeneratorState.getInt(b, off);
+		count = newCount;
+	}
+	
+	
 	private void nextState() {
 		cc++;
 		bb += cc;
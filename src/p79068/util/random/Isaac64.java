@@ -0,0 +1,183 @@
+package p79068.util.random;
+
+import p79068.Assert;
+
+
+/**
+ * The ISAAC-64 secure pseudorandom number generator by Bob Jenkins, which is the 64-bit counterpart of {@link Isaac}.
+ * Translated from the C source code at http://www.burtleburtle.net/bob/c/isaac64.c .
+ * <p>Each output word is 64 bits wide, so {@link #uniformLong()} and {@link #uniformDouble()} consume one word per call. {@link #uniformInt()} also consumes a whole word.</p>
+ * <p>Mutability: <em>Mutable</em><br>
+ * Thread safety: <em>Unsafe</em></p>
+ */
+public final class Isaac64 extends AbstractRandom implements Cloneable {
+	
+	// RNG internal state
+	private long[] mm;  // Length 256
+	private long aa;
+	private long bb;
+	private long cc;
+	
+	// Buffer of generated output
+	private long[] gen;  // Length 256, read in backward order
+	private int count;  // In the range [0, 256]
+	
+	
+	
+	public Isaac64(long[] seed) {
+		if (seed != null && seed.length != 256)
+			throw new IllegalArgumentException();
+		
+		long a, b, c, d, e, f, g, h;
+		a = b = c = d = e = f = g = h = 0x9E3779B97F4A7C13L;  // The golden ratio
+		for (int i = 0; i < 4; i++) {  // Scramble it
+			a -= e;  f ^= h >>>  9;  h += a;
+			b -= f;  g ^= a <<   9;  a += b;
+			c -= g;  h ^= b >>> 23;  b += c;
+			d -= h;  a ^= c <<  15;  c += d;
+			e -= a;  b ^= d >>> 14;  d += e;
+			f -= b;  c ^= e <<  20;  e += f;
+			g -= c;  d ^= f >>> 17;  f += g;
+			h -= d;  e ^= g <<  14;  g += h;
+		}
+		
+		// Fill in mm with messy stuff
+		mm = new long[256];
+		for (int i = 0; i < 256; i += 8) {
+			if (seed != null) {  // Use all the information in the seed
+				a += seed[i + 0];
+				b += seed[i + 1];
+				c += seed[i + 2];
+				d += seed[i + 3];
+				e += seed[i + 4];
+				f += seed[i + 5];
+				g += seed[i + 6];
+				h += seed[i + 7];
+			}
+			a -= e;  f ^= h >>>  9;  h += a;
+			b -= f;  g ^= a <<   9;  a += b;
+			c -= g;  h ^= b >>> 23;  b += c;
+			d -= h;  a ^= c <<  15;  c += d;
+			e -= a;  b ^= d >>> 14;  d += e;
+			f -= b;  c ^= e <<  20;  e += f;
+			g -= c;  d ^= f >>> 17;  f += g;
+			h -= d;  e ^= g <<  14;  g += h;
+			mm[i + 0] = a;
+			mm[i + 1] = b;
+			mm[i + 2] = c;
+			mm[i + 3] = d;
+			mm[i + 4] = e;
+			mm[i + 5] = f;
+			mm[i + 6] = g;
+			mm[i + 7] = h;
+		}
+		
+		// Do a second pass to make all of the seed affect all of mm
+		if (seed != null) {
+			for (int i = 0; i < 256; i += 8) {
+				a += mm[i + 0];
+				b += mm[i + 1];
+				c += mm[i + 2];
+				d += mm[i + 3];
+				e += mm[i + 4];
+				f += mm[i + 5];
+				g += mm[i + 6];
+				h += mm[i + 7];
+				a -= e;  f ^= h >>>  9;  h += a;
+				b -= f;  g ^= a <<   9;  a += b;
+				c -= g;  h ^= b >>> 23;  b += c;
+				d -= h;  a ^= c <<  15;  c += d;
+				e -= a;  b ^= d >>> 14;  d += e;
+				f -= b;  c ^= e <<  20;  e += f;
+				g -= c;  d ^= f >>> 17;  f += g;
+				h -= d;  e ^= g <<  14;  g += h;
+				mm[i + 0] = a;
+				mm[i + 1] = b;
+				mm[i + 2] = c;
+				mm[i + 3] = d;
+				mm[i + 4] = e;
+				mm[i + 5] = f;
+				mm[i + 6] = g;
+				mm[i + 7] = h;
+			}
+		}
+		
+		aa = bb = cc = 0;
+		gen = new long[256];
+		count = 0;
+	}
+	
+	
+	
+	public long uniformLong() {
+		if (count == 0)
+			nextState();
+		count--;
+		return gen[count];
+	}
+	
+	
+	@Override
+	public void uniformLongs(long[] b, int off, int len) {
+		Assert.assertRangeInBounds(b.length, off, len);
+		for (int end = off + len; off < end; ) {
+			if (count == 0)
+				nextState();
+			// Copy as much as possible from the buffer, which is read backward
+			int n = Math.min(end - off, count);
+			for (int i = count - 1, j = off, stop = off + n; j < stop; i--, j++)
+				b[j] = gen[i];
+			count -= n;
+			off += n;
+		}
+	}
+	
+	
+	@Override
+	public void uniformDoubles(double[] b, int off, int len) {
+		Assert.assertRangeInBounds(b.length, off, len);
+		for (int end = off + len; off < end; ) {
+			if (count == 0)
+				nextState();
+			int n = Math.min(end - off, count);
+			for (int i = count - 1, j = off, stop = off + n; j < stop; i--, j++)
+				b[j] = (gen[i] & 0x1FFFFFFFFFFFFFL) * DOUBLE_SCALER;
+			count -= n;
+			off += n;
+		}
+	}
+	
+	
+	@Override
+	public Isaac64 clone() {
+		try {
+			Isaac64 result = (Isaac64)super.clone();
+			result.mm = result.mm.clone();
+			result.gen = result.gen.clone();
+			return result;
+		} catch (CloneNotSupportedException e) {
+			throw new AssertionError(e);
+		}
+	}
+	
+	
+	private void nextState() {
+		cc++;
+		bb += cc;
+		for (int i = 0; i < mm.length; i++) {
+			long x = mm[i];
+			switch (i & 3) {
+				case 0:  aa = ~(aa ^ (aa << 21));  break;
+				case 1:  aa ^= aa >>>  5;  break;
+				case 2:  aa ^= aa <<  12;  break;
+				case 3:  aa ^= aa >>> 33;  break;
+				default:  throw new AssertionError();
+			}
+			aa += mm[(i + 128) & 0xFF];
+			long y = mm[i] = mm[(int)(x >>> 3) & 0xFF] + aa + bb;
+			gen[i] = bb = mm[(int)(y >>> 11) & 0xFF] + x;
+		}
+		count = gen.length;
+	}
+	
+}
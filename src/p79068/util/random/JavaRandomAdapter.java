@@ -27,6 +27,11 @@ public final class JavaRandomAdapter extends java.util.Random {
 		return random.uniformInt();
 	}
 	
+	@Override
+	public int nextInt(int bound) {
+		return random.uniformInt(bound);
+	}
+	
 	@Override
 	public long nextLong() {
 		return random.uniformLong();
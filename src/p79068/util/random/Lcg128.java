@@ -0,0 +1,112 @@
+package p79068.util.random;
+
+import p79068.math.LongMath;
+
+
+/**
+ * The state of a 128-bit linear congruential generator, which the PCG generators with 128-bit state permute into their outputs. Every number is held as high and low 64-bit halves.
+ * <p>Mutability: <em>Mutable</em><br>
+ * Thread safety: <em>Unsafe</em></p>
+ */
+final class Lcg128 implements Cloneable {
+	
+	private final long multiplierHi;
+	private final long multiplierLo;
+	
+	private final long incHi;
+	private final long incLo;  // Always odd
+	
+	public long stateHi;
+	public long stateLo;
+	
+	
+	
+	/**
+	 * Constructs a generator with a state of zero and the specified multiplier and stream number. The increment is twice the stream number plus one.
+	 */
+	public Lcg128(long multiplierHi, long multiplierLo, long streamHi, long streamLo) {
+		this.multiplierHi = multiplierHi;
+		this.multiplierLo = multiplierLo;
+		incHi = streamHi << 1 | streamLo >>> 63;
+		incLo = streamLo << 1 | 1;
+		stateHi = 0;
+		stateLo = 0;
+	}
+	
+	
+	
+	/**
+	 * Computes state = state &times; multiplier + increment, modulo 2<sup>128</sup>.
+	 */
+	public void step() {
+		long hi = LongMath.multiplyHighUnsigned(stateLo, multiplierLo) + stateHi * multiplierLo + stateLo * multiplierHi;
+		long lo = stateLo * multiplierLo;
+		stateLo = lo + incLo;
+		stateHi = hi + incHi + (Long.compareUnsigned(stateLo, lo) < 0 ? 1 : 0);
+	}
+	
+	
+	/**
+	 * Adds the specified 128-bit value to the state, modulo 2<sup>128</sup>.
+	 */
+	public void add(long hi, long lo) {
+		long sum = stateLo + lo;
+		stateHi += hi + (Long.compareUnsigned(sum, stateLo) < 0 ? 1 : 0);
+		stateLo = sum;
+	}
+	
+	
+	/**
+	 * Moves the state forward by the specified number of steps in O(log {@code delta}) time. The argument is treated as an unsigned 64-bit integer.
+	 */
+	public void advance(long delta) {
+		// Compose the affine step function with itself by repeated squaring, in 128-bit arithmetic
+		long accMultHi = 0, accMultLo = 1;
+		long accPlusHi = 0, accPlusLo = 0;
+		long curMultHi = multiplierHi, curMultLo = multiplierLo;
+		long curPlusHi = incHi, curPlusLo = incLo;
+		for (; delta != 0; delta >>>= 1) {
+			if ((delta & 1) != 0) {
+				// accMult *= curMult
+				long hi = LongMath.multiplyHighUnsigned(accMultLo, curMultLo) + accMultHi * curMultLo + accMultLo * curMultHi;
+				accMultLo *= curMultLo;
+				accMultHi = hi;
+				
+				// accPlus = accPlus * curMult + curPlus
+				hi = LongMath.multiplyHighUnsigned(accPlusLo, curMultLo) + accPlusHi * curMultLo + accPlusLo * curMultHi;
+				long lo = accPlusLo * curMultLo;
+				accPlusLo = lo + curPlusLo;
+				accPlusHi = hi + curPlusHi + (Long.compareUnsigned(accPlusLo, lo) < 0 ? 1 : 0);
+			}
+			
+			// curPlus = (curMult + 1) * curPlus
+			long m1Lo = curMultLo + 1;
+			long m1Hi = curMultHi + (m1Lo == 0 ? 1 : 0);
+			long hi = LongMath.multiplyHighUnsigned(m1Lo, curPlusLo) + m1Hi * curPlusLo + m1Lo * curPlusHi;
+			curPlusLo *= m1Lo;
+			curPlusHi = hi;
+			
+			// curMult *= curMult
+			hi = LongMath.multiplyHighUnsigned(curMultLo, curMultLo) + 2 * curMultHi * curMultLo;
+			curMultLo *= curMultLo;
+			curMultHi = hi;
+		}
+		
+		// state = accMult * state + accPlus
+		long hi = LongMath.multiplyHighUnsigned(accMultLo, stateLo) + accMultHi * stateLo + accMultLo * stateHi;
+		long lo = accMultLo * stateLo;
+		stateLo = lo + accPlusLo;
+		stateHi = hi + accPlusHi + (Long.compareUnsigned(stateLo, lo) < 0 ? 1 : 0);
+	}
+	
+	
+	@Override
+	public Lcg128 clone() {
+		try {
+			return (Lcg128)super.clone();
+		} catch (CloneNotSupportedException e) {
+			throw new AssertionError(e);
+		}
+	}
+	
+}
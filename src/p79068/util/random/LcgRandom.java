@@ -1,6 +1,6 @@
 package p79068.util.random;
 
-import p79068.math.IntegerMath;
+import p79068.Assert;
 
 
 /**
@@ -12,6 +12,16 @@ import p79068.math.IntegerMath;
  */
 public final class LcgRandom extends AbstractRandom {
 	
+	/**
+	 * The length in bytes of the state written by {@link #saveState(byte[], int)}.
+	 */
+	public static final int STATE_LENGTH = GeneratorState.HEADER_LENGTH + 8 + 8 + 4 + 8;
+	
+	private static final int STATE_TAG = 0x4C434720;  // "LCG "
+	
+	private static final int STATE_VERSION = 1;
+	
+	
 	private long a;
 	private long b;
 	private int shift;  // Equal to log2(m) - 32
@@ -99,12 +109,175 @@ public final class LcgRandom extends AbstractRandom {
 	
 	
 	@Override
-	public int uniformInt(int n) {
-		if (IntegerMath.isPowerOf2(n)) {
-			// Shift the wanted number of upper bits into the high region, then shift the high region down
-			return (int)(((uniformInt() & 0xFFFFFFFFL) * n) >>> 32);
-		} else
-			return super.uniformInt(n);
+	public void uniformInts(int[] b, int off, int len) {
+		Assert.assertRangeInBounds(b.length, off, len);
+		long x = this.x;  // Keep the state in a local variable for speed
+		for (int end = off + len; off < end; off++) {
+			x = x * a + this.b;
+			b[off] = (int)(x >>> shift);
+		}
+		this.x = x;
+	}
+	
+	
+	@Override
+	public void uniformLongs(long[] b, int off, int len) {
+		Assert.assertRangeInBounds(b.length, off, len);
+		long x = this.x;
+		for (int end = off + len; off < end; off++) {
+			x = x * a + this.b;
+			long hi = (int)(x >>> shift);
+			x = x * a + this.b;
+			b[off] = hi << 32 | ((x >>> shift) & 0xFFFFFFFFL);
+		}
+		this.x = x;
+	}
+	
+	
+	@Override
+	public void uniformDoubles(double[] b, int off, int len) {
+		Assert.assertRangeInBounds(b.length, off, len);
+		long x = this.x;
+		for (int end = off + len; off < end; off++) {
+			x = x * a + this.b;
+			long hi = (int)(x >>> shift);
+			x = x * a + this.b;
+			b[off] = ((hi << 32 | ((x >>> shift) & 0xFFFFFFFFL)) & 0x1FFFFFFFFFFFFFL) * DOUBLE_SCALER;
+		}
+		this.x = x;
+	}
+	
+	
+	/**
+	 * Advances this generator by the specified number of {@code uniformInt()} outputs, as if they were generated and discarded, in O(log <var>n</var>) time.
+	 * <p>The affine step <var>x</var> &rarr; <var>a</var><var>x</var> + <var>b</var> is composed with itself by repeated squaring. The count is treated as an unsigned 64-bit integer. When <var>a</var> is odd, the state sequence repeats with a period that divides 2<sup>64</sup>, so a negative count moves this generator backward.</p>
+	 * @param n the number of outputs to skip, as an unsigned integer
+	 */
+	public void skip(long n) {
+		long mul = 1;  // The composed step is x -> mul * x + add
+		long add = 0;
+		long curMul = a;  // The step for 2^i outputs
+		long curAdd = b;
+		for (; n != 0; n >>>= 1) {
+			if ((n & 1) != 0) {
+				mul *= curMul;
+				add = add * curMul + curAdd;
+			}
+			curAdd = curAdd * curMul + curAdd;
+			curMul *= curMul;
+		}
+		x = x * mul + add;
+	}
+	
+	
+	/**
+	 * Returns {@code k} new generators that interleave this generator's future {@code uniformInt()} outputs: generator <var>j</var> produces outputs <var>j</var>, <var>j</var> + <var>k</var>, <var>j</var> + 2<var>k</var>, etc. This generator is not modified.
+	 * <p>Each new generator is an LCG with multiplier <var>a</var><sup><var>k</var></sup> and a correspondingly composed increment. The multiplier must be odd, because each generator is seeded by stepping backward from its first output. Java's {@code java.util.Random} parameters are suitable.</p>
+	 * @param k the number of generators
+	 * @return an array of {@code k} new generators
+	 * @throws IllegalArgumentException if {@code k} is not positive
+	 * @throws IllegalStateException if the multiplier is even
+	 */
+	public LcgRandom[] leapfrog(int k) {
+		if (k <= 0)
+			throw new IllegalArgumentException();
+		if ((a & 1) == 0)
+			throw new IllegalStateException("Leapfrogging requires an odd multiplier");
+		
+		// Compose k steps to get the child's step x -> a^k x + b (a^(k-1) + ... + a + 1)
+		long childA = 1;
+		long childB = 0;
+		for (int i = 0; i < k; i++) {
+			childA *= a;
+			childB = childB * a + b;
+		}
+		
+		// Child j steps from its seed to this generator's state after j + 1 steps, so its seed is j + 1 - k steps away
+		LcgRandom cur = new LcgRandom(a, b, shift + 32, x);
+		cur.skip(1 - k);
+		LcgRandom[] result = new LcgRandom[k];
+		for (int j = 0; j < k; j++) {
+			result[j] = new LcgRandom(childA, childB, shift + 32, cur.x);
+			cur.skip(1);
+		}
+		return result;
+	}
+	
+	
+	/**
+	 * Returns {@code count} new generators that produce consecutive blocks of this generator's future {@code uniformInt()} outputs: generator <var>j</var> starts at output <var>j</var> &times; {@code blockLength}. This generator is not modified. The blocks don't overlap as long as each generator produces at most {@code blockLength} outputs.
+	 * @param count the number of generators
+	 * @param blockLength the number of outputs in each block
+	 * @return an array of {@code count} new generators
+	 * @throws IllegalArgumentException if {@code count} or {@code blockLength} is negative
+	 */
+	public LcgRandom[] blocks(int count, long blockLength) {
+		if (count < 0 || blockLength < 0)
+			throw new IllegalArgumentException();
+		LcgRandom[] result = new LcgRandom[count];
+		LcgRandom cur = new LcgRandom(a, b, shift + 32, x);
+		for (int j = 0; j < count; j++) {
+			result[j] = new LcgRandom(a, b, shift + 32, cur.x);
+			cur.skip(blockLength);
+		}
+		return result;
+	}
+	
+	
+	/**
+	 * Returns a new array containing this generator's parameters and state, which can be passed to {@link #restoreState(byte[])} to continue the exact sequence from this point.
+	 * @return the state as an array of length {@link #STATE_LENGTH}
+	 */
+	public byte[] saveState() {
+		byte[] result = new byte[STATE_LENGTH];
+		saveState(result, 0);
+		return result;
+	}
+	
+	
+	/**
+	 * Writes this generator's parameters and state into the specified array without allocating memory. The format is a versioned header followed by <var>a</var>, <var>b</var>, <var>m</var>, and <var>x</var>, all big-endian.
+	 * @param b the array to write {@link #STATE_LENGTH} bytes to
+	 * @param off the offset to start writing at
+	 */
+	public void saveState(byte[] b, int off) {
+		GeneratorState.checkRange(b, off, STATE_LENGTH);
+		GeneratorState.writeHeader(b, off, STATE_TAG, STATE_VERSION);
+		off += GeneratorState.HEADER_LENGTH;
+		GeneratorState.putLong(b, off +  0, a);
+		GeneratorState.putLong(b, off +  8, this.b);
+		GeneratorState.putInt (b, off + 16, shift + 32);
+		GeneratorState.putLong(b, off + 20, x);
+	}
+	
+	
+	/**
+	 * Replaces this generator's parameters and state with the specified state, which was saved by {@link #saveState()} or {@link #saveState(byte[], int)}.
+	 * @param b the saved state
+	 * @throws IllegalArgumentException if the state is not a valid LCG state of a supported version
+	 */
+	public void restoreState(byte[] b) {
+		restoreState(b, 0);
+	}
+	
+	
+	/**
+	 * Replaces this generator's parameters and state with the state at the specified offset of the array, without allocating memory. This generator is unchanged if an exception is thrown.
+	 * @param b the array containing the saved state
+	 * @param off the offset of the saved state
+	 * @throws IllegalArgumentException if the state is not a valid LCG state of a supported version
+	 */
+	public void restoreState(byte[] b, int off) {
+		GeneratorState.checkRange(b, off, STATE_LENGTH);
+		GeneratorState.checkHeader(b, off, STATE_TAG, STATE_VERSION);
+		off += GeneratorState.HEADER_LENGTH;
+		int m = GeneratorState.getInt(b, off + 16);
+		if (m < 32 || m > 64)
+			throw new IllegalArgumentException("Invalid modulus");
+		a = GeneratorState.getLong(b, off + 0);
+		this.b = GeneratorState.getLong(b, off + 8);
+		shift = m - 32;
+		x = GeneratorState.getLong(b, off + 20);
 	}
 	
 }
@@ -43,14 +43,40 @@
 
 package p79068.util.random;
 
+import java.math.BigInteger;
+import java.util.Arrays;
+import p79068.Assert;
+
 
 /**
  * The Mersenne Twister pseudorandom number generator.
  * <p>Mutability: <em>Mutable</em><br>
  * Thread safety: <em>Unsafe</em></p>
+ * <p>The generator can be advanced by an arbitrary number of outputs in sub-linear time (see {@link #skip(long)}), and one seeded generator can be partitioned into non-overlapping substreams for parallel use (see {@link #substreams(int)}).</p>
  */
 public final class MersenneTwister extends AbstractRandom implements Cloneable {
 	
+	/**
+	 * The distance between consecutive substreams returned by {@link #substreams(int)}, as a power of 2. Each substream can produce 2<sup>128</sup> outputs before it runs into the next one.
+	 */
+	public static final int SUBSTREAM_SPACING_LOG2 = 128;
+	
+	/**
+	 * The length in bytes of the state written by {@link #saveState(byte[], int)}.
+	 */
+	public static final int STATE_LENGTH = GeneratorState.HEADER_LENGTH + 624 * 4 + 4;
+	
+	private static final int STATE_TAG = 0x4D543139;  // "MT19"
+	
+	private static final int STATE_VERSION = 1;
+	
+	// The degree of the characteristic polynomial, i.e. the number of bits of state that matter
+	private static final int DEGREE = 19937;
+	
+	// Skips shorter than this are done by stepping, because the polynomial method has a large fixed cost
+	private static final long SKIP_STEP_THRESHOLD = 1 << 20;
+	
+	
 	private int[] state;
 	
 	private int index;
@@ -84,12 +110,7 @@ public final class MersenneTwister extends AbstractRandom implements Cloneable {
 			nextState();
 		int x = state[index];
 		index++;
-		
-		// Tempering
-		x ^= x >>> 11;
-		x ^= (x << 7) & 0x9D2C5680;
-		x ^= (x << 15) & 0xEFC60000;
-		return x ^ (x >>> 18);
+		return temper(x);
 	}
 	
 	
@@ -99,6 +120,175 @@ public final class MersenneTwister extends AbstractRandom implements Cloneable {
 	}
 	
 	
+	@Override
+	public void uniformInts(int[] b, int off, int len) {
+		Assert.assertRangeInBounds(b.length, off, len);
+		for (int end = off + len; off < end; ) {
+			if (index == 624)
+				nextState();
+			// Copy as much as possible from the current block
+			int n = Math.min(end - off, 624 - index);
+			for (int i = index, j = off, stop = index + n; i < stop; i++, j++)
+				b[j] = temper(state[i]);
+			index += n;
+			off += n;
+		}
+	}
+	
+	
+	@Override
+	public void uniformLongs(long[] b, int off, int len) {
+		Assert.assertRangeInBounds(b.length, off, len);
+		for (int end = off + len; off < end; ) {
+			if (index >= 623) {  // Straddles a block boundary
+				b[off] = uniformLong();
+				off++;
+				continue;
+			}
+			int n = Math.min(end - off, (624 - index) / 2);
+			for (int i = index, j = off, stop = off + n; j < stop; i += 2, j++)
+				b[j] = (long)temper(state[i]) << 32 | (temper(state[i + 1]) & 0xFFFFFFFFL);
+			index += n * 2;
+			off += n;
+		}
+	}
+	
+	
+	@Override
+	public void uniformDoubles(double[] b, int off, int len) {
+		Assert.assertRangeInBounds(b.length, off, len);
+		for (int end = off + len; off < end; ) {
+			if (index >= 623) {  // Straddles a block boundary
+				b[off] = uniformDouble();
+				off++;
+				continue;
+			}
+			int n = Math.min(end - off, (624 - index) / 2);
+			for (int i = index, j = off, stop = off + n; j < stop; i += 2, j++) {
+				// Same bits as uniformDouble(): the low 21 bits of the first word and all 32 of the second
+				long x = (long)(temper(state[i]) & 0x1FFFFF) << 32 | (temper(state[i + 1]) & 0xFFFFFFFFL);
+				b[j] = x * DOUBLE_SCALER;
+			}
+			index += n * 2;
+			off += n;
+		}
+	}
+	
+	
+	/**
+	 * Advances this generator by the specified number of 32-bit outputs, as if {@link #uniformInt()} were called {@code n} times and the results discarded. Large skips take time proportional to the logarithm of {@code n}.
+	 * @param n the number of outputs to skip
+	 * @throws IllegalArgumentException if {@code n} &lt; 0
+	 */
+	public void skip(long n) {
+		if (n < 0)
+			throw new IllegalArgumentException("Negative skip");
+		if (n < SKIP_STEP_THRESHOLD) {
+			while (n > 0) {
+				if (index == 624)
+					nextState();
+				int step = (int)Math.min(n, 624 - index);
+				index += step;
+				n -= step;
+			}
+		} else
+			jump(jumpPolynomial(BigInteger.valueOf(n)));
+	}
+	
+	
+	/**
+	 * Advances this generator by the specified number of 32-bit outputs, as if {@link #uniformInt()} were called {@code n} times and the results discarded. This overload allows skips such as 2<sup>200</sup>, and takes time proportional to the bit length of {@code n}.
+	 * @param n the number of outputs to skip
+	 * @throws IllegalArgumentException if {@code n} &lt; 0
+	 */
+	public void skip(BigInteger n) {
+		if (n.signum() == -1)
+			throw new IllegalArgumentException("Negative skip");
+		if (n.bitLength() < 63)
+			skip(n.longValue());
+		else
+			jump(jumpPolynomial(n));
+	}
+	
+	
+	/**
+	 * Returns the specified number of generators that produce consecutive, non-overlapping blocks of this generator's sequence. Substream 0 starts at this generator's current position, and substream <var>k</var> starts 2<sup>128</sup>&middot;<var>k</var> outputs later. This generator is not modified.
+	 * <p>The result depends only on this generator's state, so the same seed always yields the same substreams.</p>
+	 * @param count the number of substreams to create
+	 * @return an array of {@code count} new generators
+	 * @throws IllegalArgumentException if {@code count} &lt; 0
+	 */
+	public MersenneTwister[] substreams(int count) {
+		if (count < 0)
+			throw new IllegalArgumentException("Negative count");
+		MersenneTwister[] result = new MersenneTwister[count];
+		MersenneTwister cur = clone();
+		for (int i = 0; i < count; i++) {
+			result[i] = cur;
+			if (i + 1 < count) {
+				cur = cur.clone();
+				cur.jump(JumpConstants.SUBSTREAM_POLYNOMIAL);
+			}
+		}
+		return result;
+	}
+	
+	
+	/**
+	 * Returns a new array containing this generator's state, which can be passed to {@link #restoreState(byte[])} to continue the exact sequence from this point.
+	 * @return the state as an array of length {@link #STATE_LENGTH}
+	 */
+	public byte[] saveState() {
+		byte[] result = new byte[STATE_LENGTH];
+		saveState(result, 0);
+		return result;
+	}
+	
+	
+	/**
+	 * Writes this generator's state into the specified array without allocating memory. The format is a versioned header followed by the 624 state words and the current index, all big-endian.
+	 * @param b the array to write {@link #STATE_LENGTH} bytes to
+	 * @param off the offset to start writing at
+	 */
+	public void saveState(byte[] b, int off) {
+		GeneratorState.checkRange(b, off, STATE_LENGTH);
+		GeneratorState.writeHeader(b, off, STATE_TAG, STATE_VERSION);
+		off += GeneratorState.HEADER_LENGTH;
+		for (int i = 0; i < 624; i++, off += 4)
+			GeneratorState.putInt(b, off, state[i]);
+		GeneratorState.putInt(b, off, index);
+	}
+	
+	
+	/**
+	 * Replaces this generator's state with the specified state, which was saved by {@link #saveState()} or {@link #saveState(byte[], int)}.
+	 * @param b the saved state
+	 * @throws IllegalArgumentException if the state is not a valid Mersenne Twister state of a supported version
+	 */
+	public void restoreState(byte[] b) {
+		restoreState(b, 0);
+	}
+	
+	
+	/**
+	 * Replaces this generator's state with the state at the specified offset of the array, without allocating memory. This generator is unchanged if an exception is thrown.
+	 * @param b the array containing the saved state
+	 * @param off the offset of the saved state
+	 * @throws IllegalArgumentException if the state is not a valid Mersenne Twister state of a supported version
+	 */
+	public void restoreState(byte[] b, int off) {
+		GeneratorState.checkRange(b, off, STATE_LENGTH);
+		GeneratorState.checkHeader(b, off, STATE_TAG, STATE_VERSION);
+		off += GeneratorState.HEADER_LENGTH;
+		int newIndex = GeneratorState.getInt(b, off + 624 * 4);
+		if (newIndex < 0 || newIndex > 624)
+			throw new IllegalArgumentException("Invalid index");
+		for (int i = 0; i < 624; i++, off += 4)
+			state[i] = GeneratorState.getInt(b, off);
+		index = newIndex;
+	}
+	
+	
 	@Override
 	public MersenneTwister clone() {
 		try {
@@ -163,6 +353,214 @@ public final class MersenneTwister extends AbstractRandom implements Cloneable {
 	}
 	
 	
+	/* Jump-ahead by polynomial arithmetic over GF(2) */
+	
+	// Advances this generator by n outputs, where the polynomial equals x^n mod p(x) and p(x) is the characteristic polynomial.
+	// The new state is the sum of the states at offsets 0 to DEGREE - 1 whose coefficients are 1.
+	private void jump(long[] poly) {
+		// Build a circular window of the 624 raw words starting at the next output position
+		int[] window = state.clone();
+		int start = 0;
+		for (int i = 0; i < index; i++)
+			start = stepWindow(window, start);
+		
+		int[] sum = new int[624];
+		for (int i = 0; i < DEGREE; i++) {
+			if (((poly[i >>> 6] >>> i) & 1) != 0) {
+				for (int j = start, k = 0; j < 624; j++, k++)
+					sum[k] ^= window[j];
+				for (int j = 0, k = 624 - start; j < start; j++, k++)
+					sum[k] ^= window[j];
+			}
+			start = stepWindow(window, start);
+		}
+		state = sum;
+		index = 0;
+	}
+	
+	
+	// Generates one raw word in place, returning the new start of the window. Equivalent to one iteration of nextState().
+	private static int stepWindow(int[] window, int start) {
+		int next = start == 623 ? 0 : start + 1;
+		int far = start < 227 ? start + 397 : start - 227;
+		int y = (window[start] & 0x80000000) | (window[next] & 0x7FFFFFFF);
+		window[start] = window[far] ^ (y >>> 1) ^ ((y & 1) * 0x9908B0DF);
+		return next;
+	}
+	
+	
+	// Returns x^n mod p(x) as a bit vector of length DEGREE, where bit i is the coefficient of x^i.
+	private static long[] jumpPolynomial(BigInteger n) {
+		long[] result = new long[JumpConstants.WORDS];
+		result[0] = 1;
+		for (int i = n.bitLength() - 1; i >= 0; i--) {
+			result = squareMod(result);
+			if (n.testBit(i))
+				multiplyByXMod(result);
+		}
+		return result;
+	}
+	
+	
+	private static long[] squareMod(long[] x) {
+		// Squaring over GF(2) spreads the bits apart
+		long[] y = new long[x.length * 2];
+		for (int i = 0; i < x.length; i++) {
+			y[i * 2 + 0] = spreadBits(x[i] & 0xFFFFFFFFL);
+			y[i * 2 + 1] = spreadBits(x[i] >>> 32);
+		}
+		
+		// Reduce modulo the characteristic polynomial, from the top bit down
+		long[][] shifted = JumpConstants.CHARACTERISTIC_SHIFTS;
+		for (int i = (DEGREE - 1) * 2; i >= DEGREE; i--) {
+			if (((y[i >>> 6] >>> i) & 1) != 0) {
+				int t = i - DEGREE;
+				long[] p = shifted[t & 63];
+				for (int j = 0, k = t >>> 6; j < p.length; j++, k++)
+					y[k] ^= p[j];
+			}
+		}
+		return Arrays.copyOf(y, JumpConstants.WORDS);
+	}
+	
+	
+	private static void multiplyByXMod(long[] x) {
+		for (int i = x.length - 1; i > 0; i--)
+			x[i] = x[i] << 1 | x[i - 1] >>> 63;
+		x[0] <<= 1;
+		if (((x[DEGREE >>> 6] >>> DEGREE) & 1) != 0) {
+			long[] p = JumpConstants.CHARACTERISTIC_SHIFTS[0];
+			for (int i = 0; i < x.length; i++)
+				x[i] ^= p[i];
+		}
+	}
+	
+	
+	// Inserts a zero bit above each of the low 32 bits.
+	private static long spreadBits(long x) {
+		x = (x | x << 16) & 0x0000FFFF0000FFFFL;
+		x = (x | x <<  8) & 0x00FF00FF00FF00FFL;
+		x = (x | x <<  4) & 0x0F0F0F0F0F0F0F0FL;
+		x = (x | x <<  2) & 0x3333333333333333L;
+		x = (x | x <<  1) & 0x5555555555555555L;
+		return x;
+	}
+	
+	
+	// Computed lazily on first use, because jump-ahead is rarely needed
+	private static final class JumpConstants {
+		
+		public static final int WORDS = (DEGREE + 64) / 64;  // Enough to hold DEGREE + 1 bits
+		
+		// CHARACTERISTIC_SHIFTS[s] is the characteristic polynomial multiplied by x^s
+		public static final long[][] CHARACTERISTIC_SHIFTS;
+		
+		public static final long[] SUBSTREAM_POLYNOMIAL;
+		
+		static {
+			long[] p = characteristicPolynomial();
+			CHARACTERISTIC_SHIFTS = new long[64][WORDS + 1];
+			for (int s = 0; s < 64; s++) {
+				long[] q = CHARACTERISTIC_SHIFTS[s];
+				for (int i = 0; i < WORDS; i++) {
+					q[i] |= p[i] << s;
+					if (s != 0)
+						q[i + 1] |= p[i] >>> (64 - s);
+				}
+			}
+			SUBSTREAM_POLYNOMIAL = jumpPolynomial(BigInteger.ONE.shiftLeft(SUBSTREAM_SPACING_LOG2));
+		}
+		
+		
+		// Recovers the characteristic polynomial from the output sequence using the Berlekamp-Massey algorithm over GF(2).
+		// Any single bit position of the output satisfies the same recurrence, because tempering is linear.
+		private static long[] characteristicPolynomial() {
+			int n = DEGREE * 2;
+			int words = (n + 64) / 64;
+			
+			// Bit j of seq is s[n - 1 - j], so that a window of the sequence read backward is a forward bit range
+			long[] seq = new long[words];
+			MersenneTwister mt = new MersenneTwister(5489);
+			for (int i = 0; i < n; i++) {
+				int j = n - 1 - i;
+				seq[j >>> 6] |= (long)(mt.uniformInt() & 1) << j;
+			}
+			
+			long[] c = new long[words];  // Connection polynomial
+			long[] b = new long[words];
+			long[] temp = new long[words];
+			c[0] = 1;
+			b[0] = 1;
+			int len = 0;
+			int shift = 1;
+			for (int i = 0; i < n; i++) {
+				// Discrepancy = sum of c[k] * s[i - k] for k = 0 to len
+				int off = n - 1 - i;
+				long d = 0;
+				for (int w = 0; w <= len >>> 6; w++)
+					d ^= c[w] & getBits(seq, off + w * 64);
+				if (Long.bitCount(d) % 2 == 0)
+					shift++;
+				else if (len * 2 <= i) {
+					System.arraycopy(c, 0, temp, 0, words);
+					xorShifted(c, b, shift);
+					len = i + 1 - len;
+					long[] t = b;
+					b = temp;
+					temp = t;
+					shift = 1;
+				} else {
+					xorShifted(c, b, shift);
+					shift++;
+				}
+			}
+			if (len != DEGREE)
+				throw new AssertionError();
+			
+			// The characteristic polynomial is the reciprocal of the connection polynomial
+			long[] result = new long[WORDS];
+			for (int i = 0; i <= DEGREE; i++) {
+				if (((c[i >>> 6] >>> i) & 1) != 0)
+					result[(DEGREE - i) >>> 6] |= 1L << (DEGREE - i);
+			}
+			return result;
+		}
+		
+		
+		// Returns bits [off, off + 64) of the given bit vector, treating bits past the end as zero.
+		private static long getBits(long[] x, int off) {
+			int i = off >>> 6;
+			int s = off & 63;
+			long result = i < x.length ? x[i] >>> s : 0;
+			if (s != 0 && i + 1 < x.length)
+				result |= x[i + 1] << (64 - s);
+			return result;
+		}
+		
+		
+		// Computes x ^= y * z^shift, discarding bits past the end of x.
+		private static void xorShifted(long[] x, long[] y, int shift) {
+			int wordShift = shift >>> 6;
+			int bitShift = shift & 63;
+			for (int i = x.length - 1; i >= wordShift; i--) {
+				long val = y[i - wordShift] << bitShift;
+				if (bitShift != 0 && i - wordShift - 1 >= 0)
+					val |= y[i - wordShift - 1] >>> (64 - bitShift);
+				x[i] ^= val;
+			}
+		}
+		
+	}
+	
+	
+	private static int temper(int x) {
+		x ^= x >>> 11;
+		x ^= (x << 7) & 0x9D2C5680;
+		x ^= (x << 15) & 0xEFC60000;
+		return x ^ (x >>> 18);
+	}
+	
+	
 	private static int[] toInt32s(long[] in) {
 		int[] out = new int[in.length * 2];
 		for (int i = 0; i < in.length; i++) {
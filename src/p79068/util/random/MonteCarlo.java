@@ -0,0 +1,102 @@
+package p79068.util.random;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.ToDoubleFunction;
+import p79068.Assert;
+
+
+/**
+ * Runs Monte Carlo simulations in parallel with reproducible results.
+ * <p>The samples are divided into blocks of a fixed size, and block <var>k</var> draws its random numbers from its own {@link Philox4x32} generator with the seed as the key and <var>k</var> as the stream number. The blocks run as tasks of a fork-join pool, and their statistics are merged in a balanced tree whose shape depends only on the number of blocks. So the result, down to the last bit, depends only on the kernel, the number of samples, the seed and the block size, and not on the number of threads or their scheduling. No generator is shared between threads, so there is no lock contention as with a {@link SynchronizedRandom}.</p>
+ * <p>Instantiability: <em>Not applicable</em></p>
+ */
+public final class MonteCarlo {
+	
+	/** The default number of samples per block, which is large enough to make the per-task overhead negligible. */
+	public static final int DEFAULT_BLOCK_SIZE = 1 << 16;
+	
+	
+	
+	/**
+	 * Evaluates the specified kernel the specified number of times on the common fork-join pool, and returns the statistics of the values. This is the same as {@code run(kernel, samples, seed, DEFAULT_BLOCK_SIZE, ForkJoinPool.commonPool())}.
+	 * @param kernel the function computing one sample from a source of randomness, which must be safe to call from several threads at once
+	 * @param samples the number of samples
+	 * @param seed the seed from which all the random numbers are derived
+	 * @return the statistics of the samples
+	 * @throws IllegalArgumentException if {@code samples} &lt; 0
+	 */
+	public static RunningStatistics run(ToDoubleFunction<? super Random> kernel, long samples, long seed) {
+		return run(kernel, samples, seed, DEFAULT_BLOCK_SIZE, ForkJoinPool.commonPool());
+	}
+	
+	
+	/**
+	 * Evaluates the specified kernel the specified number of times on the specified fork-join pool with the specified block size, and returns the statistics of the values.
+	 * @param kernel the function computing one sample from a source of randomness, which must be safe to call from several threads at once
+	 * @param samples the number of samples
+	 * @param seed the seed from which all the random numbers are derived
+	 * @param blockSize the number of samples per block, which affects the result
+	 * @param pool the pool to run on, which does not affect the result
+	 * @return the statistics of the samples
+	 * @throws IllegalArgumentException if {@code samples} &lt; 0 or {@code blockSize} &le; 0
+	 */
+	public static RunningStatistics run(ToDoubleFunction<? super Random> kernel, long samples, long seed, int blockSize, ForkJoinPool pool) {
+		Assert.assertNotNull(kernel, pool);
+		if (samples < 0 || blockSize <= 0)
+			throw new IllegalArgumentException();
+		long blocks = (samples + blockSize - 1) / blockSize;
+		if (blocks == 0)
+			return new RunningStatistics();
+		return pool.invoke(new BlockTask(kernel, samples, seed, blockSize, 0, blocks));
+	}
+	
+	
+	
+	@SuppressWarnings("serial")
+	private static final class BlockTask extends RecursiveTask<RunningStatistics> {
+		
+		private final ToDoubleFunction<? super Random> kernel;
+		private final long samples;
+		private final long seed;
+		private final int blockSize;
+		private final long startBlock;
+		private final long endBlock;
+		
+		
+		public BlockTask(ToDoubleFunction<? super Random> kernel, long samples, long seed, int blockSize, long startBlock, long endBlock) {
+			this.kernel = kernel;
+			this.samples = samples;
+			this.seed = seed;
+			this.blockSize = blockSize;
+			this.startBlock = startBlock;
+			this.endBlock = endBlock;
+		}
+		
+		
+		protected RunningStatistics compute() {
+			if (endBlock - startBlock == 1) {
+				Random rand = new Philox4x32(seed, startBlock);
+				long n = Math.min(blockSize, samples - startBlock * blockSize);
+				RunningStatistics result = new RunningStatistics();
+				for (long i = 0; i < n; i++)
+					result.accept(kernel.applyAsDouble(rand));
+				return result;
+			}
+			long mid = (startBlock + endBlock) >>> 1;
+			BlockTask right = new BlockTask(kernel, samples, seed, blockSize, mid, endBlock);
+			right.fork();
+			RunningStatistics left = new BlockTask(kernel, samples, seed, blockSize, startBlock, mid).compute();
+			return left.merge(right.join());  // Always left then right, so the rounding is reproducible
+		}
+		
+	}
+	
+	
+	
+	/**
+	 * Not instantiable.
+	 */
+	private MonteCarlo() {}
+	
+}
@@ -0,0 +1,120 @@
+package p79068.util.random;
+
+import p79068.Assert;
+
+
+/**
+ * The PCG32 pseudorandom number generator by Melissa O'Neill, which applies the XSH-RR output permutation to a 64-bit linear congruential generator.
+ * Translated from the C code at https://www.pcg-random.org/ . The numerical output is identical to {@code pcg32_random_r()}.
+ * <p>The period is 2<sup>64</sup>. Each of the 2<sup>63</sup> streams, selected by the increment, is a distinct sequence, so parallel workers can be given the same seed and different stream numbers. {@link #advance(long)} moves to any position in logarithmic time.</p>
+ * <p>Mutability: <em>Mutable</em><br>
+ * Thread safety: <em>Unsafe</em></p>
+ */
+public final class Pcg32 extends AbstractRandom implements SplittableRandom, Cloneable {
+	
+	private static final long MULTIPLIER = 6364136223846793005L;
+	
+	
+	
+	private long state;
+	
+	private final long increment;  // Always odd
+	
+	
+	
+	/**
+	 * Constructs a generator with an arbitrary seed on stream 0.
+	 */
+	public Pcg32() {
+		this(System.currentTimeMillis() ^ Long.reverse(System.nanoTime()), 0);
+	}
+	
+	
+	/**
+	 * Constructs a generator with the specified seed and stream number, like {@code pcg32_srandom_r(seed, stream)}.
+	 * @param seed the starting state
+	 * @param stream the stream number, of which only the lower 63 bits are used
+	 */
+	public Pcg32(long seed, long stream) {
+		increment = stream << 1 | 1;
+		state = 0;
+		uniformInt();
+		state += seed;
+		uniformInt();
+	}
+	
+	
+	
+	@Override
+	public int uniformInt() {
+		long old = state;
+		state = old * MULTIPLIER + increment;
+		return output(old);
+	}
+	
+	
+	@Override
+	public long uniformLong() {
+		return (long)uniformInt() << 32 | (uniformInt() & 0xFFFFFFFFL);
+	}
+	
+	
+	@Override
+	public void uniformInts(int[] b, int off, int len) {
+		Assert.assertRangeInBounds(b.length, off, len);
+		long s = state;  // Keep the state in a local variable for speed
+		for (int end = off + len; off < end; off++) {
+			b[off] = output(s);
+			s = s * MULTIPLIER + increment;
+		}
+		state = s;
+	}
+	
+	
+	/**
+	 * Moves this generator forward by the specified number of 32-bit outputs in O(log {@code delta}) time. The argument is treated as unsigned modulo the period 2<sup>64</sup>, so a negative value moves backward by its absolute value.
+	 * @param delta the number of outputs to advance by
+	 */
+	public void advance(long delta) {
+		// Compose the affine step function with itself by repeated squaring
+		long accMult = 1, accPlus = 0;
+		long curMult = MULTIPLIER, curPlus = increment;
+		for (; delta != 0; delta >>>= 1) {
+			if ((delta & 1) != 0) {
+				accMult *= curMult;
+				accPlus = accPlus * curMult + curPlus;
+			}
+			curPlus = (curMult + 1) * curPlus;
+			curMult *= curMult;
+		}
+		state = accMult * state + accPlus;
+	}
+	
+	
+	/**
+	 * Returns a new generator with a state and stream selector drawn from this generator's next two outputs.
+	 * @return a new generator
+	 */
+	public Pcg32 split() {
+		long seed = uniformLong();
+		return new Pcg32(seed, uniformLong());
+	}
+	
+	
+	@Override
+	public Pcg32 clone() {
+		try {
+			return (Pcg32)super.clone();
+		} catch (CloneNotSupportedException e) {
+			throw new AssertionError(e);
+		}
+	}
+	
+	
+	// The XSH-RR permutation: xorshift high, then random rotation
+	private static int output(long s) {
+		int xorShifted = (int)(((s >>> 18) ^ s) >>> 27);
+		return Integer.rotateRight(xorShifted, (int)(s >>> 59));
+	}
+	
+}
@@ -0,0 +1,108 @@
+package p79068.util.random;
+
+
+/**
+ * The PCG64 pseudorandom number generator by Melissa O'Neill, which applies the XSL-RR output permutation to a 128-bit linear congruential generator.
+ * Translated from the C code at https://www.pcg-random.org/ . The numerical output is identical to {@code pcg64_random_r()}.
+ * <p>The period is 2<sup>128</sup>. Each of the 2<sup>127</sup> streams, selected by the increment, is a distinct sequence, so parallel workers can be given the same seed and different stream numbers. {@link #advance(long)} moves to any position in logarithmic time.</p>
+ * <p>Mutability: <em>Mutable</em><br>
+ * Thread safety: <em>Unsafe</em></p>
+ */
+public final class Pcg64 extends AbstractRandom implements SplittableRandom, Cloneable {
+	
+	// The default 128-bit multiplier
+	private static final long MULTIPLIER_HI = 0x2360ED051FC65DA4L;
+	private static final long MULTIPLIER_LO = 0x4385DF649FCCF645L;
+	
+	
+	
+	private Lcg128 lcg;  // The underlying 128-bit state, which clone() copies
+	
+	
+	
+	/**
+	 * Constructs a generator with an arbitrary seed on stream 0.
+	 */
+	public Pcg64() {
+		this(System.currentTimeMillis() ^ Long.reverse(System.nanoTime()), 0);
+	}
+	
+	
+	/**
+	 * Constructs a generator with the specified 64-bit seed and stream number. Equivalent to {@code Pcg64(0, seed, 0, stream)}.
+	 */
+	public Pcg64(long seed, long stream) {
+		this(0, seed, 0, stream);
+	}
+	
+	
+	/**
+	 * Constructs a generator with the specified 128-bit seed and stream number, each given as high and low halves. This seeds the same way as the reference {@code srandom} function.
+	 * @param seedHi the upper 64 bits of the starting state
+	 * @param seedLo the lower 64 bits of the starting state
+	 * @param streamHi the upper 64 bits of the stream number, of which the top bit is unused
+	 * @param streamLo the lower 64 bits of the stream number
+	 */
+	public Pcg64(long seedHi, long seedLo, long streamHi, long streamLo) {
+		lcg = new Lcg128(MULTIPLIER_HI, MULTIPLIER_LO, streamHi, streamLo);
+		lcg.step();
+		lcg.add(seedHi, seedLo);
+		lcg.step();
+	}
+	
+	
+	
+	@Override
+	public long uniformLong() {
+		lcg.step();
+		// The XSL-RR permutation on the new state: xor the halves, then rotate by the top 6 bits
+		long hi = lcg.stateHi;
+		return Long.rotateRight(hi ^ lcg.stateLo, (int)(hi >>> 58));
+	}
+	
+	
+	@Override
+	public int uniformInt() {
+		return (int)(uniformLong() >>> 32);
+	}
+	
+	
+	@Override
+	public double uniformDouble() {
+		return (uniformLong() >>> 11) * DOUBLE_SCALER;
+	}
+	
+	
+	/**
+	 * Moves this generator forward by the specified number of 64-bit outputs in O(log {@code delta}) time. The argument is treated as an unsigned 64-bit integer.
+	 * @param delta the number of outputs to advance by
+	 */
+	public void advance(long delta) {
+		lcg.advance(delta);
+	}
+	
+	
+	/**
+	 * Returns a new generator with a state and stream selector drawn from this generator's next four outputs.
+	 * @return a new generator
+	 */
+	public Pcg64 split() {
+		long seedHi = uniformLong();
+		long seedLo = uniformLong();
+		long streamHi = uniformLong();
+		return new Pcg64(seedHi, seedLo, streamHi, uniformLong());
+	}
+	
+	
+	@Override
+	public Pcg64 clone() {
+		try {
+			Pcg64 result = (Pcg64)super.clone();
+			result.lcg = result.lcg.clone();
+			return result;
+		} catch (CloneNotSupportedException e) {
+			throw new AssertionError(e);
+		}
+	}
+	
+}
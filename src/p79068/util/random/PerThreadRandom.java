@@ -0,0 +1,158 @@
+package p79068.util.random;
+
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+
+/**
+ * A thread-safe random number generator that gives each thread its own underlying generator, so that no lock is held while generating numbers.
+ * <p>A thread's generator is created on its first call and seeded from a master generator; only that seeding step is synchronized. Each thread's generator is confined to that thread, so the numbers seen by one thread are independent of how other threads are scheduled.</p>
+ * <p>Mutability: <em>Mutable</em><br>
+ * Thread safety: <em>Safe</em></p>
+ * @see Random#PER_THREAD
+ */
+public final class PerThreadRandom implements Random {
+	
+	/** The generator that seeds each thread's generator. Accessed only while holding {@code lock}. */
+	private final Random master;
+	
+	/** A private lock, which prevents denial-of-service attacks. */
+	private final Object lock;
+	
+	private final ThreadLocal<Random> local;
+	
+	
+	
+	/**
+	 * Constructs a per-thread random number generator seeded from the specified generator. The master generator must not be used by anyone else afterward.
+	 * @param master the generator to seed each thread's generator from
+	 */
+	public PerThreadRandom(Random master) {
+		if (master == null)
+			throw new NullPointerException();
+		this.master = master;
+		lock = new Object();
+		local = new ThreadLocal<Random>() {
+			protected Random initialValue() {
+				return newThreadGenerator();
+			}
+		};
+	}
+	
+	
+	
+	public int uniformInt() {
+		return local.get().uniformInt();
+	}
+	
+	
+	public int uniformInt(int n) {
+		return local.get().uniformInt(n);
+	}
+	
+	
+	public int uniformInt(int lo, int hi) {
+		return local.get().uniformInt(lo, hi);
+	}
+	
+	
+	public long uniformLong() {
+		return local.get().uniformLong();
+	}
+	
+	
+	public long uniformLong(long n) {
+		return local.get().uniformLong(n);
+	}
+	
+	
+	public long uniformLong(long lo, long hi) {
+		return local.get().uniformLong(lo, hi);
+	}
+	
+	
+	public double uniformDouble() {
+		return local.get().uniformDouble();
+	}
+	
+	
+	public void uniformBytes(byte[] b) {
+		local.get().uniformBytes(b);
+	}
+	
+	
+	public void uniformBytes(byte[] b, int off, int len) {
+		local.get().uniformBytes(b, off, len);
+	}
+	
+	
+	public void uniformInts(int[] b) {
+		local.get().uniformInts(b);
+	}
+	
+	
+	public void uniformInts(int[] b, int off, int len) {
+		local.get().uniformInts(b, off, len);
+	}
+	
+	
+	public void uniformLongs(long[] b) {
+		local.get().uniformLongs(b);
+	}
+	
+	
+	public void uniformLongs(long[] b, int off, int len) {
+		local.get().uniformLongs(b, off, len);
+	}
+	
+	
+	public void uniformDoubles(double[] b) {
+		local.get().uniformDoubles(b);
+	}
+	
+	
+	public void uniformDoubles(double[] b, int off, int len) {
+		local.get().uniformDoubles(b, off, len);
+	}
+	
+	
+	public IntStream ints() {
+		return RandomStreams.ints(this, Long.MAX_VALUE);  // Over this object, so that the values drawn directly and the seeds of split-off parts come from the current thread's own generator
+	}
+	
+	
+	public IntStream ints(long size) {
+		return RandomStreams.ints(this, size);
+	}
+	
+	
+	public LongStream longs() {
+		return RandomStreams.longs(this, Long.MAX_VALUE);
+	}
+	
+	
+	public LongStream longs(long size) {
+		return RandomStreams.longs(this, size);
+	}
+	
+	
+	public DoubleStream doubles() {
+		return RandomStreams.doubles(this, Long.MAX_VALUE);
+	}
+	
+	
+	public DoubleStream doubles(long size) {
+		return RandomStreams.doubles(this, size);
+	}
+	
+	
+	private Random newThreadGenerator() {
+		int[] seed = new int[4];
+		synchronized (lock) {
+			master.uniformInts(seed);
+		}
+		return new MersenneTwister(seed);
+	}
+	
+}
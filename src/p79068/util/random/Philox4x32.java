@@ -0,0 +1,220 @@
+package p79068.util.random;
+
+import p79068.Assert;
+
+
+/**
+ * The Philox4x32-10 counter-based pseudorandom number generator by John Salmon, Mark Moraes, Ron Dror and David Shaw (<q>Parallel random numbers: as easy as 1, 2, 3</q>, 2011).
+ * <p>Output number <var>i</var> is a pure function of the key, the stream number and <var>i</var>, computed by a 10-round bijection of a 128-bit counter. This allows parallel tasks to compute any part of the sequence independently and reproducibly, without sharing or advancing any state: see {@link #valueAt(long)} and {@link #valuesAt(long, long[], int, int)}. The generator can also be used sequentially like any other {@link Random}; {@link #seek(long)} moves to any position in constant time.</p>
+ * <p>Each (key, stream) pair identifies a separate sequence of 2<sup>64</sup> {@code long} values. The upper half of the counter holds the stream number and the lower half holds the block index.</p>
+ * <p>Mutability: <em>Mutable</em><br>
+ * Thread safety: <em>Unsafe</em>, except that {@link #valueAt(long)} and {@link #valuesAt(long, long[], int, int)} are safe because they do not depend on the position</p>
+ */
+public final class Philox4x32 extends AbstractRandom implements SplittableRandom, Cloneable {
+	
+	private final int key0;
+	private final int key1;
+	private final int stream0;
+	private final int stream1;
+	
+	// Sequential position
+	private long block;  // Index of the next block to generate
+	private int[] buffer;  // The 4 words of the most recently generated block
+	private int bufferIndex;  // In the range [0, 4]
+	
+	
+	
+	/**
+	 * Constructs a generator with an arbitrary key on stream 0.
+	 */
+	public Philox4x32() {
+		this(System.currentTimeMillis() ^ Long.reverse(System.nanoTime()), 0);
+	}
+	
+	
+	/**
+	 * Constructs a generator with the specified key on stream 0.
+	 */
+	public Philox4x32(long key) {
+		this(key, 0);
+	}
+	
+	
+	/**
+	 * Constructs a generator with the specified key and stream number, positioned at the start of the sequence.
+	 * @param key the 64-bit key
+	 * @param stream the stream number, which forms the upper half of the counter
+	 */
+	public Philox4x32(long key, long stream) {
+		key0 = (int)key;
+		key1 = (int)(key >>> 32);
+		stream0 = (int)stream;
+		stream1 = (int)(stream >>> 32);
+		block = 0;
+		buffer = new int[4];
+		bufferIndex = 4;
+	}
+	
+	
+	
+	/* Random access */
+	
+	/**
+	 * Returns the {@code long} value at the specified position of this generator's sequence. The result equals the ({@code index}+1)th value of {@link #uniformLong()} after {@code seek(0)}, but this method neither uses nor changes the sequential position.
+	 * @param index the position in the sequence, treated as unsigned
+	 * @return the value at the position
+	 */
+	public long valueAt(long index) {
+		int[] b = new int[4];
+		generate(index >>> 1, b);
+		int i = (int)(index & 1) * 2;
+		return (long)b[i] << 32 | (b[i + 1] & 0xFFFFFFFFL);
+	}
+	
+	
+	/**
+	 * Stores the {@code long} values at positions {@code start}, {@code start} + 1, ..., {@code start} + {@code len} &minus; 1 of this generator's sequence into the specified array range. This method neither uses nor changes the sequential position.
+	 * @param start the position in the sequence of the first value, treated as unsigned
+	 * @param b the array to store to
+	 * @param off the offset into the array
+	 * @param len the number of values to store
+	 */
+	public void valuesAt(long start, long[] b, int off, int len) {
+		Assert.assertRangeInBounds(b.length, off, len);
+		int[] temp = new int[4];
+		int end = off + len;
+		if ((start & 1) != 0 && off < end) {  // Unaligned first value
+			generate(start >>> 1, temp);
+			b[off] = (long)temp[2] << 32 | (temp[3] & 0xFFFFFFFFL);
+			off++;
+			start++;
+		}
+		for (long blk = start >>> 1; off < end; blk++) {
+			generate(blk, temp);
+			b[off] = (long)temp[0] << 32 | (temp[1] & 0xFFFFFFFFL);
+			off++;
+			if (off < end) {
+				b[off] = (long)temp[2] << 32 | (temp[3] & 0xFFFFFFFFL);
+				off++;
+			}
+		}
+	}
+	
+	
+	/* Sequential access */
+	
+	/**
+	 * Sets the sequential position so that the next call to {@link #uniformLong()} returns {@code valueAt(index)}.
+	 * @param index the position in the sequence, treated as unsigned
+	 */
+	public void seek(long index) {
+		block = index >>> 1;
+		bufferIndex = 4;
+		if ((index & 1) != 0) {
+			generate(block, buffer);
+			block++;
+			bufferIndex = 2;
+		}
+	}
+	
+	
+	@Override
+	public int uniformInt() {
+		if (bufferIndex == 4) {
+			generate(block, buffer);
+			block++;
+			bufferIndex = 0;
+		}
+		int result = buffer[bufferIndex];
+		bufferIndex++;
+		return result;
+	}
+	
+	
+	@Override
+	public long uniformLong() {
+		if (bufferIndex == 4) {
+			generate(block, buffer);
+			block++;
+			bufferIndex = 0;
+		}
+		if (bufferIndex <= 2) {  // Fast path
+			long result = (long)buffer[bufferIndex] << 32 | (buffer[bufferIndex + 1] & 0xFFFFFFFFL);
+			bufferIndex += 2;
+			return result;
+		} else
+			return (long)uniformInt() << 32 | (uniformInt() & 0xFFFFFFFFL);
+	}
+	
+	
+	@Override
+	public void uniformLongs(long[] b, int off, int len) {
+		Assert.assertRangeInBounds(b.length, off, len);
+		int end = off + len;
+		while (off < end && bufferIndex != 4) {  // Drain the buffered block
+			b[off] = uniformLong();
+			off++;
+		}
+		// Now at a block boundary, so whole blocks can be generated straight into the array
+		int whole = (end - off) / 2 * 2;
+		valuesAt(block * 2, b, off, whole);
+		block += whole / 2;
+		off += whole;
+		if (off < end)
+			b[off] = uniformLong();
+	}
+	
+	
+	/**
+	 * Returns a new generator with a key and stream number drawn from this generator's next two outputs, starting at counter 0.
+	 * @return a new generator
+	 */
+	public Philox4x32 split() {
+		long key = uniformLong();
+		return new Philox4x32(key, uniformLong());
+	}
+	
+	
+	@Override
+	public Philox4x32 clone() {
+		try {
+			Philox4x32 result = (Philox4x32)super.clone();
+			result.buffer = result.buffer.clone();
+			return result;
+		} catch (CloneNotSupportedException e) {
+			throw new AssertionError(e);
+		}
+	}
+	
+	
+	private void generate(long blk, int[] out) {
+		out[0] = (int)blk;
+		out[1] = (int)(blk >>> 32);
+		out[2] = stream0;
+		out[3] = stream1;
+		philox(out, key0, key1);
+	}
+	
+	
+	// Applies the Philox4x32-10 bijection to the 128-bit counter in place.
+	static void philox(int[] c, int k0, int k1) {
+		int c0 = c[0], c1 = c[1], c2 = c[2], c3 = c[3];
+		for (int i = 0; i < 10; i++) {
+			if (i > 0) {  // Bump the key
+				k0 += 0x9E3779B9;
+				k1 += 0xBB67AE85;
+			}
+			long p0 = 0xD2511F53L * (c0 & 0xFFFFFFFFL);
+			long p1 = 0xCD9E8D57L * (c2 & 0xFFFFFFFFL);
+			c0 = (int)(p1 >>> 32) ^ c1 ^ k0;
+			c1 = (int)p1;
+			c2 = (int)(p0 >>> 32) ^ c3 ^ k1;
+			c3 = (int)p0;
+		}
+		c[0] = c0;
+		c[1] = c1;
+		c[2] = c2;
+		c[3] = c3;
+	}
+	
+}
@@ -0,0 +1,122 @@
+package p79068.util.random;
+
+
+/**
+ * A Poisson distribution with a fixed mean, prepared for repeated sampling.
+ * <p>For a mean below 10, inversion by sequential search is used, costing one uniform value and about mean + 1 multiplications. Otherwise PTRS, the transformed rejection method with squeeze of Hormann (1993), is used, which takes constant expected time and needs about 2.2 uniform values per sample.</p>
+ * <p>Mutability: <em>Immutable</em><br>
+ * Thread safety: <em>Safe</em></p>
+ */
+public final class PoissonDistribution {
+	
+	private static final double HALF_LOG_2PI = 0.5 * Math.log(2 * Math.PI);
+	
+	
+	
+	private final double lambda;
+	
+	private final boolean useInversion;
+	
+	// Precomputed values for inversion, or 0 if unused
+	private final double expMinusLambda;
+	
+	// Precomputed values for PTRS, or 0 if unused
+	private final double logLambda;
+	private final double a;
+	private final double b;
+	private final double logInvAlpha;
+	private final double vr;
+	
+	
+	
+	/**
+	 * Constructs a Poisson distribution with the specified mean.
+	 * @param lambda the mean, which must be in [0, 2<sup>30</sup>]
+	 * @throws IllegalArgumentException if {@code lambda} is out of range
+	 */
+	public PoissonDistribution(double lambda) {
+		if (!(lambda >= 0 && lambda <= (1 << 30)))
+			throw new IllegalArgumentException();
+		this.lambda = lambda;
+		useInversion = lambda < 10;
+		if (useInversion) {
+			expMinusLambda = Math.exp(-lambda);
+			logLambda = 0;
+			a = 0;
+			b = 0;
+			logInvAlpha = 0;
+			vr = 0;
+		} else {
+			expMinusLambda = 0;
+			logLambda = Math.log(lambda);
+			b = 0.931 + 2.53 * Math.sqrt(lambda);
+			a = -0.059 + 0.02483 * b;
+			logInvAlpha = Math.log(1.1239 + 1.1328 / (b - 3.4));
+			vr = 0.9277 - 3.6224 / (b - 2);
+		}
+	}
+	
+	
+	
+	/**
+	 * Returns the mean of this distribution.
+	 * @return the mean
+	 */
+	public double getMean() {
+		return lambda;
+	}
+	
+	
+	/**
+	 * Returns a random integer from this distribution, using the specified source of randomness.
+	 * @param rand the source of randomness
+	 * @return a Poisson-distributed non-negative integer
+	 */
+	public int sample(Random rand) {
+		if (useInversion)
+			return sampleInversion(rand);
+		else
+			return samplePtrs(rand);
+	}
+	
+	
+	private int sampleInversion(Random rand) {
+		while (true) {
+			double u = rand.uniformDouble();
+			double prob = expMinusLambda;
+			int k = 0;
+			while (u > prob && k < 100) {
+				u -= prob;
+				k++;
+				prob *= lambda / k;
+			}
+			if (k < 100)
+				return k;
+			// Otherwise rounding error has left u above the total probability mass; start over
+		}
+	}
+	
+	
+	private int samplePtrs(Random rand) {
+		while (true) {
+			double u = rand.uniformDouble() - 0.5;
+			double v = rand.uniformDouble();
+			double us = 0.5 - Math.abs(u);
+			double kd = Math.floor((2 * a / us + b) * u + lambda + 0.43);
+			if (us >= 0.07 && v <= vr)
+				return (int)kd;  // Fast path: the point lies in the inner box under the hat
+			if (kd < 0 || us < 0.013 && v > us)
+				continue;
+			int k = (int)kd;
+			if (Math.log(v) + logInvAlpha - Math.log(a / (us * us) + b) <= -lambda + k * logLambda - logFactorial(k))
+				return k;
+		}
+	}
+	
+	
+	// Uses Stirling's series, with a table of exact corrections for small k.
+	private static double logFactorial(int k) {
+		return (k + 0.5) * Math.log(k + 1) - (k + 1) + HALF_LOG_2PI + BinomialDistribution.stirlingCorrection(k);
+	}
+	
+}
@@ -0,0 +1,217 @@
+package p79068.util.random;
+
+import java.lang.ref.Cleaner;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import p79068.Assert;
+
+
+/**
+ * A random number generator that serves values from blocks filled ahead of time by another generator on a background thread.
+ * <p>The underlying generator's refills (such as the 256-word refill of {@link Isaac}, or the block function of a cryptographic generator) then happen off the caller's thread. A call costs an array read and an index increment, without locking or waiting, as long as the current block lasts. When it runs out, the block is handed back to the background thread to be refilled and the next ready block is taken; the caller waits only if the background thread has fallen behind by all the blocks.</p>
+ * <p>Blocks are filled in order by the underlying generator's {@link Random#uniformLongs(long[], int, int) uniformLongs()} method, so the sequence of {@link #uniformLong()} values is exactly that of the underlying generator. Other methods are derived from {@code uniformLong()} as in {@link AbstractRandom}.</p>
+ * <p>The background thread keeps running until {@link #close()} is called, or until this object becomes unreachable without being closed. After that, or after the underlying generator throws an exception or the background thread is interrupted by anyone else, the methods of this generator throw {@link IllegalStateException}.</p>
+ * <p>Mutability: <em>Mutable</em><br>
+ * Thread safety: <em>Unsafe</em> (use one instance per consuming thread, or wrap in {@link SynchronizedRandom})</p>
+ */
+public final class PrefetchingRandom extends AbstractRandom implements AutoCloseable {
+	
+	private static final int DEFAULT_BLOCK_LENGTH = 1024;
+	
+	private static final long[] EMPTY = {};
+	
+	private static final Cleaner CLEANER = Cleaner.create();
+	
+	
+	
+	private final BlockingQueue<long[]> ready;  // Filled blocks in order, with one extra slot for the failure sentinel
+	
+	private final BlockingQueue<long[]> empty;  // Blocks to be filled by the background thread
+	
+	private final Producer producer;
+	
+	private final Cleaner.Cleanable cleanable;  // Stops the background thread, at most once
+	
+	private long[] current;
+	
+	private int index;  // The next element of current to return
+	
+	private boolean closed;
+	
+	
+	
+	/**
+	 * Constructs a prefetching generator over the specified generator, with two blocks of 1024 {@code long}s and a daemon background thread.
+	 * @param core the generator to draw from, which must not be used by anyone else afterward
+	 */
+	public PrefetchingRandom(Random core) {
+		this(core, DEFAULT_BLOCK_LENGTH, 2, PrefetchingRandom::newDaemonThread);
+	}
+	
+	
+	/**
+	 * Constructs a prefetching generator over the specified generator, with the specified number and length of blocks and the background thread created by the specified factory (which may create a virtual thread).
+	 * @param core the generator to draw from, which must not be used by anyone else afterward
+	 * @param blockLength the number of {@code long}s in each block
+	 * @param blocks the number of blocks, at least 2 so that one can be filled while another is being consumed
+	 * @param factory the factory for the background thread
+	 * @throws IllegalArgumentException if {@code blockLength} &le; 0 or {@code blocks} &lt; 2
+	 */
+	public PrefetchingRandom(Random core, int blockLength, int blocks, ThreadFactory factory) {
+		Assert.assertNotNull(core, factory);
+		if (blockLength <= 0 || blocks < 2)
+			throw new IllegalArgumentException();
+		ready = new ArrayBlockingQueue<long[]>(blocks + 1);
+		empty = new ArrayBlockingQueue<long[]>(blocks);
+		for (int i = 0; i < blocks; i++)
+			empty.add(new long[blockLength]);
+		current = EMPTY;
+		index = 0;
+		closed = false;
+		producer = new Producer(core, ready, empty);
+		Thread thread = factory.newThread(producer);
+		cleanable = CLEANER.register(this, new Stopper(producer, thread));  // Must not refer to this object
+		thread.start();
+	}
+	
+	
+	
+	@Override
+	public long uniformLong() {
+		if (index == current.length)
+			nextBlock();
+		long result = current[index];
+		index++;
+		return result;
+	}
+	
+	
+	@Override
+	public void uniformLongs(long[] b, int off, int len) {
+		Assert.assertRangeInBounds(b.length, off, len);
+		for (int end = off + len; off < end; ) {
+			if (index == current.length)
+				nextBlock();
+			int n = Math.min(end - off, current.length - index);
+			System.arraycopy(current, index, b, off, n);
+			index += n;
+			off += n;
+		}
+	}
+	
+	
+	/**
+	 * Stops the background thread and releases the blocks. Calling this more than once has no further effect.
+	 */
+	public void close() {
+		if (closed)
+			return;
+		closed = true;
+		current = EMPTY;
+		index = 0;
+		cleanable.clean();
+		ready.clear();
+		empty.clear();
+	}
+	
+	
+	// Returns the current block to be refilled, and waits for the next filled one.
+	private void nextBlock() {
+		if (closed)
+			throw new IllegalStateException("Closed");
+		if (current != EMPTY) {
+			empty.add(current);  // Never full, because every block is in at most one place
+			current = EMPTY;
+			index = 0;
+		}
+		long[] block;
+		boolean interrupted = false;
+		while (true) {
+			try {
+				block = ready.take();
+				break;
+			} catch (InterruptedException e) {
+				interrupted = true;  // Keep waiting, and restore the status afterward
+			}
+		}
+		if (interrupted)
+			Thread.currentThread().interrupt();
+		if (block == EMPTY) {  // The producer failed or was interrupted
+			close();
+			throw new IllegalStateException("Background thread stopped", producer.failure);
+		}
+		current = block;
+		index = 0;
+	}
+	
+	
+	private static Thread newDaemonThread(Runnable r) {
+		Thread result = new Thread(r, "PrefetchingRandom");
+		result.setDaemon(true);
+		return result;
+	}
+	
+	
+	
+	private static final class Stopper implements Runnable {
+		
+		private final Producer producer;
+		private final Thread thread;
+		
+		
+		public Stopper(Producer producer, Thread thread) {
+			this.producer = producer;
+			this.thread = thread;
+		}
+		
+		
+		public void run() {
+			producer.stopped = true;
+			thread.interrupt();
+		}
+		
+	}
+	
+	
+	
+	private static final class Producer implements Runnable {
+		
+		private final Random core;
+		private final BlockingQueue<long[]> ready;
+		private final BlockingQueue<long[]> empty;
+		
+		public volatile boolean stopped;
+		
+		public volatile Throwable failure;
+		
+		
+		public Producer(Random core, BlockingQueue<long[]> ready, BlockingQueue<long[]> empty) {
+			this.core = core;
+			this.ready = ready;
+			this.empty = empty;
+			stopped = false;
+		}
+		
+		
+		public void run() {
+			try {
+				while (!stopped) {
+					long[] block = empty.take();
+					core.uniformLongs(block, 0, block.length);
+					ready.put(block);
+				}
+			} catch (InterruptedException e) {
+				if (!stopped) {  // Interrupted by someone other than close(), such as a pool shutting down
+					failure = e;
+					ready.offer(EMPTY);  // Always room, because of the extra slot
+				}
+			} catch (Throwable e) {
+				failure = e;
+				ready.offer(EMPTY);  // Always room, because of the extra slot
+			}
+		}
+		
+	}
+	
+}
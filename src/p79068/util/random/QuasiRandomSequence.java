@@ -0,0 +1,38 @@
+package p79068.util.random;
+
+
+/**
+ * A low-discrepancy sequence of points in the unit hypercube [0, 1)<sup><var>d</var></sup>, for quasi-Monte Carlo integration.
+ * <p>The points fill the space more evenly than independent random points, so the error of an average over the first <var>n</var> points of a smooth enough integrand falls almost as fast as 1/<var>n</var>, instead of 1/&radic;<var>n</var>. Randomized sequences (scrambled or shifted, depending on the implementation) keep this property, and the spread of the averages over several independent randomizations estimates the error.</p>
+ * <p>Points are numbered from 0 and can be computed in any order. Implementations are immutable and thread-safe, so different threads can compute different ranges of the same sequence.</p>
+ */
+public interface QuasiRandomSequence {
+	
+	/**
+	 * Returns the number of coordinates of each point.
+	 * @return the dimension, which is positive
+	 */
+	public int dimension();
+	
+	
+	/**
+	 * Stores the coordinates of the point at the specified index into elements 0 to {@code dimension()}&minus;1 of the specified array.
+	 * @param index the index of the point
+	 * @param out the array to store to
+	 * @throws IllegalArgumentException if {@code index} is negative or beyond the sequence's supported length
+	 * @throws IndexOutOfBoundsException if the array is shorter than the dimension
+	 */
+	public void point(long index, double[] out);
+	
+	
+	/**
+	 * Stores the coordinates of {@code count} consecutive points into the specified array, in dimension-major order: coordinate <var>j</var> of point {@code start} + <var>i</var> goes into element <var>j</var>&middot;{@code count} + <var>i</var>. The values are the same as from {@link #point(long, double[])}, but computed faster.
+	 * @param start the index of the first point
+	 * @param count the number of points
+	 * @param out the array to store to, with a length of at least {@code dimension()} &middot; {@code count}
+	 * @throws IllegalArgumentException if {@code start} or {@code count} is negative, or if the range is beyond the sequence's supported length
+	 * @throws IndexOutOfBoundsException if the array is too short
+	 */
+	public void points(long start, int count, double[] out);
+	
+}
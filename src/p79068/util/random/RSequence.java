@@ -0,0 +1,98 @@
+package p79068.util.random;
+
+import p79068.Assert;
+
+
+/**
+ * The R<sub><var>d</var></sub> low-discrepancy sequence of Roberts (2018), a Kronecker sequence based on the generalized golden ratio, optionally with a random shift.
+ * <p>Coordinate <var>j</var> of point <var>i</var> is the fractional part of <var>s</var><sub><var>j</var></sub> + <var>i</var>&middot;<var>&alpha;</var><sub><var>j</var></sub>, where <var>&alpha;</var><sub><var>j</var></sub> = <var>&phi;</var><sup>&minus;(<var>j</var>+1)</sup> and <var>&phi;</var> is the unique positive root of <var>x</var><sup><var>d</var>+1</sup> = <var>x</var> + 1. In one dimension this is the golden ratio sequence. Each point costs one addition per coordinate, any dimension and any number of points are supported, and no subset of the coordinates is favored.</p>
+ * <p>The sums are done in 64-bit fixed point, so the points stay exact however large the index. The unshifted sequence uses <var>s</var><sub><var>j</var></sub> = 1/2 as recommended by Roberts; the shifted sequence uses independent uniform random <var>s</var><sub><var>j</var></sub> (a Cranley&ndash;Patterson rotation), which makes each point uniformly distributed.</p>
+ * <p>Mutability: <em>Immutable</em><br>
+ * Thread safety: <em>Safe</em></p>
+ */
+public final class RSequence implements QuasiRandomSequence {
+	
+	private final long[] alphas;  // 64-bit binary fractions
+	
+	private final long[] shifts;
+	
+	
+	
+	/**
+	 * Constructs an unshifted R<sub><var>d</var></sub> sequence of the specified dimension.
+	 * @param dimension the number of coordinates
+	 * @throws IllegalArgumentException if the dimension is not positive
+	 */
+	public RSequence(int dimension) {
+		if (dimension < 1)
+			throw new IllegalArgumentException("Unsupported dimension");
+		// Newton's method for the root of x^(d+1) - x - 1, which lies in (1, 2]
+		double phi = 2;
+		for (int i = 0; i < 100; i++) {
+			double next = phi - (Math.pow(phi, dimension + 1) - phi - 1) / ((dimension + 1) * Math.pow(phi, dimension) - 1);
+			if (next == phi)
+				break;
+			phi = next;
+		}
+		alphas = new long[dimension];
+		double alpha = 1;
+		for (int j = 0; j < dimension; j++) {
+			alpha /= phi;
+			alphas[j] = (long)(alpha * 0x1p63) << 1;  // Exact, because alpha has at most 53 significant bits
+		}
+		shifts = new long[dimension];
+		for (int j = 0; j < dimension; j++)
+			shifts[j] = 1L << 63;  // One half
+	}
+	
+	
+	/**
+	 * Constructs an R<sub><var>d</var></sub> sequence of the specified dimension, with uniform random shifts drawn from the specified generator.
+	 * @param dimension the number of coordinates
+	 * @param rand the source of randomness for the shifts
+	 * @throws IllegalArgumentException if the dimension is not positive
+	 */
+	public RSequence(int dimension, Random rand) {
+		this(dimension);
+		Assert.assertNotNull(rand);
+		rand.uniformLongs(shifts);
+	}
+	
+	
+	
+	public int dimension() {
+		return alphas.length;
+	}
+	
+	
+	/**
+	 * Stores the coordinates of the point at the specified index, which must be non-negative.
+	 */
+	public void point(long index, double[] out) {
+		if (index < 0)
+			throw new IllegalArgumentException("Index out of range");
+		if (out.length < alphas.length)
+			throw new IndexOutOfBoundsException();
+		for (int j = 0; j < alphas.length; j++)
+			out[j] = ((shifts[j] + index * alphas[j]) >>> 11) * AbstractRandom.DOUBLE_SCALER;
+	}
+	
+	
+	/**
+	 * Stores the coordinates of consecutive points in dimension-major order. The range of indexes must not exceed {@code Long.MAX_VALUE}.
+	 */
+	public void points(long start, int count, double[] out) {
+		if (start < 0 || count < 0 || start + count < 0)
+			throw new IllegalArgumentException("Index out of range");
+		if (out.length < (long)alphas.length * count)
+			throw new IndexOutOfBoundsException();
+		for (int j = 0; j < alphas.length; j++) {
+			long alpha = alphas[j];
+			long x = shifts[j] + start * alpha;  // Arithmetic modulo 2^64 is arithmetic modulo 1 on binary fractions
+			int off = j * count;
+			for (int i = 0; i < count; i++, x += alpha)
+				out[off + i] = (x >>> 11) * AbstractRandom.DOUBLE_SCALER;
+		}
+	}
+	
+}
@@ -1,5 +1,9 @@
 package p79068.util.random;
 
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
 
 /**
  * A random number generator. Implementations can be pseudo-random (deterministic) or truly random.
@@ -7,11 +11,17 @@ package p79068.util.random;
 public interface Random {
 	
 	/**
-	 * A global, thread-safe random number generator instance provided for convenience.
+	 * A global, thread-safe random number generator instance provided for convenience. All threads share one generator behind a lock, so this scales poorly under contention; see {@link #PER_THREAD}.
 	 */
 	public static final Random DEFAULT = new SynchronizedRandom(new MersenneTwister());
 	
 	
+	/**
+	 * A global, thread-safe random number generator instance where each thread draws from its own underlying generator, so no lock is taken after each thread's first call.
+	 */
+	public static final Random PER_THREAD = new PerThreadRandom(new MersenneTwister());
+	
+	
 	
 	/**
 	 * Returns a random, uniformly distributed {@code int} value.
@@ -28,6 +38,14 @@ public interface Random {
 	public int uniformInt(int n);
 	
 	
+	/**
+	 * Returns a random, uniformly distributed integer between {@code lo} (inclusive) and {@code hi} (exclusive). {@code lo} must be less than {@code hi}.
+	 * @return an integer in the range [{@code lo}, {@code hi}), each with equal probability
+	 * @throws IllegalArgumentException if {@code lo} &ge; {@code hi}
+	 */
+	public int uniformInt(int lo, int hi);
+	
+	
 	/**
 	 * Returns a random, uniformly distributed {@code long} value.
 	 * @return a value in the range of {@code long}, each with equal probability
@@ -35,6 +53,22 @@ public interface Random {
 	public long uniformLong();
 	
 	
+	/**
+	 * Returns a random, uniformly distributed integer between 0 (inclusive) and {@code n} (exclusive). {@code n} must be positive.
+	 * @return an integer in the range [0, {@code n}), each with equal probability
+	 * @throws IllegalArgumentException if {@code n} &le; 0
+	 */
+	public long uniformLong(long n);
+	
+	
+	/**
+	 * Returns a random, uniformly distributed integer between {@code lo} (inclusive) and {@code hi} (exclusive). {@code lo} must be less than {@code hi}.
+	 * @return an integer in the range [{@code lo}, {@code hi}), each with equal probability
+	 * @throws IllegalArgumentException if {@code lo} &ge; {@code hi}
+	 */
+	public long uniformLong(long lo, long hi);
+	
+	
 	/**
 	 * Returns a random {@code double} value uniformly distributed between 0.0 (inclusive) and 1.0 (exclusive). The granularity is unspecified.
 	 * @return a {@code double} in the range [0, 1), each with equal probability
@@ -53,4 +87,89 @@ public interface Random {
 	 */
 	public void uniformBytes(byte[] b, int off, int len);
 	
+	
+	/**
+	 * Stores random, uniformly distributed {@code int} values into the specified array. The values are the same as from calling {@link #uniformInt()} once per element.
+	 */
+	public void uniformInts(int[] b);
+	
+	
+	/**
+	 * Stores random, uniformly distributed {@code int} values into the specified array range. The values are the same as from calling {@link #uniformInt()} once per element.
+	 */
+	public void uniformInts(int[] b, int off, int len);
+	
+	
+	/**
+	 * Stores random, uniformly distributed {@code long} values into the specified array. The values are the same as from calling {@link #uniformLong()} once per element.
+	 */
+	public void uniformLongs(long[] b);
+	
+	
+	/**
+	 * Stores random, uniformly distributed {@code long} values into the specified array range. The values are the same as from calling {@link #uniformLong()} once per element.
+	 */
+	public void uniformLongs(long[] b, int off, int len);
+	
+	
+	/**
+	 * Stores random {@code double} values uniformly distributed in [0, 1) into the specified array. The values are the same as from calling {@link #uniformDouble()} once per element.
+	 */
+	public void uniformDoubles(double[] b);
+	
+	
+	/**
+	 * Stores random {@code double} values uniformly distributed in [0, 1) into the specified array range. The values are the same as from calling {@link #uniformDouble()} once per element.
+	 */
+	public void uniformDoubles(double[] b, int off, int len);
+	
+	
+	/**
+	 * Returns an effectively unlimited stream of random {@code int} values, as from {@link #uniformInt()}. A sequential stream draws its values from this generator as it is consumed.
+	 * <p>When a parallel stream is split, each split-off part draws from a new generator of its own, which is either {@link SplittableRandom#split()} of this generator or one seeded from its output. So only one part keeps drawing from this generator directly, and the others draw from it only to seed their own generators.</p>
+	 * @return a stream of {@code Long.MAX_VALUE} random {@code int} values
+	 */
+	public IntStream ints();
+	
+	
+	/**
+	 * Returns a stream of the specified number of random {@code int} values, as from {@link #uniformInt()}. See {@link #ints()}.
+	 * @param size the number of values
+	 * @return a stream of {@code size} random {@code int} values
+	 * @throws IllegalArgumentException if {@code size} is negative
+	 */
+	public IntStream ints(long size);
+	
+	
+	/**
+	 * Returns an effectively unlimited stream of random {@code long} values, as from {@link #uniformLong()}. See {@link #ints()}.
+	 * @return a stream of {@code Long.MAX_VALUE} random {@code long} values
+	 */
+	public LongStream longs();
+	
+	
+	/**
+	 * Returns a stream of the specified number of random {@code long} values, as from {@link #uniformLong()}. See {@link #ints()}.
+	 * @param size the number of values
+	 * @return a stream of {@code size} random {@code long} values
+	 * @throws IllegalArgumentException if {@code size} is negative
+	 */
+	public LongStream longs(long size);
+	
+	
+	/**
+	 * Returns an effectively unlimited stream of random {@code double} values in [0, 1), as from {@link #uniformDouble()}. See {@link #ints()}.
+	 * @return a stream of {@code Long.MAX_VALUE} random {@code double} values
+	 */
+	public DoubleStream doubles();
+	
+	
+	/**
+	 * Returns a stream of the specified number of random {@code double} values in [0, 1), as from {@link #uniformDouble()}. See {@link #ints()}.
+	 * @param size the number of values
+	 * @return a stream of {@code size} random {@code double} values
+	 * @throws IllegalArgumentException if {@code size} is negative
+	 */
+	public DoubleStream doubles(long size);
+	
 }
@@ -0,0 +1,381 @@
+package p79068.util.random;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import p79068.Assert;
+
+
+/**
+ * Shuffles arrays and samples distinct indices, using a {@link Random} as the source of randomness.
+ * <p>The sequential shuffles are the Fisher&ndash;Yates algorithm, which draws one bounded integer per element. The parallel shuffles use MergeShuffle (Bacher, Bodini, Hollender, Lumbroso, 2015): blocks are shuffled independently, then adjacent blocks are merged with a random riffle in a balanced tree. The parallel result is a deterministic function of the seed, regardless of the number of threads or their scheduling, because each block and each merge draws from its own generator derived from the seed.</p>
+ * <p>Instantiability: <em>Not applicable</em></p>
+ */
+public final class RandomArrays {
+	
+	/** Blocks up to this length are shuffled sequentially by the parallel shuffles. */
+	private static final int PARALLEL_LEAF_SIZE = 1 << 16;
+	
+	
+	
+	/* Fisher-Yates shuffles */
+	
+	/**
+	 * Randomly permutes the specified array, with all permutations equally likely.
+	 * @param a the array to shuffle
+	 * @param rand the source of randomness
+	 */
+	public static void shuffle(int[] a, Random rand) {
+		shuffle(a, 0, a.length, rand);
+	}
+	
+	
+	/**
+	 * Randomly permutes the specified array range, with all permutations equally likely. Elements outside the range are unchanged.
+	 * @param a the array to shuffle
+	 * @param off the index of the first element of the range
+	 * @param len the length of the range
+	 * @param rand the source of randomness
+	 */
+	public static void shuffle(int[] a, int off, int len, Random rand) {
+		Assert.assertRangeInBounds(a.length, off, len);
+		for (int i = len - 1; i > 0; i--) {
+			int j = off + rand.uniformInt(i + 1);
+			int temp = a[off + i];
+			a[off + i] = a[j];
+			a[j] = temp;
+		}
+	}
+	
+	
+	/**
+	 * Randomly permutes the specified array, with all permutations equally likely.
+	 * @param a the array to shuffle
+	 * @param rand the source of randomness
+	 */
+	public static void shuffle(long[] a, Random rand) {
+		shuffle(a, 0, a.length, rand);
+	}
+	
+	
+	/**
+	 * Randomly permutes the specified array range, with all permutations equally likely. Elements outside the range are unchanged.
+	 * @param a the array to shuffle
+	 * @param off the index of the first element of the range
+	 * @param len the length of the range
+	 * @param rand the source of randomness
+	 */
+	public static void shuffle(long[] a, int off, int len, Random rand) {
+		Assert.assertRangeInBounds(a.length, off, len);
+		for (int i = len - 1; i > 0; i--) {
+			int j = off + rand.uniformInt(i + 1);
+			long temp = a[off + i];
+			a[off + i] = a[j];
+			a[j] = temp;
+		}
+	}
+	
+	
+	/**
+	 * Randomly permutes the specified array, with all permutations equally likely.
+	 * @param a the array to shuffle
+	 * @param rand the source of randomness
+	 */
+	public static void shuffle(double[] a, Random rand) {
+		shuffle(a, 0, a.length, rand);
+	}
+	
+	
+	/**
+	 * Randomly permutes the specified array range, with all permutations equally likely. Elements outside the range are unchanged.
+	 * @param a the array to shuffle
+	 * @param off the index of the first element of the range
+	 * @param len the length of the range
+	 * @param rand the source of randomness
+	 */
+	public static void shuffle(double[] a, int off, int len, Random rand) {
+		Assert.assertRangeInBounds(a.length, off, len);
+		for (int i = len - 1; i > 0; i--) {
+			int j = off + rand.uniformInt(i + 1);
+			double temp = a[off + i];
+			a[off + i] = a[j];
+			a[j] = temp;
+		}
+	}
+	
+	
+	/**
+	 * Randomly permutes the specified array, with all permutations equally likely.
+	 * @param a the array to shuffle
+	 * @param rand the source of randomness
+	 */
+	public static void shuffle(Object[] a, Random rand) {
+		shuffle(a, 0, a.length, rand);
+	}
+	
+	
+	/**
+	 * Randomly permutes the specified array range, with all permutations equally likely. Elements outside the range are unchanged.
+	 * @param a the array to shuffle
+	 * @param off the index of the first element of the range
+	 * @param len the length of the range
+	 * @param rand the source of randomness
+	 */
+	public static void shuffle(Object[] a, int off, int len, Random rand) {
+		Assert.assertRangeInBounds(a.length, off, len);
+		for (int i = len - 1; i > 0; i--) {
+			int j = off + rand.uniformInt(i + 1);
+			Object temp = a[off + i];
+			a[off + i] = a[j];
+			a[j] = temp;
+		}
+	}
+	
+	
+	
+	/* Parallel shuffles */
+	
+	/**
+	 * Randomly permutes the specified array using the common fork-join pool, with all permutations equally likely. The result depends only on the seed.
+	 * @param a the array to shuffle
+	 * @param seed the seed from which all the random numbers are derived
+	 */
+	public static void parallelShuffle(int[] a, long seed) {
+		parallelShuffle(a, seed, PARALLEL_LEAF_SIZE);
+	}
+	
+	
+	// Package-private so that tests can exercise the merging on small arrays.
+	static void parallelShuffle(int[] a, long seed, int leafSize) {
+		ForkJoinPool.commonPool().invoke(new IntShuffleTask(a, 0, a.length, seed, 1, leafSize));
+	}
+	
+	
+	/**
+	 * Randomly permutes the specified array using the common fork-join pool, with all permutations equally likely. The result depends only on the seed.
+	 * @param a the array to shuffle
+	 * @param seed the seed from which all the random numbers are derived
+	 */
+	public static void parallelShuffle(long[] a, long seed) {
+		parallelShuffle(a, seed, PARALLEL_LEAF_SIZE);
+	}
+	
+	
+	static void parallelShuffle(long[] a, long seed, int leafSize) {
+		ForkJoinPool.commonPool().invoke(new LongShuffleTask(a, 0, a.length, seed, 1, leafSize));
+	}
+	
+	
+	// Returns the generator for the specified node of the implicit binary tree of blocks (the root is 1, and node k has children 2k and 2k+1).
+	private static Random nodeRandom(long seed, long node) {
+		return new Xoshiro256PlusPlus(SplitMix64.valueAt(seed, node));
+	}
+	
+	
+	@SuppressWarnings("serial")
+	private static final class IntShuffleTask extends RecursiveAction {
+		
+		private final int[] array;
+		private final int start;
+		private final int end;
+		private final long seed;
+		private final long node;
+		private final int leafSize;
+		
+		
+		public IntShuffleTask(int[] array, int start, int end, long seed, long node, int leafSize) {
+			this.array = array;
+			this.start = start;
+			this.end = end;
+			this.seed = seed;
+			this.node = node;
+			this.leafSize = leafSize;
+		}
+		
+		
+		protected void compute() {
+			Random rand = nodeRandom(seed, node);
+			if (end - start <= leafSize) {
+				shuffle(array, start, end - start, rand);
+				return;
+			}
+			int mid = (start + end) >>> 1;
+			invokeAll(new IntShuffleTask(array, start, mid, seed, node * 2, leafSize),
+			          new IntShuffleTask(array, mid, end, seed, node * 2 + 1, leafSize));
+			
+			// Riffle: each position takes the next element of either half with probability 1/2, until one half runs out
+			int[] a = array;
+			int i = start;
+			int j = mid;
+			long bits = 0;
+			int numBits = 0;
+			while (true) {
+				if (numBits == 0) {
+					bits = rand.uniformLong();
+					numBits = 64;
+				}
+				boolean takeRight = (bits & 1) != 0;
+				bits >>>= 1;
+				numBits--;
+				if (takeRight) {
+					if (j == end)
+						break;
+					int temp = a[i];
+					a[i] = a[j];
+					a[j] = temp;
+					j++;
+				} else if (i == j)
+					break;
+				i++;
+			}
+			// Insert the remaining elements at uniformly random positions among those before them
+			for (; i < end; i++) {
+				int k = start + rand.uniformInt(i - start + 1);
+				int temp = a[i];
+				a[i] = a[k];
+				a[k] = temp;
+			}
+		}
+		
+	}
+	
+	
+	@SuppressWarnings("serial")
+	private static final class LongShuffleTask extends RecursiveAction {
+		
+		private final long[] array;
+		private final int start;
+		private final int end;
+		private final long seed;
+		private final long node;
+		private final int leafSize;
+		
+		
+		public LongShuffleTask(long[] array, int start, int end, long seed, long node, int leafSize) {
+			this.array = array;
+			this.start = start;
+			this.end = end;
+			this.seed = seed;
+			this.node = node;
+			this.leafSize = leafSize;
+		}
+		
+		
+		protected void compute() {
+			Random rand = nodeRandom(seed, node);
+			if (end - start <= leafSize) {
+				shuffle(array, start, end - start, rand);
+				return;
+			}
+			int mid = (start + end) >>> 1;
+			invokeAll(new LongShuffleTask(array, start, mid, seed, node * 2, leafSize),
+			          new LongShuffleTask(array, mid, end, seed, node * 2 + 1, leafSize));
+			
+			long[] a = array;
+			int i = start;
+			int j = mid;
+			long bits = 0;
+			int numBits = 0;
+			while (true) {
+				if (numBits == 0) {
+					bits = rand.uniformLong();
+					numBits = 64;
+				}
+				boolean takeRight = (bits & 1) != 0;
+				bits >>>= 1;
+				numBits--;
+				if (takeRight) {
+					if (j == end)
+						break;
+					long temp = a[i];
+					a[i] = a[j];
+					a[j] = temp;
+					j++;
+				} else if (i == j)
+					break;
+				i++;
+			}
+			for (; i < end; i++) {
+				int k = start + rand.uniformInt(i - start + 1);
+				long temp = a[i];
+				a[i] = a[k];
+				a[k] = temp;
+			}
+		}
+		
+	}
+	
+	
+	
+	/* Sampling without replacement */
+	
+	/**
+	 * Returns {@code k} distinct integers chosen uniformly at random from [0, {@code n}), in uniformly random order.
+	 * <p>This uses Floyd's algorithm, which takes O({@code k}) time and memory regardless of {@code n}.</p>
+	 * @param n the size of the population
+	 * @param k the number of indices to draw
+	 * @param rand the source of randomness
+	 * @return a new array of {@code k} distinct integers in the range [0, {@code n})
+	 * @throws IllegalArgumentException if {@code k} &lt; 0 or {@code k} &gt; {@code n}
+	 */
+	public static int[] sampleIndices(int n, int k, Random rand) {
+		if (k < 0 || k > n)
+			throw new IllegalArgumentException();
+		
+		if (k >= (1 << 29)) {
+			// Too many for the hash set; a partial Fisher-Yates shuffle of all indices is cheaper here anyway
+			int[] all = new int[n];
+			for (int i = 0; i < n; i++)
+				all[i] = i;
+			for (int i = 0; i < k; i++) {
+				int j = i + rand.uniformInt(n - i);
+				int temp = all[i];
+				all[i] = all[j];
+				all[j] = temp;
+			}
+			return Arrays.copyOf(all, k);
+		}
+		
+		// Open-addressing hash set of non-negative ints, with -1 marking an empty slot and a load factor of at most 1/2
+		int bits = 32 - Integer.numberOfLeadingZeros(k) + 1;
+		int[] table = new int[1 << bits];
+		Arrays.fill(table, -1);
+		
+		int[] result = new int[k];
+		for (int i = 0, j = n - k; i < k; i++, j++) {
+			int t = rand.uniformInt(j + 1);
+			if (!insert(table, bits, t)) {
+				t = j;  // Never present, because all earlier values are less than j
+				insert(table, bits, t);
+			}
+			result[i] = t;
+		}
+		// Floyd's algorithm yields a uniform subset but not a uniform order
+		shuffle(result, rand);
+		return result;
+	}
+	
+	
+	// Adds the value to the set and returns true, or returns false if it was already present.
+	private static boolean insert(int[] table, int bits, int value) {
+		int mask = table.length - 1;
+		int i = (int)((value * SplitMix64.GOLDEN_GAMMA) >>> (64 - bits));  // Fibonacci hashing
+		while (true) {
+			if (table[i] == value)
+				return false;
+			if (table[i] == -1) {
+				table[i] = value;
+				return true;
+			}
+			i = (i + 1) & mask;
+		}
+	}
+	
+	
+	
+	/**
+	 * Not instantiable.
+	 */
+	private RandomArrays() {}
+	
+}
@@ -0,0 +1,242 @@
+package p79068.util.random;
+
+import java.util.Spliterator;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+
+/**
+ * Creates primitive streams of random numbers from a generator, with spliterators that split for parallel processing.
+ * <p>Each split gives the split-off part its own generator: {@link SplittableRandom#split()} if the generator supports it, otherwise a {@link Xoshiro256PlusPlus} seeded from four outputs of the generator. A stream that is never split therefore draws from the original generator and yields exactly the values of repeated single calls, while its bulk traversal uses the generator's bulk methods.</p>
+ * <p>Instantiability: <em>Not applicable</em></p>
+ */
+final class RandomStreams {
+	
+	// Number of values that forEachRemaining() draws per bulk call
+	private static final int BUFFER_SIZE = 256;
+	
+	private static final int CHARACTERISTICS = Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.NONNULL | Spliterator.IMMUTABLE;
+	
+	
+	
+	public static IntStream ints(Random rand, long size) {
+		if (size < 0)
+			throw new IllegalArgumentException();
+		return StreamSupport.intStream(new IntsSpliterator(rand, 0, size), false);
+	}
+	
+	
+	public static LongStream longs(Random rand, long size) {
+		if (size < 0)
+			throw new IllegalArgumentException();
+		return StreamSupport.longStream(new LongsSpliterator(rand, 0, size), false);
+	}
+	
+	
+	public static DoubleStream doubles(Random rand, long size) {
+		if (size < 0)
+			throw new IllegalArgumentException();
+		return StreamSupport.doubleStream(new DoublesSpliterator(rand, 0, size), false);
+	}
+	
+	
+	// Returns a generator for a split-off part of a stream, advancing the specified generator.
+	static Random split(Random rand) {
+		if (rand instanceof SplittableRandom)
+			return ((SplittableRandom)rand).split();
+		long s0 = SplitMix64.mix(rand.uniformLong());
+		long s1 = SplitMix64.mix(rand.uniformLong());
+		long s2 = SplitMix64.mix(rand.uniformLong());
+		long s3 = SplitMix64.mix(rand.uniformLong());
+		if ((s0 | s1 | s2 | s3) == 0)
+			s0 = SplitMix64.GOLDEN_GAMMA;
+		return new Xoshiro256PlusPlus(s0, s1, s2, s3);
+	}
+	
+	
+	
+	private static final class IntsSpliterator implements Spliterator.OfInt {
+		
+		private final Random random;
+		private long index;
+		private final long fence;
+		
+		
+		public IntsSpliterator(Random rand, long index, long fence) {
+			random = rand;
+			this.index = index;
+			this.fence = fence;
+		}
+		
+		
+		public IntsSpliterator trySplit() {
+			long lo = index;
+			long mid = (lo + fence) >>> 1;
+			if (mid <= lo)
+				return null;
+			index = mid;
+			return new IntsSpliterator(split(random), lo, mid);
+		}
+		
+		
+		public boolean tryAdvance(IntConsumer action) {
+			if (index >= fence)
+				return false;
+			action.accept(random.uniformInt());
+			index++;
+			return true;
+		}
+		
+		
+		public void forEachRemaining(IntConsumer action) {
+			int[] buffer = new int[(int)Math.min(fence - index, BUFFER_SIZE)];
+			while (index < fence) {
+				int n = (int)Math.min(fence - index, buffer.length);
+				random.uniformInts(buffer, 0, n);
+				index += n;
+				for (int i = 0; i < n; i++)
+					action.accept(buffer[i]);
+			}
+		}
+		
+		
+		public long estimateSize() {
+			return fence - index;
+		}
+		
+		
+		public int characteristics() {
+			return CHARACTERISTICS;
+		}
+		
+	}
+	
+	
+	
+	private static final class LongsSpliterator implements Spliterator.OfLong {
+		
+		private final Random random;
+		private long index;
+		private final long fence;
+		
+		
+		public LongsSpliterator(Random rand, long index, long fence) {
+			random = rand;
+			this.index = index;
+			this.fence = fence;
+		}
+		
+		
+		public LongsSpliterator trySplit() {
+			long lo = index;
+			long mid = (lo + fence) >>> 1;
+			if (mid <= lo)
+				return null;
+			index = mid;
+			return new LongsSpliterator(split(random), lo, mid);
+		}
+		
+		
+		public boolean tryAdvance(LongConsumer action) {
+			if (index >= fence)
+				return false;
+			action.accept(random.uniformLong());
+			index++;
+			return true;
+		}
+		
+		
+		public void forEachRemaining(LongConsumer action) {
+			long[] buffer = new long[(int)Math.min(fence - index, BUFFER_SIZE)];
+			while (index < fence) {
+				int n = (int)Math.min(fence - index, buffer.length);
+				random.uniformLongs(buffer, 0, n);
+				index += n;
+				for (int i = 0; i < n; i++)
+					action.accept(buffer[i]);
+			}
+		}
+		
+		
+		public long estimateSize() {
+			return fence - index;
+		}
+		
+		
+		public int characteristics() {
+			return CHARACTERISTICS;
+		}
+		
+	}
+	
+	
+	
+	private static final class DoublesSpliterator implements Spliterator.OfDouble {
+		
+		private final Random random;
+		private long index;
+		private final long fence;
+		
+		
+		public DoublesSpliterator(Random rand, long index, long fence) {
+			random = rand;
+			this.index = index;
+			this.fence = fence;
+		}
+		
+		
+		public DoublesSpliterator trySplit() {
+			long lo = index;
+			long mid = (lo + fence) >>> 1;
+			if (mid <= lo)
+				return null;
+			index = mid;
+			return new DoublesSpliterator(split(random), lo, mid);
+		}
+		
+		
+		public boolean tryAdvance(DoubleConsumer action) {
+			if (index >= fence)
+				return false;
+			action.accept(random.uniformDouble());
+			index++;
+			return true;
+		}
+		
+		
+		public void forEachRemaining(DoubleConsumer action) {
+			double[] buffer = new double[(int)Math.min(fence - index, BUFFER_SIZE)];
+			while (index < fence) {
+				int n = (int)Math.min(fence - index, buffer.length);
+				random.uniformDoubles(buffer, 0, n);
+				index += n;
+				for (int i = 0; i < n; i++)
+					action.accept(buffer[i]);
+			}
+		}
+		
+		
+		public long estimateSize() {
+			return fence - index;
+		}
+		
+		
+		public int characteristics() {
+			return CHARACTERISTICS;
+		}
+		
+	}
+	
+	
+	
+	/**
+	 * Not instantiable.
+	 */
+	private RandomStreams() {}
+	
+}
@@ -0,0 +1,193 @@
+package p79068.util.random;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collector;
+import p79068.Assert;
+
+
+/**
+ * Maintains a uniform random sample of up to <var>k</var> items from a stream of unknown length, in bounded memory.
+ * <p>This is Li's Algorithm L (1994). After the reservoir fills up, the sampler computes how many items to skip before the next replacement, so that only O(<var>k</var> log(<var>n</var>/<var>k</var>)) items out of <var>n</var> cost any random numbers.</p>
+ * <p>Reservoirs fed from disjoint parts of a stream can be combined with {@link #merge(ReservoirSampler)}, and {@link #collector(int, Random)} wraps this for {@code java.util.stream}.</p>
+ * <p>Mutability: <em>Mutable</em><br>
+ * Thread safety: <em>Unsafe</em></p>
+ * @param <E> the type of items sampled
+ */
+public final class ReservoirSampler<E> implements Consumer<E> {
+	
+	private final Random random;
+	
+	private Object[] reservoir;
+	
+	private int size;  // Number of items in the reservoir, at most reservoir.length
+	
+	private long count;  // Number of items seen
+	
+	private double w;  // The largest of the random keys of the items in the reservoir, in Algorithm L
+	
+	private long nextIndex;  // The 0-based index of the next item to go into a full reservoir
+	
+	
+	
+	/**
+	 * Constructs a sampler with the specified capacity that draws from the specified source of randomness.
+	 * @param k the maximum number of items to keep
+	 * @param rand the source of randomness
+	 * @throws IllegalArgumentException if {@code k} is not positive
+	 */
+	public ReservoirSampler(int k, Random rand) {
+		Assert.assertNotNull(rand);
+		if (k <= 0)
+			throw new IllegalArgumentException();
+		random = rand;
+		reservoir = new Object[k];
+		size = 0;
+		count = 0;
+	}
+	
+	
+	
+	/**
+	 * Returns a collector that returns a uniform random sample of up to {@code k} elements of a stream. For a parallel stream, the generator is shared by all the partial reservoirs and must be thread-safe, such as {@link Random#PER_THREAD}.
+	 * @param <E> the type of elements
+	 * @param k the maximum number of elements to keep
+	 * @param rand the source of randomness
+	 * @return a collector producing a new list of the sampled elements in no particular order
+	 */
+	public static <E> Collector<E,?,List<E>> collector(final int k, final Random rand) {
+		if (k <= 0)
+			throw new IllegalArgumentException();
+		return Collector.of(
+			() -> new ReservoirSampler<E>(k, rand),
+			ReservoirSampler::accept,
+			(x, y) -> { x.merge(y); return x; },
+			ReservoirSampler::getSample,
+			Collector.Characteristics.UNORDERED);
+	}
+	
+	
+	
+	/**
+	 * Offers the specified item to this sampler.
+	 * @param item the next item of the stream, which may be {@code null}
+	 */
+	public void accept(E item) {
+		if (size < reservoir.length) {
+			reservoir[size] = item;
+			size++;
+			count++;
+			if (size == reservoir.length) {
+				w = Math.exp(Math.log(uniformPositive()) / reservoir.length);
+				nextIndex = count + skipLength();
+			}
+		} else {
+			if (count == nextIndex) {
+				reservoir[random.uniformInt(reservoir.length)] = item;
+				w *= Math.exp(Math.log(uniformPositive()) / reservoir.length);
+				nextIndex = count + 1 + skipLength();
+			}
+			count++;
+		}
+	}
+	
+	
+	/**
+	 * Offers all the remaining items of the specified iterator to this sampler.
+	 * @param iter the items to offer
+	 */
+	public void acceptAll(Iterator<? extends E> iter) {
+		while (iter.hasNext()) {
+			if (size == reservoir.length && count < nextIndex) {
+				iter.next();  // Skipped without any further work
+				count++;
+			} else
+				accept(iter.next());
+		}
+	}
+	
+	
+	/**
+	 * Combines the specified sampler's items into this one, so that this sampler holds a uniform sample of both streams together. Both samplers must have the same capacity, and the other sampler must not be used afterward.
+	 * @param other the sampler of a disjoint part of the stream
+	 * @throws IllegalArgumentException if the capacities differ
+	 */
+	public void merge(ReservoirSampler<? extends E> other) {
+		int k = reservoir.length;
+		if (other.reservoir.length != k)
+			throw new IllegalArgumentException("Different capacities");
+		
+		// Draw without replacement from the union, choosing each side in proportion to the number of items it represents
+		Object[] a = Arrays.copyOf(reservoir, size);
+		Object[] b = Arrays.copyOf(other.reservoir, other.size);
+		int na = a.length;
+		int nb = b.length;
+		long ca = count;
+		long cb = other.count;
+		long total = ca + cb;
+		Object[] merged = new Object[k];
+		int newSize = (int)Math.min(k, total);
+		for (int i = 0; i < newSize; i++) {
+			if (random.uniformLong(ca + cb) < ca) {
+				int j = random.uniformInt(na);
+				merged[i] = a[j];
+				na--;
+				a[j] = a[na];
+				ca--;
+			} else {
+				int j = random.uniformInt(nb);
+				merged[i] = b[j];
+				nb--;
+				b[j] = b[nb];
+				cb--;
+			}
+		}
+		reservoir = merged;
+		size = newSize;
+		count = total;
+		if (size == k) {
+			// The largest kept key is the k-th smallest of count uniform keys
+			w = new BetaDistribution(k, count - k + 1).sample(random);
+			nextIndex = count + skipLength();
+		}
+	}
+	
+	
+	/**
+	 * Returns the number of items offered to this sampler so far, including those of merged samplers.
+	 * @return the number of items seen
+	 */
+	public long getCount() {
+		return count;
+	}
+	
+	
+	/**
+	 * Returns a new list of the items currently in the reservoir, in no particular order.
+	 * @return the sampled items
+	 */
+	@SuppressWarnings("unchecked")
+	public List<E> getSample() {
+		List<E> result = new ArrayList<E>(size);
+		for (int i = 0; i < size; i++)
+			result.add((E)reservoir[i]);
+		return result;
+	}
+	
+	
+	// Returns the number of items to skip before the next replacement, which is geometrically distributed with success probability w.
+	private long skipLength() {
+		double skip = Math.floor(Math.log(uniformPositive()) / Math.log1p(-w));
+		return skip < Long.MAX_VALUE / 2 ? (long)skip : Long.MAX_VALUE / 2;
+	}
+	
+	
+	// Returns a uniform value in (0, 1].
+	private double uniformPositive() {
+		return 1 - random.uniformDouble();
+	}
+	
+}
@@ -0,0 +1,155 @@
+package p79068.util.random;
+
+import java.util.function.DoubleConsumer;
+
+
+/**
+ * Accumulates the count, mean, variance, minimum and maximum of a sequence of values in one pass and constant memory.
+ * <p>Values are added by Welford's method (1962), which avoids the cancellation of the naive sum-of-squares formula. Two accumulators over disjoint parts of the data can be combined with {@link #merge(RunningStatistics)} by the formula of Chan, Golub and LeVeque (1979); the result depends on the order of merging only through rounding, so a fixed merge order gives a reproducible result.</p>
+ * <p>Mutability: <em>Mutable</em><br>
+ * Thread safety: <em>Unsafe</em></p>
+ */
+public final class RunningStatistics implements DoubleConsumer {
+	
+	private long count;
+	
+	private double mean;
+	
+	private double sumSqrDev;  // Sum of squared deviations from the mean
+	
+	private double min;
+	
+	private double max;
+	
+	
+	
+	/**
+	 * Constructs an accumulator with no values.
+	 */
+	public RunningStatistics() {
+		count = 0;
+		mean = 0;
+		sumSqrDev = 0;
+		min = Double.POSITIVE_INFINITY;
+		max = Double.NEGATIVE_INFINITY;
+	}
+	
+	
+	
+	/**
+	 * Adds the specified value.
+	 * @param x the value to add
+	 */
+	public void accept(double x) {
+		count++;
+		double delta = x - mean;
+		mean += delta / count;
+		sumSqrDev += delta * (x - mean);
+		min = Math.min(x, min);
+		max = Math.max(x, max);
+	}
+	
+	
+	/**
+	 * Adds all the values of the specified accumulator to this one. The other accumulator is unchanged.
+	 * @param other the accumulator to merge in
+	 * @return this accumulator
+	 */
+	public RunningStatistics merge(RunningStatistics other) {
+		if (other.count == 0)
+			return this;
+		if (count == 0) {
+			count = other.count;
+			mean = other.mean;
+			sumSqrDev = other.sumSqrDev;
+		} else {
+			long n = count + other.count;
+			double delta = other.mean - mean;
+			mean += delta * ((double)other.count / n);
+			sumSqrDev += other.sumSqrDev + delta * delta * ((double)count * other.count / n);
+			count = n;
+		}
+		min = Math.min(other.min, min);
+		max = Math.max(other.max, max);
+		return this;
+	}
+	
+	
+	/**
+	 * Returns the number of values added.
+	 * @return the number of values
+	 */
+	public long getCount() {
+		return count;
+	}
+	
+	
+	/**
+	 * Returns the arithmetic mean of the values, or NaN if there are none.
+	 * @return the mean
+	 */
+	public double getMean() {
+		return count > 0 ? mean : Double.NaN;
+	}
+	
+	
+	/**
+	 * Returns the sum of the values, computed as the mean times the count.
+	 * @return the sum
+	 */
+	public double getSum() {
+		return mean * count;
+	}
+	
+	
+	/**
+	 * Returns the unbiased sample variance of the values (dividing by <var>n</var> &minus; 1), or NaN if there are fewer than 2 values.
+	 * @return the sample variance
+	 */
+	public double getVariance() {
+		return count > 1 ? sumSqrDev / (count - 1) : Double.NaN;
+	}
+	
+	
+	/**
+	 * Returns the sample standard deviation of the values, or NaN if there are fewer than 2 values.
+	 * @return the square root of the sample variance
+	 */
+	public double getStandardDeviation() {
+		return Math.sqrt(getVariance());
+	}
+	
+	
+	/**
+	 * Returns the estimated standard error of the mean, which is the sample standard deviation divided by the square root of the count. For a Monte Carlo estimate, this is the typical distance from the true value.
+	 * @return the standard error of the mean, or NaN if there are fewer than 2 values
+	 */
+	public double getStandardError() {
+		return Math.sqrt(getVariance() / count);
+	}
+	
+	
+	/**
+	 * Returns the smallest value, or positive infinity if there are none.
+	 * @return the minimum
+	 */
+	public double getMin() {
+		return min;
+	}
+	
+	
+	/**
+	 * Returns the largest value, or negative infinity if there are none.
+	 * @return the maximum
+	 */
+	public double getMax() {
+		return max;
+	}
+	
+	
+	@Override
+	public String toString() {
+		return String.format("RunningStatistics(count=%d, mean=%s, stdev=%s, min=%s, max=%s)", count, getMean(), getStandardDeviation(), min, max);
+	}
+	
+}
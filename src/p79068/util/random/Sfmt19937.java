@@ -0,0 +1,207 @@
+package p79068.util.random;
+
+import p79068.Assert;
+
+
+/**
+ * The SIMD-oriented Fast Mersenne Twister (SFMT19937) pseudorandom number generator by Mutsuo Saito and Makoto Matsumoto.
+ * Translated from the reference C code (version 1.5) at http://www.math.sci.hiroshima-u.ac.jp/~m-mat/MT/SFMT/ . The numerical output is identical.
+ * <p>Like {@link MersenneTwister}, the period is 2<sup>19937</sup> &minus; 1 and the state is 624 words of 32 bits, but the recursion works on 128-bit words, of which the whole block of 156 is regenerated at once. Here each 128-bit word is held as two {@code long}s and shifted without crossing 32-bit lanes, so the refill loop does a quarter as many iterations as the Mersenne Twister's. The bulk methods copy straight out of the block.</p>
+ * <p>{@link #uniformLong()} returns two consecutive 32-bit outputs with the first one in the low half, which matches the reference 64-bit output when called from an even position.</p>
+ * <p>Mutability: <em>Mutable</em><br>
+ * Thread safety: <em>Unsafe</em></p>
+ */
+public final class Sfmt19937 extends AbstractRandom implements Cloneable {
+	
+	private static final int N = 156;  // Number of 128-bit words
+	private static final int N32 = N * 4;
+	
+	private static final int POS1 = 122;
+	private static final int SL1 = 18;
+	private static final int SL2 = 1;  // In bytes
+	private static final int SR1 = 11;
+	private static final int SR2 = 1;  // In bytes
+	
+	// MSK1 to MSK4 paired into 64-bit words, restricted to the bits that survive the right shift by SR1 in each 32-bit lane
+	private static final long MASK_LO = (0xDDFECB7FL << 32 | 0xDFFFFFEFL) & (0xFFFFFFFFL >>> SR1) * 0x100000001L;
+	private static final long MASK_HI = (0xBFFFFFF6L << 32 | 0xBFFAFFFFL) & (0xFFFFFFFFL >>> SR1) * 0x100000001L;
+	
+	// Clears the bits that a 64-bit left shift by SL1 carries from the low 32-bit lane into the high one
+	private static final long SL1_MASK = (0xFFFFFFFFL << SL1 & 0xFFFFFFFFL) * 0x100000001L;
+	
+	private static final int[] PARITY = {0x00000001, 0x00000000, 0x00000000, 0x13C9E684};
+	
+	
+	
+	// Word k holds 32-bit outputs 2k (low half) and 2k+1 (high half); words 2i and 2i+1 form the 128-bit word i
+	private long[] state;
+	
+	private int index;  // The next 32-bit output, in the range [0, N32]
+	
+	
+	
+	/**
+	 * Constructs a generator with an arbitrary seed.
+	 */
+	public Sfmt19937() {
+		this((int)System.nanoTime() ^ (int)System.currentTimeMillis());
+	}
+	
+	
+	/**
+	 * Constructs a generator with the specified seed, like {@code sfmt_init_gen_rand()}.
+	 */
+	public Sfmt19937(int seed) {
+		state = new long[N * 2];
+		int x = seed;
+		for (int i = 0; i < N32; i++) {
+			setInt32(i, x);
+			x = 1812433253 * (x ^ (x >>> 30)) + i + 1;
+		}
+		certifyPeriod();
+		index = N32;
+	}
+	
+	
+	
+	@Override
+	public int uniformInt() {
+		if (index == N32)
+			nextState();
+		int result = getInt32(index);
+		index++;
+		return result;
+	}
+	
+	
+	@Override
+	public long uniformLong() {
+		if (index <= N32 - 2 && (index & 1) == 0) {  // Aligned
+			long result = state[index >>> 1];
+			index += 2;
+			return result;
+		}
+		return (uniformInt() & 0xFFFFFFFFL) | (long)uniformInt() << 32;
+	}
+	
+	
+	@Override
+	public void uniformInts(int[] b, int off, int len) {
+		Assert.assertRangeInBounds(b.length, off, len);
+		for (int end = off + len; off < end; ) {
+			if (index == N32)
+				nextState();
+			int n = Math.min(end - off, N32 - index);
+			for (int i = index, j = off, stop = off + n; j < stop; i++, j++)
+				b[j] = getInt32(i);
+			index += n;
+			off += n;
+		}
+	}
+	
+	
+	@Override
+	public void uniformLongs(long[] b, int off, int len) {
+		Assert.assertRangeInBounds(b.length, off, len);
+		for (int end = off + len; off < end; ) {
+			if ((index & 1) != 0 || index == N32) {  // Unaligned or exhausted
+				b[off] = uniformLong();
+				off++;
+				continue;
+			}
+			int n = Math.min(end - off, (N32 - index) >>> 1);
+			System.arraycopy(state, index >>> 1, b, off, n);
+			index += n * 2;
+			off += n;
+		}
+	}
+	
+	
+	@Override
+	public void uniformDoubles(double[] b, int off, int len) {
+		Assert.assertRangeInBounds(b.length, off, len);
+		for (int end = off + len; off < end; ) {
+			if ((index & 1) != 0 || index == N32) {
+				b[off] = uniformDouble();
+				off++;
+				continue;
+			}
+			int n = Math.min(end - off, (N32 - index) >>> 1);
+			// Same bits as uniformDouble(), which takes the low 53 bits of uniformLong()
+			for (int i = index >>> 1, j = off, stop = off + n; j < stop; i++, j++)
+				b[j] = (state[i] & 0x1FFFFFFFFFFFFFL) * DOUBLE_SCALER;
+			index += n * 2;
+			off += n;
+		}
+	}
+	
+	
+	@Override
+	public Sfmt19937 clone() {
+		try {
+			Sfmt19937 result = (Sfmt19937)super.clone();
+			result.state = result.state.clone();
+			return result;
+		} catch (CloneNotSupportedException e) {
+			throw new AssertionError(e);
+		}
+	}
+	
+	
+	// Regenerates all 156 words of 128 bits, like sfmt_gen_rand_all().
+	private void nextState() {
+		long[] s = state;
+		// r1 and r2 are the two most recently generated 128-bit words
+		long r1lo = s[(N - 2) * 2], r1hi = s[(N - 2) * 2 + 1];
+		long r2lo = s[(N - 1) * 2], r2hi = s[(N - 1) * 2 + 1];
+		for (int i = 0; i < N; i++) {
+			int j = i + POS1 < N ? i + POS1 : i + POS1 - N;
+			long alo = s[i * 2], ahi = s[i * 2 + 1];
+			long blo = s[j * 2], bhi = s[j * 2 + 1];
+			// 128-bit shifts by whole bytes, and 32-bit lane-wise shifts done on 64 bits then masked
+			long lo = alo ^ (alo << (SL2 * 8))
+				^ ((blo >>> SR1) & MASK_LO)
+				^ ((r1lo >>> (SR2 * 8)) | (r1hi << (64 - SR2 * 8)))
+				^ ((r2lo << SL1) & SL1_MASK);
+			long hi = ahi ^ ((ahi << (SL2 * 8)) | (alo >>> (64 - SL2 * 8)))
+				^ ((bhi >>> SR1) & MASK_HI)
+				^ (r1hi >>> (SR2 * 8))
+				^ ((r2hi << SL1) & SL1_MASK);
+			s[i * 2] = lo;
+			s[i * 2 + 1] = hi;
+			r1lo = r2lo;
+			r1hi = r2hi;
+			r2lo = lo;
+			r2hi = hi;
+		}
+		index = 0;
+	}
+	
+	
+	// Ensures the period is 2^19937 - 1 by forcing the parity check, like period_certification().
+	private void certifyPeriod() {
+		int inner = 0;
+		for (int i = 0; i < 4; i++)
+			inner ^= getInt32(i) & PARITY[i];
+		if (Integer.bitCount(inner) % 2 == 1)
+			return;
+		for (int i = 0; i < 4; i++) {
+			if (PARITY[i] != 0) {
+				setInt32(i, getInt32(i) ^ Integer.lowestOneBit(PARITY[i]));
+				return;
+			}
+		}
+	}
+	
+	
+	private int getInt32(int i) {
+		return (int)(state[i >>> 1] >>> ((i & 1) * 32));
+	}
+	
+	
+	private void setInt32(int i, int val) {
+		int shift = (i & 1) * 32;
+		state[i >>> 1] = state[i >>> 1] & ~(0xFFFFFFFFL << shift) | (val & 0xFFFFFFFFL) << shift;
+	}
+	
+}
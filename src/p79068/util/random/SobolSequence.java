@@ -0,0 +1,246 @@
+package p79068.util.random;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import p79068.Assert;
+
+
+/**
+ * The Sobol' low-discrepancy sequence in base 2, with the direction numbers of Joe and Kuo (2008), optionally scrambled.
+ * <p>Each coordinate is a 32-bit binary fraction, and the sequence has 2<sup>32</sup> points. Points are in Gray code order (as in most implementations), so that consecutive points differ by one direction number and {@link #points(long, int, double[])} costs one XOR per coordinate. Each coordinate of the first 2<sup><var>m</var></sup> points puts exactly one point in each interval [<var>k</var>/2<sup><var>m</var></sup>, (<var>k</var>+1)/2<sup><var>m</var></sup>), and so does every aligned block of 2<sup><var>m</var></sup> points.</p>
+ * <p>The direction numbers come from the bundled resource {@code SobolDirections.txt}, a prefix of Joe and Kuo's file new-joe-kuo-6.21201, which is read on first use. The supported dimensions are exactly those that the resource covers.</p>
+ * <p>The scrambled sequence applies a random linear matrix scramble (a random lower-triangular binary matrix per coordinate) and then a random digital shift (Matou&scaron;ek, 1998). This keeps the stratification above and makes each point uniformly distributed on the unit cube.</p>
+ * <p>Mutability: <em>Immutable</em><br>
+ * Thread safety: <em>Safe</em></p>
+ */
+public final class SobolSequence implements QuasiRandomSequence {
+	
+	/**
+	 * The largest supported dimension.
+	 */
+	public static final int MAX_DIMENSION = 21;  // One more than the rows of SobolDirections.txt
+	
+	private static final long LENGTH = 1L << 32;
+	
+	private static final double SCALER = 1.0 / (1L << 32);
+	
+	
+	
+	private final int dimension;
+	
+	private final int[][] directions;  // directions[j][k] is direction number k of coordinate j, with the most significant bit first
+	
+	private final int[] shift;  // XORed into every point
+	
+	
+	
+	/**
+	 * Constructs an unscrambled Sobol' sequence of the specified dimension. Its first point is at the origin.
+	 * @param dimension the number of coordinates
+	 * @throws IllegalArgumentException if the dimension is not in the range [1, {@link #MAX_DIMENSION}]
+	 */
+	public SobolSequence(int dimension) {
+		if (dimension < 1 || dimension > MAX_DIMENSION)
+			throw new IllegalArgumentException("Unsupported dimension");
+		this.dimension = dimension;
+		directions = new int[dimension][32];
+		for (int k = 0; k < 32; k++)
+			directions[0][k] = 1 << (31 - k);  // The van der Corput sequence
+		for (int j = 1; j < dimension; j++) {
+			int[] data = DirectionData.ROWS[j - 1];
+			int s = data[0];
+			int a = data[1];
+			int[] v = directions[j];
+			for (int k = 0; k < s && k < 32; k++)
+				v[k] = data[2 + k] << (31 - k);
+			for (int k = s; k < 32; k++) {
+				int x = v[k - s] ^ (v[k - s] >>> s);
+				for (int l = 1; l < s; l++) {
+					if (((a >>> (s - 1 - l)) & 1) != 0)
+						x ^= v[k - l];
+				}
+				v[k] = x;
+			}
+		}
+		shift = new int[dimension];
+	}
+	
+	
+	/**
+	 * Constructs a scrambled Sobol' sequence of the specified dimension, with the random linear scramble and digital shift drawn from the specified generator.
+	 * @param dimension the number of coordinates
+	 * @param rand the source of randomness for the scrambling
+	 * @throws IllegalArgumentException if the dimension is not in the range [1, {@link #MAX_DIMENSION}]
+	 */
+	public SobolSequence(int dimension, Random rand) {
+		this(dimension);
+		Assert.assertNotNull(rand);
+		for (int j = 0; j < dimension; j++) {
+			// Row b of the lower-triangular matrix maps input bits b and above (the more significant digits) to output bit b
+			int[] rows = new int[32];
+			for (int b = 0; b < 32; b++)
+				rows[b] = 1 << b | (b == 31 ? 0 : rand.uniformInt() & (-1 << (b + 1)));
+			int[] v = directions[j];
+			for (int k = 0; k < 32; k++) {
+				int x = 0;
+				for (int b = 0; b < 32; b++)
+					x |= (Integer.bitCount(v[k] & rows[b]) & 1) << b;
+				v[k] = x;
+			}
+			shift[j] = rand.uniformInt();
+		}
+	}
+	
+	
+	
+	public int dimension() {
+		return dimension;
+	}
+	
+	
+	/**
+	 * Stores the coordinates of the point at the specified index, which must be in the range [0, 2<sup>32</sup>).
+	 */
+	public void point(long index, double[] out) {
+		if (index < 0 || index >= LENGTH)
+			throw new IllegalArgumentException("Index out of range");
+		if (out.length < dimension)
+			throw new IndexOutOfBoundsException();
+		long gray = index ^ (index >>> 1);
+		for (int j = 0; j < dimension; j++)
+			out[j] = (coordinate(j, gray) & 0xFFFFFFFFL) * SCALER;
+	}
+	
+	
+	/**
+	 * Stores the coordinates of consecutive points in dimension-major order. The range of indexes must be within [0, 2<sup>32</sup>).
+	 */
+	public void points(long start, int count, double[] out) {
+		if (start < 0 || count < 0 || start + count > LENGTH)
+			throw new IllegalArgumentException("Index out of range");
+		if (out.length < (long)dimension * count)
+			throw new IndexOutOfBoundsException();
+		if (count == 0)
+			return;
+		long gray = start ^ (start >>> 1);
+		for (int j = 0; j < dimension; j++) {
+			int[] v = directions[j];
+			int x = coordinate(j, gray);
+			int off = j * count;
+			out[off] = (x & 0xFFFFFFFFL) * SCALER;
+			for (int i = 1; i < count; i++) {
+				// Consecutive Gray codes differ in the bit given by the trailing zeros of the new index
+				x ^= v[Long.numberOfTrailingZeros(start + i)];
+				out[off + i] = (x & 0xFFFFFFFFL) * SCALER;
+			}
+		}
+	}
+	
+	
+	// Returns coordinate j of the point whose Gray code is the specified value, as a 32-bit fraction.
+	private int coordinate(int j, long gray) {
+		int[] v = directions[j];
+		int x = shift[j];
+		for (int k = 0; gray != 0; k++, gray >>>= 1) {
+			if ((gray & 1) != 0)
+				x ^= v[k];
+		}
+		return x;
+	}
+	
+	
+	// Returns the first count primitive polynomials over GF(2) as pairs {s, a}, in the order of Joe and Kuo's table: by degree s, then by
+	// the inner coefficients a. Bit i of a is the coefficient of x^(i+1), so the polynomial is x^s + ... + 1 = (1 << s | a << 1 | 1).
+	static int[][] primitivePolynomials(int count) {
+		int[][] result = new int[count][];
+		int n = 0;
+		for (int s = 1; n < count; s++) {
+			for (int a = 0; a < 1 << (s - 1) && n < count; a++) {
+				if (isPrimitive(1 << s | a << 1 | 1, s)) {
+					result[n] = new int[]{s, a};
+					n++;
+				}
+			}
+		}
+		return result;
+	}
+	
+	
+	// Tests whether x has multiplicative order 2^s - 1 modulo the specified polynomial of degree s, which holds exactly when the polynomial is primitive.
+	private static boolean isPrimitive(int poly, int s) {
+		int period = (1 << s) - 1;
+		int x = 1;
+		for (int i = 1; i <= period; i++) {
+			x <<= 1;
+			if ((x >>> s) != 0)
+				x ^= poly;
+			if (x == 1)
+				return i == period;
+		}
+		return false;
+	}
+	
+	
+	
+	// Read on first use, because most programs never need it
+	private static final class DirectionData {
+		
+		// ROWS[j - 1] is {s, a, m_1, ..., m_s} for coordinate j
+		public static final int[][] ROWS;
+		
+		static {
+			List<int[]> table = readTable();
+			if (table.size() != MAX_DIMENSION - 1)
+				throw new IllegalStateException("Too few direction numbers");
+			int[][] polys = primitivePolynomials(MAX_DIMENSION - 1);
+			ROWS = new int[MAX_DIMENSION - 1][];
+			for (int j = 0; j < ROWS.length; j++) {
+				int[] row = table.get(j);
+				if (row[0] != polys[j][0] || row[1] != polys[j][1])
+					throw new IllegalStateException("Unexpected polynomial in direction numbers");
+				ROWS[j] = row;
+			}
+		}
+		
+		
+		// Parses the rows of the resource in new-joe-kuo format, skipping the column header and comment lines.
+		private static List<int[]> readTable() {
+			InputStream in = SobolSequence.class.getResourceAsStream("SobolDirections.txt");
+			if (in == null)
+				throw new IllegalStateException("Missing resource SobolDirections.txt");
+			List<int[]> result = new ArrayList<int[]>();
+			try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.US_ASCII))) {
+				while (result.size() < MAX_DIMENSION - 1) {
+					String line = reader.readLine();
+					if (line == null)
+						break;
+					line = line.trim();
+					if (line.isEmpty() || line.startsWith("#") || line.startsWith("d"))
+						continue;
+					String[] tokens = line.split("\\s+");
+					int s = Integer.parseInt(tokens[1]);
+					if (Integer.parseInt(tokens[0]) != result.size() + 2 || tokens.length != 3 + s)
+						throw new IllegalStateException("Malformed direction numbers");
+					int[] row = new int[2 + s];
+					for (int i = 0; i < row.length; i++)
+						row[i] = Integer.parseInt(tokens[1 + i]);
+					for (int k = 1; k <= s; k++) {
+						if ((row[1 + k] & 1) == 0 || row[1 + k] >>> k != 0)
+							throw new IllegalStateException("Malformed direction numbers");
+					}
+					result.add(row);
+				}
+			} catch (IOException e) {
+				throw new IllegalStateException(e);
+			}
+			return result;
+		}
+		
+	}
+	
+}
@@ -0,0 +1,39 @@
+package p79068.util.random;
+
+
+/**
+ * Static helpers for the SplitMix64 generator by Guy Steele, Doug Lea and Christine Flood, which this package uses to expand small seeds into full generator states.
+ * <p>Instantiability: <em>Not applicable</em></p>
+ */
+final class SplitMix64 {
+	
+	/** The increment between consecutive SplitMix64 states, which is 2<sup>64</sup> divided by the golden ratio, made odd. */
+	public static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+	
+	
+	
+	/**
+	 * Returns the SplitMix64 output for the specified internal state. This is a bijective 64-bit mixing function with good avalanche behavior.
+	 */
+	public static long mix(long z) {
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+	
+	
+	/**
+	 * Returns output number {@code index} (starting from 0) of the SplitMix64 generator seeded with the specified value.
+	 */
+	public static long valueAt(long seed, long index) {
+		return mix(seed + (index + 1) * GOLDEN_GAMMA);
+	}
+	
+	
+	
+	/**
+	 * Not instantiable.
+	 */
+	private SplitMix64() {}
+	
+}
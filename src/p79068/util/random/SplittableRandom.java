@@ -0,0 +1,16 @@
+package p79068.util.random;
+
+
+/**
+ * A random number generator that can create new generators whose outputs are statistically independent of its own. This lets parallel computations, including parallel streams, give each task its own generator without sharing or locking.
+ */
+public interface SplittableRandom extends Random {
+	
+	/**
+	 * Returns a new generator of the same kind, whose output is statistically independent of this generator's subsequent output. This generator's state is advanced, so splitting the same generator again yields a different generator. The new generator can be split in turn, to any depth.
+	 * <p>Unlike jumping ahead by a fixed distance, which hands out a fixed supply of non-overlapping substreams, splitting seeds the new generator from this generator's output (and, where the algorithm has one, a new stream selector). It can therefore be applied recursively by any number of tasks, as by parallel streams, and the chance that the resulting sequences overlap is negligible given the size of the state.</p>
+	 * @return a new generator
+	 */
+	public SplittableRandom split();
+	
+}
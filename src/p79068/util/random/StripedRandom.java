@@ -0,0 +1,288 @@
+package p79068.util.random;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+
+/**
+ * A thread-safe random number generator backed by a pool of independently seeded generators, each guarded by its own non-blocking lock.
+ * <p>Each call picks a starting stripe from a hash of the calling thread, and takes the first free stripe from there using a compare-and-set. Threads that collide on a stripe move on to another one instead of waiting, so throughput grows with the number of stripes. Unlike {@link PerThreadRandom}, an instance holds a fixed amount of state no matter how many threads use it.</p>
+ * <p>The numbers returned to any one thread depend on scheduling, so this class is not suitable when reproducibility is needed.</p>
+ * <p>Mutability: <em>Mutable</em><br>
+ * Thread safety: <em>Safe</em></p>
+ */
+public final class StripedRandom implements Random {
+	
+	// Lock words are spaced this many ints apart so that each sits on its own cache line
+	private static final int PADDING = 16;
+	
+	
+	
+	private final Random[] cores;
+	
+	/** Element i * PADDING is 1 if stripe i is held, otherwise 0. */
+	private final AtomicIntegerArray locks;
+	
+	
+	
+	/**
+	 * Constructs a striped generator with two stripes per available processor, each seeded from {@link Random#DEFAULT}.
+	 */
+	public StripedRandom() {
+		this(Runtime.getRuntime().availableProcessors() * 2);
+	}
+	
+	
+	/**
+	 * Constructs a striped generator with the specified number of stripes, each a {@link MersenneTwister} seeded from {@link Random#DEFAULT}.
+	 * @param stripes the number of stripes
+	 * @throws IllegalArgumentException if {@code stripes} &le; 0
+	 */
+	public StripedRandom(int stripes) {
+		this(newCores(stripes));
+	}
+	
+	
+	/**
+	 * Constructs a striped generator over the specified generators. The generators must not be used by anyone else afterward.
+	 * @param cores the generators to use as stripes
+	 * @throws IllegalArgumentException if {@code cores} is empty
+	 */
+	public StripedRandom(Random[] cores) {
+		if (cores.length == 0)
+			throw new IllegalArgumentException("No stripes");
+		for (Random r : cores) {
+			if (r == null)
+				throw new NullPointerException();
+		}
+		this.cores = cores.clone();
+		locks = new AtomicIntegerArray(cores.length * PADDING);
+	}
+	
+	
+	
+	public int uniformInt() {
+		int s = acquire();
+		try {
+			return cores[s].uniformInt();
+		} finally {
+			release(s);
+		}
+	}
+	
+	
+	public int uniformInt(int n) {
+		int s = acquire();
+		try {
+			return cores[s].uniformInt(n);
+		} finally {
+			release(s);
+		}
+	}
+	
+	
+	public int uniformInt(int lo, int hi) {
+		int s = acquire();
+		try {
+			return cores[s].uniformInt(lo, hi);
+		} finally {
+			release(s);
+		}
+	}
+	
+	
+	public long uniformLong() {
+		int s = acquire();
+		try {
+			return cores[s].uniformLong();
+		} finally {
+			release(s);
+		}
+	}
+	
+	
+	public long uniformLong(long n) {
+		int s = acquire();
+		try {
+			return cores[s].uniformLong(n);
+		} finally {
+			release(s);
+		}
+	}
+	
+	
+	public long uniformLong(long lo, long hi) {
+		int s = acquire();
+		try {
+			return cores[s].uniformLong(lo, hi);
+		} finally {
+			release(s);
+		}
+	}
+	
+	
+	public double uniformDouble() {
+		int s = acquire();
+		try {
+			return cores[s].uniformDouble();
+		} finally {
+			release(s);
+		}
+	}
+	
+	
+	public void uniformBytes(byte[] b) {
+		int s = acquire();
+		try {
+			cores[s].uniformBytes(b);
+		} finally {
+			release(s);
+		}
+	}
+	
+	
+	public void uniformBytes(byte[] b, int off, int len) {
+		int s = acquire();
+		try {
+			cores[s].uniformBytes(b, off, len);
+		} finally {
+			release(s);
+		}
+	}
+	
+	
+	public void uniformInts(int[] b) {
+		int s = acquire();
+		try {
+			cores[s].uniformInts(b);
+		} finally {
+			release(s);
+		}
+	}
+	
+	
+	public void uniformInts(int[] b, int off, int len) {
+		int s = acquire();
+		try {
+			cores[s].uniformInts(b, off, len);
+		} finally {
+			release(s);
+		}
+	}
+	
+	
+	public void uniformLongs(long[] b) {
+		int s = acquire();
+		try {
+			cores[s].uniformLongs(b);
+		} finally {
+			release(s);
+		}
+	}
+	
+	
+	public void uniformLongs(long[] b, int off, int len) {
+		int s = acquire();
+		try {
+			cores[s].uniformLongs(b, off, len);
+		} finally {
+			release(s);
+		}
+	}
+	
+	
+	public void uniformDoubles(double[] b) {
+		int s = acquire();
+		try {
+			cores[s].uniformDoubles(b);
+		} finally {
+			release(s);
+		}
+	}
+	
+	
+	public void uniformDoubles(double[] b, int off, int len) {
+		int s = acquire();
+		try {
+			cores[s].uniformDoubles(b, off, len);
+		} finally {
+			release(s);
+		}
+	}
+	
+	
+	public IntStream ints() {
+		return RandomStreams.ints(this, Long.MAX_VALUE);  // Over this object, so that the values drawn directly and the seeds of split-off parts are taken from a held stripe
+	}
+	
+	
+	public IntStream ints(long size) {
+		return RandomStreams.ints(this, size);
+	}
+	
+	
+	public LongStream longs() {
+		return RandomStreams.longs(this, Long.MAX_VALUE);
+	}
+	
+	
+	public LongStream longs(long size) {
+		return RandomStreams.longs(this, size);
+	}
+	
+	
+	public DoubleStream doubles() {
+		return RandomStreams.doubles(this, Long.MAX_VALUE);
+	}
+	
+	
+	public DoubleStream doubles(long size) {
+		return RandomStreams.doubles(this, size);
+	}
+	
+	
+	// Returns the index of a stripe that is now held by the current thread.
+	private int acquire() {
+		int n = cores.length;
+		int start = probe(n);
+		while (true) {
+			for (int i = 0, s = start; i < n; i++) {
+				int j = s * PADDING;
+				if (locks.get(j) == 0 && locks.compareAndSet(j, 0, 1))
+					return s;
+				s++;
+				if (s == n)
+					s = 0;
+			}
+			Thread.yield();  // Every stripe is busy
+		}
+	}
+	
+	
+	private void release(int stripe) {
+		locks.set(stripe * PADDING, 0);
+	}
+	
+	
+	// Spreads thread IDs so that consecutively created threads start on different stripes.
+	private static int probe(int n) {
+		long h = Thread.currentThread().getId() * 0x9E3779B97F4A7C15L;
+		return (int)((h >>> 32) * n >>> 32);
+	}
+	
+	
+	private static Random[] newCores(int stripes) {
+		if (stripes <= 0)
+			throw new IllegalArgumentException("Non-positive stripe count");
+		Random[] result = new Random[stripes];
+		int[] seed = new int[4];
+		for (int i = 0; i < stripes; i++) {
+			Random.DEFAULT.uniformInts(seed);
+			result[i] = new MersenneTwister(seed);
+		}
+		return result;
+	}
+	
+}
@@ -1,5 +1,9 @@
 package p79068.util.random;
 
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
 
 /**
  * Wraps a {@link Random} with a monitor.
@@ -35,6 +39,13 @@ public final class SynchronizedRandom implements Random {
 	}
 	
 	
+	public int uniformInt(int lo, int hi) {
+		synchronized (lock) {
+			return random.uniformInt(lo, hi);
+		}
+	}
+	
+	
 	public long uniformLong() {
 		synchronized (lock) {
 			return random.uniformLong();
@@ -42,6 +53,20 @@ public final class SynchronizedRandom implements Random {
 	}
 	
 	
+	public long uniformLong(long n) {
+		synchronized (lock) {
+			return random.uniformLong(n);
+		}
+	}
+	
+	
+	public long uniformLong(long lo, long hi) {
+		synchronized (lock) {
+			return random.uniformLong(lo, hi);
+		}
+	}
+	
+	
 	public double uniformDouble() {
 		synchronized (lock) {
 			return random.uniformDouble();
@@ -62,4 +87,76 @@ public final class SynchronizedRandom implements Random {
 		}
 	}
 	
+	
+	public void uniformInts(int[] b) {
+		synchronized (lock) {
+			random.uniformInts(b);
+		}
+	}
+	
+	
+	public void uniformInts(int[] b, int off, int len) {
+		synchronized (lock) {
+			random.uniformInts(b, off, len);
+		}
+	}
+	
+	
+	public void uniformLongs(long[] b) {
+		synchronized (lock) {
+			random.uniformLongs(b);
+		}
+	}
+	
+	
+	public void uniformLongs(long[] b, int off, int len) {
+		synchronized (lock) {
+			random.uniformLongs(b, off, len);
+		}
+	}
+	
+	
+	public void uniformDoubles(double[] b) {
+		synchronized (lock) {
+			random.uniformDoubles(b);
+		}
+	}
+	
+	
+	public void uniformDoubles(double[] b, int off, int len) {
+		synchronized (lock) {
+			random.uniformDoubles(b, off, len);
+		}
+	}
+	
+	
+	public IntStream ints() {
+		return RandomStreams.ints(this, Long.MAX_VALUE);  // Over this object, so that the values drawn directly and the seeds of split-off parts are taken while holding the lock
+	}
+	
+	
+	public IntStream ints(long size) {
+		return RandomStreams.ints(this, size);
+	}
+	
+	
+	public LongStream longs() {
+		return RandomStreams.longs(this, Long.MAX_VALUE);
+	}
+	
+	
+	public LongStream longs(long size) {
+		return RandomStreams.longs(this, size);
+	}
+	
+	
+	public DoubleStream doubles() {
+		return RandomStreams.doubles(this, Long.MAX_VALUE);
+	}
+	
+	
+	public DoubleStream doubles(long size) {
+		return RandomStreams.doubles(this, size);
+	}
+	
 }
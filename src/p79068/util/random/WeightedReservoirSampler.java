@@ -0,0 +1,182 @@
+package p79068.util.random;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collector;
+import p79068.Assert;
+
+
+/**
+ * Maintains a weighted random sample without replacement of up to <var>k</var> items from a stream of unknown length, in bounded memory.
+ * <p>This is Algorithm A-ExpJ of Efraimidis and Spirakis (2006). Each item conceptually gets the key <var>u</var><sup>1/<var>w</var></sup> for a uniform <var>u</var> and its weight <var>w</var>, and the items with the <var>k</var> largest keys are kept. Instead of drawing a key for every item, the sampler draws the total weight to skip before the next item enters the reservoir, so most items cost no random numbers. Keys are stored as logarithms so that large weights do not lose precision.</p>
+ * <p>Reservoirs fed from disjoint parts of a stream can be combined with {@link #merge(WeightedReservoirSampler)}, and {@link #collector(int, ToDoubleFunction, Random)} wraps this for {@code java.util.stream}.</p>
+ * <p>Mutability: <em>Mutable</em><br>
+ * Thread safety: <em>Unsafe</em></p>
+ * @param <E> the type of items sampled
+ */
+public final class WeightedReservoirSampler<E> {
+	
+	private final int capacity;
+	
+	private final Random random;
+	
+	private final PriorityQueue<Entry<E>> reservoir;  // Ordered by key, smallest first
+	
+	private long count;  // Number of items seen
+	
+	private double weightToSkip;  // Remaining weight before the next item enters a full reservoir
+	
+	
+	
+	/**
+	 * Constructs a weighted sampler with the specified capacity that draws from the specified source of randomness.
+	 * @param k the maximum number of items to keep
+	 * @param rand the source of randomness
+	 * @throws IllegalArgumentException if {@code k} is not positive
+	 */
+	public WeightedReservoirSampler(int k, Random rand) {
+		Assert.assertNotNull(rand);
+		if (k <= 0)
+			throw new IllegalArgumentException();
+		capacity = k;
+		random = rand;
+		reservoir = new PriorityQueue<Entry<E>>(k);
+		count = 0;
+	}
+	
+	
+	
+	/**
+	 * Returns a collector that returns a weighted random sample without replacement of up to {@code k} elements of a stream. For a parallel stream, the generator is shared by all the partial reservoirs and must be thread-safe, such as {@link Random#PER_THREAD}.
+	 * @param <E> the type of elements
+	 * @param k the maximum number of elements to keep
+	 * @param weigher the function giving the non-negative weight of each element
+	 * @param rand the source of randomness
+	 * @return a collector producing a new list of the sampled elements in no particular order
+	 */
+	public static <E> Collector<E,?,List<E>> collector(final int k, final ToDoubleFunction<? super E> weigher, final Random rand) {
+		Assert.assertNotNull(weigher);
+		if (k <= 0)
+			throw new IllegalArgumentException();
+		return Collector.of(
+			() -> new WeightedReservoirSampler<E>(k, rand),
+			(s, item) -> s.accept(item, weigher.applyAsDouble(item)),
+			(x, y) -> { x.merge(y); return x; },
+			WeightedReservoirSampler::getSample,
+			Collector.Characteristics.UNORDERED);
+	}
+	
+	
+	
+	/**
+	 * Offers the specified item with the specified weight to this sampler. An item of weight zero is never selected.
+	 * @param item the next item of the stream, which may be {@code null}
+	 * @param weight the weight of the item
+	 * @throws IllegalArgumentException if the weight is negative, infinite, or NaN
+	 */
+	public void accept(E item, double weight) {
+		if (!(weight >= 0 && weight < Double.POSITIVE_INFINITY))
+			throw new IllegalArgumentException("Invalid weight");
+		count++;
+		if (weight == 0)
+			return;
+		
+		if (reservoir.size() < capacity) {
+			reservoir.add(new Entry<E>(item, Math.log(uniformPositive()) / weight));
+			if (reservoir.size() == capacity)
+				resetSkip();
+			return;
+		}
+		
+		weightToSkip -= weight;
+		if (weightToSkip > 0)
+			return;
+		// This item enters, with a key drawn uniformly from those that beat the current minimum
+		double t = Math.exp(reservoir.peek().logKey * weight);
+		double r = t + (1 - t) * uniformPositive();
+		reservoir.poll();
+		reservoir.add(new Entry<E>(item, Math.log(r) / weight));
+		resetSkip();
+	}
+	
+	
+	/**
+	 * Combines the specified sampler's items into this one, so that this sampler holds a weighted sample of both streams together. Both samplers must have the same capacity, and the other sampler must not be used afterward.
+	 * @param other the sampler of a disjoint part of the stream
+	 * @throws IllegalArgumentException if the capacities differ
+	 */
+	public void merge(WeightedReservoirSampler<? extends E> other) {
+		if (other.capacity != capacity)
+			throw new IllegalArgumentException("Different capacities");
+		// The keys of all items are independent, so the overall sample consists of the largest keys of both
+		for (Entry<? extends E> e : other.reservoir) {
+			reservoir.add(new Entry<E>(e.item, e.logKey));
+			if (reservoir.size() > capacity)
+				reservoir.poll();
+		}
+		count += other.count;
+		if (reservoir.size() == capacity)
+			resetSkip();
+	}
+	
+	
+	/**
+	 * Returns the number of items offered to this sampler so far, including those of merged samplers.
+	 * @return the number of items seen
+	 */
+	public long getCount() {
+		return count;
+	}
+	
+	
+	/**
+	 * Returns a new list of the items currently in the reservoir, in no particular order.
+	 * @return the sampled items
+	 */
+	public List<E> getSample() {
+		List<E> result = new ArrayList<E>(reservoir.size());
+		for (Entry<E> e : reservoir)
+			result.add(e.item);
+		return result;
+	}
+	
+	
+	// Draws the total weight of items to skip, given the current smallest key T: log(U) / log(T).
+	private void resetSkip() {
+		double logThreshold = reservoir.peek().logKey;
+		if (logThreshold == 0)
+			weightToSkip = Double.POSITIVE_INFINITY;  // No later key can be larger
+		else
+			weightToSkip = Math.log(uniformPositive()) / logThreshold;
+	}
+	
+	
+	// Returns a uniform value in (0, 1].
+	private double uniformPositive() {
+		return 1 - random.uniformDouble();
+	}
+	
+	
+	
+	private static final class Entry<E> implements Comparable<Entry<?>> {
+		
+		public final E item;
+		
+		public final double logKey;  // The logarithm of the key u^(1/w)
+		
+		
+		public Entry(E item, double logKey) {
+			this.item = item;
+			this.logKey = logKey;
+		}
+		
+		
+		public int compareTo(Entry<?> other) {
+			return Double.compare(logKey, other.logKey);
+		}
+		
+	}
+	
+}
@@ -0,0 +1,150 @@
+package p79068.util.random;
+
+import p79068.Assert;
+
+
+/**
+ * The xoroshiro128++ pseudorandom number generator, a fast all-purpose generator with 128 bits of state.
+ * Translated from the C code by David Blackman and Sebastiano Vigna at https://prng.di.unimi.it/ .
+ * <p>The period is 2<sup>128</sup> &minus; 1. {@link #jump()} and {@link #longJump()} advance the generator by 2<sup>64</sup> and 2<sup>96</sup> outputs respectively. For heavily parallel work, prefer {@link Xoshiro256PlusPlus}, whose larger state allows more and longer streams.</p>
+ * <p>Mutability: <em>Mutable</em><br>
+ * Thread safety: <em>Unsafe</em></p>
+ */
+public final class Xoroshiro128PlusPlus extends AbstractRandom implements SplittableRandom, Cloneable {
+	
+	private static final long[] JUMP = {0x2BD7A6A6E99C2DDCL, 0x0992CCAF6A6FCA05L};
+	
+	private static final long[] LONG_JUMP = {0x360FD5F2CF8D5D99L, 0x9C6E6877736C46E3L};
+	
+	
+	
+	private long s0;
+	private long s1;
+	
+	
+	
+	/**
+	 * Constructs a generator with an arbitrary seed.
+	 */
+	public Xoroshiro128PlusPlus() {
+		this(System.currentTimeMillis() ^ Long.reverse(System.nanoTime()));
+	}
+	
+	
+	/**
+	 * Constructs a generator whose state is expanded from the specified seed using SplitMix64. Every seed is valid.
+	 */
+	public Xoroshiro128PlusPlus(long seed) {
+		this(SplitMix64.valueAt(seed, 0), SplitMix64.valueAt(seed, 1));
+	}
+	
+	
+	/**
+	 * Constructs a generator with the specified raw state, which must not be all zero.
+	 * @throws IllegalArgumentException if both state words are zero
+	 */
+	public Xoroshiro128PlusPlus(long s0, long s1) {
+		if ((s0 | s1) == 0)
+			throw new IllegalArgumentException("All-zero state");
+		this.s0 = s0;
+		this.s1 = s1;
+	}
+	
+	
+	
+	@Override
+	public long uniformLong() {
+		long s0 = this.s0;
+		long s1 = this.s1;
+		long result = Long.rotateLeft(s0 + s1, 17) + s0;
+		s1 ^= s0;
+		this.s0 = Long.rotateLeft(s0, 49) ^ s1 ^ (s1 << 21);
+		this.s1 = Long.rotateLeft(s1, 28);
+		return result;
+	}
+	
+	
+	@Override
+	public int uniformInt() {
+		return (int)(uniformLong() >>> 32);  // The upper bits are the strongest
+	}
+	
+	
+	@Override
+	public double uniformDouble() {
+		return (uniformLong() >>> 11) * DOUBLE_SCALER;
+	}
+	
+	
+	@Override
+	public void uniformLongs(long[] b, int off, int len) {
+		Assert.assertRangeInBounds(b.length, off, len);
+		long s0 = this.s0;
+		long s1 = this.s1;
+		for (int end = off + len; off < end; off++) {
+			b[off] = Long.rotateLeft(s0 + s1, 17) + s0;
+			s1 ^= s0;
+			s0 = Long.rotateLeft(s0, 49) ^ s1 ^ (s1 << 21);
+			s1 = Long.rotateLeft(s1, 28);
+		}
+		this.s0 = s0;
+		this.s1 = s1;
+	}
+	
+	
+	/**
+	 * Advances this generator by 2<sup>64</sup> outputs. Calling this repeatedly on clones yields up to 2<sup>64</sup> non-overlapping streams of 2<sup>64</sup> outputs each.
+	 */
+	public void jump() {
+		jump(JUMP);
+	}
+	
+	
+	/**
+	 * Advances this generator by 2<sup>96</sup> outputs. This can create up to 2<sup>32</sup> starting points, each of which can then be subdivided with {@link #jump()}.
+	 */
+	public void longJump() {
+		jump(LONG_JUMP);
+	}
+	
+	
+	/**
+	 * Returns a new generator seeded from this generator's next two outputs, mixed by SplitMix64.
+	 * @return a new generator
+	 */
+	public Xoroshiro128PlusPlus split() {
+		long s0 = SplitMix64.mix(uniformLong());
+		long s1 = SplitMix64.mix(uniformLong());
+		if ((s0 | s1) == 0)
+			s0 = SplitMix64.GOLDEN_GAMMA;
+		return new Xoroshiro128PlusPlus(s0, s1);
+	}
+	
+	
+	@Override
+	public Xoroshiro128PlusPlus clone() {
+		try {
+			return (Xoroshiro128PlusPlus)super.clone();
+		} catch (CloneNotSupportedException e) {
+			throw new AssertionError(e);
+		}
+	}
+	
+	
+	// The polynomial is x^n mod p(x), where p(x) is the characteristic polynomial; summing the states at the offsets of its nonzero terms advances by n.
+	private void jump(long[] poly) {
+		long t0 = 0, t1 = 0;
+		for (long word : poly) {
+			for (int i = 0; i < 64; i++) {
+				if (((word >>> i) & 1) != 0) {
+					t0 ^= s0;
+					t1 ^= s1;
+				}
+				uniformLong();
+			}
+		}
+		s0 = t0;
+		s1 = t1;
+	}
+	
+}
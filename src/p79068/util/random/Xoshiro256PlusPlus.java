@@ -0,0 +1,171 @@
+package p79068.util.random;
+
+import p79068.Assert;
+
+
+/**
+ * The xoshiro256++ pseudorandom number generator, a fast all-purpose generator with 256 bits of state.
+ * Translated from the C code by David Blackman and Sebastiano Vigna at https://prng.di.unimi.it/ .
+ * <p>The period is 2<sup>256</sup> &minus; 1. {@link #jump()} and {@link #longJump()} advance the generator by 2<sup>128</sup> and 2<sup>192</sup> outputs respectively, which partitions one seeded sequence into non-overlapping streams for parallel use.</p>
+ * <p>Mutability: <em>Mutable</em><br>
+ * Thread safety: <em>Unsafe</em></p>
+ */
+public final class Xoshiro256PlusPlus extends AbstractRandom implements SplittableRandom, Cloneable {
+	
+	private static final long[] JUMP = {0x180EC6D33CFD0ABAL, 0xD5A61266F0C9392CL, 0xA9582618E03FC9AAL, 0x39ABDC4529B1661CL};
+	
+	private static final long[] LONG_JUMP = {0x76E15D3EFEFDCBBFL, 0xC5004E441C522FB3L, 0x77710069854EE241L, 0x39109BB02ACBE635L};
+	
+	
+	
+	private long s0;
+	private long s1;
+	private long s2;
+	private long s3;
+	
+	
+	
+	/**
+	 * Constructs a generator with an arbitrary seed.
+	 */
+	public Xoshiro256PlusPlus() {
+		this(System.currentTimeMillis() ^ Long.reverse(System.nanoTime()));
+	}
+	
+	
+	/**
+	 * Constructs a generator whose state is expanded from the specified seed using SplitMix64. Every seed is valid.
+	 */
+	public Xoshiro256PlusPlus(long seed) {
+		this(SplitMix64.valueAt(seed, 0), SplitMix64.valueAt(seed, 1), SplitMix64.valueAt(seed, 2), SplitMix64.valueAt(seed, 3));
+	}
+	
+	
+	/**
+	 * Constructs a generator with the specified raw state, which must not be all zero.
+	 * @throws IllegalArgumentException if all the state words are zero
+	 */
+	public Xoshiro256PlusPlus(long s0, long s1, long s2, long s3) {
+		if ((s0 | s1 | s2 | s3) == 0)
+			throw new IllegalArgumentException("All-zero state");
+		this.s0 = s0;
+		this.s1 = s1;
+		this.s2 = s2;
+		this.s3 = s3;
+	}
+	
+	
+	
+	@Override
+	public long uniformLong() {
+		long result = Long.rotateLeft(s0 + s3, 23) + s0;
+		long t = s1 << 17;
+		s2 ^= s0;
+		s3 ^= s1;
+		s1 ^= s2;
+		s0 ^= s3;
+		s2 ^= t;
+		s3 = Long.rotateLeft(s3, 45);
+		return result;
+	}
+	
+	
+	@Override
+	public int uniformInt() {
+		return (int)(uniformLong() >>> 32);  // The upper bits are the strongest
+	}
+	
+	
+	@Override
+	public double uniformDouble() {
+		return (uniformLong() >>> 11) * DOUBLE_SCALER;
+	}
+	
+	
+	@Override
+	public void uniformLongs(long[] b, int off, int len) {
+		Assert.assertRangeInBounds(b.length, off, len);
+		// Keep the state in local variables for speed
+		long s0 = this.s0;
+		long s1 = this.s1;
+		long s2 = this.s2;
+		long s3 = this.s3;
+		for (int end = off + len; off < end; off++) {
+			b[off] = Long.rotateLeft(s0 + s3, 23) + s0;
+			long t = s1 << 17;
+			s2 ^= s0;
+			s3 ^= s1;
+			s1 ^= s2;
+			s0 ^= s3;
+			s2 ^= t;
+			s3 = Long.rotateLeft(s3, 45);
+		}
+		this.s0 = s0;
+		this.s1 = s1;
+		this.s2 = s2;
+		this.s3 = s3;
+	}
+	
+	
+	/**
+	 * Advances this generator by 2<sup>128</sup> outputs. Calling this repeatedly on clones yields up to 2<sup>128</sup> non-overlapping streams of 2<sup>128</sup> outputs each.
+	 */
+	public void jump() {
+		jump(JUMP);
+	}
+	
+	
+	/**
+	 * Advances this generator by 2<sup>192</sup> outputs. This can create up to 2<sup>64</sup> starting points, each of which can then be subdivided with {@link #jump()}.
+	 */
+	public void longJump() {
+		jump(LONG_JUMP);
+	}
+	
+	
+	/**
+	 * Returns a new generator seeded from this generator's next four outputs, mixed by SplitMix64.
+	 * @return a new generator
+	 */
+	public Xoshiro256PlusPlus split() {
+		long s0 = SplitMix64.mix(uniformLong());
+		long s1 = SplitMix64.mix(uniformLong());
+		long s2 = SplitMix64.mix(uniformLong());
+		long s3 = SplitMix64.mix(uniformLong());
+		if ((s0 | s1 | s2 | s3) == 0)
+			s0 = SplitMix64.GOLDEN_GAMMA;
+		return new Xoshiro256PlusPlus(s0, s1, s2, s3);
+	}
+	
+	
+	@Override
+	public Xoshiro256PlusPlus clone() {
+		try {
+			return (Xoshiro256PlusPlus)super.clone();
+		} catch (CloneNotSupportedException e) {
+			throw new AssertionError(e);
+		}
+	}
+	
+	
+	// The polynomial is x^n mod p(x), where p(x) is the characteristic polynomial; summing the states at the offsets of its nonzero terms advances by n.
+	private void jump(long[] poly) {
+		long t0 = 0, t1 = 0, t2 = 0, t3 = 0;
+		for (long word : poly) {
+			for (int i = 0; i < 64; i++) {
+				if (((word >>> i) & 1) != 0) {
+					t0 ^= s0;
+					t1 ^= s1;
+					t2 ^= s2;
+					t3 ^= s3;
+				}
+				uniformLong();
+			}
+		}
+		s0 = t0;
+		s1 = t1;
+		s2 = t2;
+		s3 = t3;
+	}
+	
+}
@@ -0,0 +1,199 @@
+package p79068.util.random;
+
+
+/**
+ * Samples the standard normal and exponential distributions by the ziggurat method of Marsaglia and Tsang (2000), in the formulation of Doornik (2005).
+ * <p>The density is covered by equal-area horizontal layers. One random {@code long} picks a layer with its lowest bits and a position within the layer with its upper 53 bits; about 99% of draws are accepted at that point without evaluating any transcendental function. The layer tables are computed once when this class is initialized.</p>
+ * <p>Instantiability: <em>Not applicable</em></p>
+ */
+final class Ziggurat {
+	
+	/* Normal distribution, using 128 layers */
+	
+	private static final int NORMAL_LAYERS = 128;
+	
+	private static final double NORMAL_R = 3.442619855899;  // Start of the tail
+	
+	private static final double NORMAL_V = 9.91256303526217e-3;  // Area of each layer
+	
+	private static final double[] NORMAL_X = new double[NORMAL_LAYERS + 1];  // Right edges of the layers
+	
+	private static final double[] NORMAL_RATIO = new double[NORMAL_LAYERS];  // NORMAL_X[i + 1] / NORMAL_X[i]
+	
+	private static final double[] NORMAL_F = new double[NORMAL_LAYERS + 1];  // Unnormalized density at NORMAL_X[i]
+	
+	
+	/* Exponential distribution, using 256 layers */
+	
+	private static final int EXPONENTIAL_LAYERS = 256;
+	
+	private static final double EXPONENTIAL_R = 7.69711747013104972;
+	
+	private static final double EXPONENTIAL_V = 3.949659822581572e-3;
+	
+	private static final double[] EXPONENTIAL_X = new double[EXPONENTIAL_LAYERS + 1];
+	
+	private static final double[] EXPONENTIAL_RATIO = new double[EXPONENTIAL_LAYERS];
+	
+	private static final double[] EXPONENTIAL_F = new double[EXPONENTIAL_LAYERS + 1];
+	
+	
+	// Number of random longs drawn at a time by the bulk methods
+	private static final int BUFFER_LENGTH = 256;
+	
+	
+	static {
+		// Layer 0 is the base strip, which includes the tail and is as wide as a rectangle of the same area
+		double f = Math.exp(-0.5 * NORMAL_R * NORMAL_R);
+		NORMAL_X[0] = NORMAL_V / f;
+		NORMAL_X[1] = NORMAL_R;
+		for (int i = 2; i < NORMAL_LAYERS; i++) {
+			NORMAL_X[i] = Math.sqrt(-2 * Math.log(NORMAL_V / NORMAL_X[i - 1] + f));
+			f = Math.exp(-0.5 * NORMAL_X[i] * NORMAL_X[i]);
+		}
+		NORMAL_X[NORMAL_LAYERS] = 0;
+		for (int i = 0; i <= NORMAL_LAYERS; i++)
+			NORMAL_F[i] = Math.exp(-0.5 * NORMAL_X[i] * NORMAL_X[i]);
+		for (int i = 0; i < NORMAL_LAYERS; i++)
+			NORMAL_RATIO[i] = NORMAL_X[i + 1] / NORMAL_X[i];
+		
+		f = Math.exp(-EXPONENTIAL_R);
+		EXPONENTIAL_X[0] = EXPONENTIAL_V / f;
+		EXPONENTIAL_X[1] = EXPONENTIAL_R;
+		for (int i = 2; i < EXPONENTIAL_LAYERS; i++) {
+			EXPONENTIAL_X[i] = -Math.log(EXPONENTIAL_V / EXPONENTIAL_X[i - 1] + f);
+			f = Math.exp(-EXPONENTIAL_X[i]);
+		}
+		EXPONENTIAL_X[EXPONENTIAL_LAYERS] = 0;
+		for (int i = 0; i <= EXPONENTIAL_LAYERS; i++)
+			EXPONENTIAL_F[i] = Math.exp(-EXPONENTIAL_X[i]);
+		for (int i = 0; i < EXPONENTIAL_LAYERS; i++)
+			EXPONENTIAL_RATIO[i] = EXPONENTIAL_X[i + 1] / EXPONENTIAL_X[i];
+	}
+	
+	
+	
+	/**
+	 * Returns a random value from the standard normal distribution (mean 0, standard deviation 1).
+	 */
+	public static double normal(Random rand) {
+		while (true) {
+			double x = normalAttempt(rand, rand.uniformLong());
+			if (!Double.isNaN(x))
+				return x;
+		}
+	}
+	
+	
+	/**
+	 * Stores random values from the standard normal distribution into the specified array range. The random {@code long}s are drawn in blocks, and the common case is handled in a tight loop over each block, so the values differ from those of repeated calls to {@link #normal(Random)}.
+	 */
+	public static void normals(Random rand, double[] b, int off, int len) {
+		long[] buffer = new long[Math.min(len, BUFFER_LENGTH)];
+		for (int end = off + len; off < end; ) {
+			int n = Math.min(end - off, buffer.length);
+			rand.uniformLongs(buffer, 0, n);
+			for (int i = 0; i < n; i++, off++) {
+				long bits = buffer[i];
+				int layer = (int)bits & (NORMAL_LAYERS - 1);
+				double u = (bits >>> 11) * AbstractRandom.DOUBLE_SCALER * 2 - 1;
+				double x;
+				if (Math.abs(u) < NORMAL_RATIO[layer])
+					x = u * NORMAL_X[layer];
+				else {
+					x = normalAttempt(rand, bits);
+					if (Double.isNaN(x))
+						x = normal(rand);
+				}
+				b[off] = x;
+			}
+		}
+	}
+	
+	
+	/**
+	 * Returns a random value from the exponential distribution with mean 1.
+	 */
+	public static double exponential(Random rand) {
+		while (true) {
+			double x = exponentialAttempt(rand, rand.uniformLong());
+			if (!Double.isNaN(x))
+				return x;
+		}
+	}
+	
+	
+	/**
+	 * Stores random values from the exponential distribution with mean 1 into the specified array range. As with {@link #normals(Random, double[], int, int)}, the values differ from those of repeated calls to {@link #exponential(Random)}.
+	 */
+	public static void exponentials(Random rand, double[] b, int off, int len) {
+		long[] buffer = new long[Math.min(len, BUFFER_LENGTH)];
+		for (int end = off + len; off < end; ) {
+			int n = Math.min(end - off, buffer.length);
+			rand.uniformLongs(buffer, 0, n);
+			for (int i = 0; i < n; i++, off++) {
+				long bits = buffer[i];
+				int layer = (int)bits & (EXPONENTIAL_LAYERS - 1);
+				double u = (bits >>> 11) * AbstractRandom.DOUBLE_SCALER;
+				double x;
+				if (u < EXPONENTIAL_RATIO[layer])
+					x = u * EXPONENTIAL_X[layer];
+				else {
+					x = exponentialAttempt(rand, bits);
+					if (Double.isNaN(x))
+						x = exponential(rand);
+				}
+				b[off] = x;
+			}
+		}
+	}
+	
+	
+	// Returns a normal value derived from the specified random bits (drawing more from rand only outside the fast path), or NaN if the bits are rejected.
+	private static double normalAttempt(Random rand, long bits) {
+		int i = (int)bits & (NORMAL_LAYERS - 1);
+		double u = (bits >>> 11) * AbstractRandom.DOUBLE_SCALER * 2 - 1;  // In [-1, 1)
+		if (Math.abs(u) < NORMAL_RATIO[i])
+			return u * NORMAL_X[i];  // Inside the rectangle fully under the curve (the fast path)
+		if (i == 0)
+			return normalTail(rand, u < 0);
+		double x = u * NORMAL_X[i];
+		if (NORMAL_F[i] + rand.uniformDouble() * (NORMAL_F[i + 1] - NORMAL_F[i]) < Math.exp(-0.5 * x * x))
+			return x;
+		return Double.NaN;
+	}
+	
+	
+	// Returns an exponential value derived from the specified random bits (drawing more from rand only outside the fast path), or NaN if the bits are rejected.
+	private static double exponentialAttempt(Random rand, long bits) {
+		int i = (int)bits & (EXPONENTIAL_LAYERS - 1);
+		double u = (bits >>> 11) * AbstractRandom.DOUBLE_SCALER;  // In [0, 1)
+		if (u < EXPONENTIAL_RATIO[i])
+			return u * EXPONENTIAL_X[i];
+		if (i == 0)
+			return EXPONENTIAL_R + exponential(rand);  // The tail beyond R is itself exponential, by memorylessness
+		double x = u * EXPONENTIAL_X[i];
+		if (EXPONENTIAL_F[i] + rand.uniformDouble() * (EXPONENTIAL_F[i + 1] - EXPONENTIAL_F[i]) < Math.exp(-x))
+			return x;
+		return Double.NaN;
+	}
+	
+	
+	// Marsaglia's method for the normal tail beyond NORMAL_R.
+	private static double normalTail(Random rand, boolean negative) {
+		double x, y;
+		do {
+			x = -Math.log(1 - rand.uniformDouble()) / NORMAL_R;  // Arguments are in (0, 1]
+			y = -Math.log(1 - rand.uniformDouble());
+		} while (y * 2 < x * x);
+		return negative ? -(NORMAL_R + x) : NORMAL_R + x;
+	}
+	
+	
+	
+	/**
+	 * Not instantiable.
+	 */
+	private Ziggurat() {}
+	
+}
@@ -0,0 +1,94 @@
+package p79068.util.random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+
+public final class AliasTableTest {
+	
+	@Test public void testDistribution() {
+		double[] weights = {1, 2, 3, 0, 4, 0.5, 10};
+		AliasTable table = new AliasTable(weights);
+		assertEquals(weights.length, table.size());
+		double total = 0;
+		for (double w : weights)
+			total += w;
+		
+		int trials = 1000000;
+		long[] counts = new long[weights.length];
+		Random rand = new MersenneTwister(1);
+		for (int i = 0; i < trials; i++)
+			counts[table.sample(rand)]++;
+		
+		assertEquals(0, counts[3]);
+		double chiSqr = 0;
+		for (int i = 0; i < weights.length; i++) {
+			if (weights[i] == 0)
+				continue;
+			double expected = weights[i] / total * trials;
+			chiSqr += (counts[i] - expected) * (counts[i] - expected) / expected;
+		}
+		assertTrue(chiSqr < 30);  // 5 degrees of freedom
+	}
+	
+	
+	@Test public void testLongWeights() {
+		AliasTable table = new AliasTable(new long[]{0, 0, 7, 0});
+		Random rand = new MersenneTwister(2);
+		for (int i = 0; i < 1000; i++)
+			assertEquals(2, table.sample(rand));
+	}
+	
+	
+	@Test public void testManyOutcomes() {
+		int n = 5000;
+		long[] weights = new long[n];
+		for (int i = 0; i < n; i++)
+			weights[i] = i % 3 + 1;
+		AliasTable table = new AliasTable(weights);
+		int trials = 2000000;
+		long[] byResidue = new long[3];
+		Random rand = new MersenneTwister(3);
+		for (int i = 0; i < trials; i++)
+			byResidue[table.sample(rand) % 3]++;
+		// Weights 1, 2, 3 occur about equally often, so the residues have probabilities 1/6, 2/6, 3/6
+		for (int i = 0; i < 3; i++)
+			assertEquals((i + 1) / 6.0, (double)byResidue[i] / trials, 0.002);
+	}
+	
+	
+	@Test public void testBulkMatchesSingle() {
+		AliasTable table = new AliasTable(new double[]{0.1, 0.2, 0.3, 0.4, 5});
+		Random r0 = new MersenneTwister(4);
+		Random r1 = new MersenneTwister(4);
+		int[] expected = new int[1000];
+		for (int i = 0; i < expected.length; i++)
+			expected[i] = table.sample(r0);
+		int[] actual = new int[1000];
+		table.sample(r1, actual, 0, 600);
+		table.sample(r1, actual, 600, 400);
+		assertArrayEquals(expected, actual);
+		assertEquals(r0.uniformLong(), r1.uniformLong());
+	}
+	
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testEmpty() {
+		new AliasTable(new double[0]);
+	}
+	
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testAllZero() {
+		new AliasTable(new long[]{0, 0});
+	}
+	
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testNegative() {
+		new AliasTable(new double[]{1, -1});
+	}
+	
+}
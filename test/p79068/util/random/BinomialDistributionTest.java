@@ -0,0 +1,70 @@
+package p79068.util.random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+
+public final class BinomialDistributionTest {
+	
+	@Test public void testMoments() {
+		Random rand = new MersenneTwister(1);
+		int[] ns = {0, 1, 10, 15, 16, 50, 1000, 1000, 1000000, 100000000, 100000000};
+		double[] ps = {0.5, 0.3, 0.9, 0.0, 1.0, 0.05, 0.3, 0.9, 0.5, 0.3, 1e-7};
+		for (int i = 0; i < ns.length; i++) {
+			BinomialDistribution dist = new BinomialDistribution(ns[i], ps[i]);
+			int trials = 100000;
+			double sum = 0, sumSqr = 0;
+			for (int j = 0; j < trials; j++) {
+				int k = dist.sample(rand);
+				assertTrue(0 <= k && k <= ns[i]);
+				sum += k;
+				sumSqr += (double)k * k;
+			}
+			double mean = (double)ns[i] * ps[i];
+			double var = mean * (1 - ps[i]);
+			double sampleMean = sum / trials;
+			double sampleVar = sumSqr / trials - sampleMean * sampleMean;
+			assertEquals(mean, sampleMean, 6 * Math.sqrt(var / trials) + 1e-9);
+			assertEquals(var, sampleVar, 0.03 * var + 1e-9);
+		}
+	}
+	
+	
+	@Test public void testDistributionInversion() {
+		checkDistribution(200, 0.02);
+	}
+	
+	
+	@Test public void testDistributionBtrdNear() {
+		checkDistribution(100, 0.4);
+	}
+	
+	
+	@Test public void testDistributionBtrdFar() {
+		checkDistribution(2000, 0.7);
+	}
+	
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testInvalidProbability() {
+		new BinomialDistribution(10, Double.NaN);
+	}
+	
+	
+	// Checks samples against the exact probability mass function.
+	private static void checkDistribution(int n, double p) {
+		double[] pmf = new double[n + 1];
+		int mode = (int)Math.floor((n + 1) * p);
+		pmf[mode] = 1;
+		for (int k = mode + 1; k <= n; k++)
+			pmf[k] = pmf[k - 1] * (n - k + 1) / k * p / (1 - p);
+		for (int k = mode - 1; k >= 0; k--)
+			pmf[k] = pmf[k + 1] * (k + 1) / (n - k) * (1 - p) / p;
+		
+		BinomialDistribution dist = new BinomialDistribution(n, p);
+		Random rand = new MersenneTwister(n);
+		GoodnessOfFit.checkDistribution(pmf, () -> dist.sample(rand));
+	}
+	
+}
@@ -0,0 +1,110 @@
+package p79068.util.random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import java.util.Arrays;
+import org.junit.Test;
+
+
+public final class ChaChaRandomTest extends RandomTest {
+	
+	protected Random getInstance() {
+		return new ChaChaRandom();
+	}
+	
+	
+	@Test public void testZeroKey() {
+		// Keystream for the all-zero key and nonce, from the ChaCha test vectors (draft-strombergson-chacha-test-vectors, TC1)
+		int[] rounds = {20, 12, 8};
+		String[] expected = {
+			"76b8e0ada0f13d90405d6ae55386bd28bdd219b8a08ded1aa836efcc8b770dc7" +
+			"da41597c5157488d7724e03fb8d84a376a43b8f41518a11cc387b669b2ee6586",
+			"9bf49a6a0755f953811fce125f2683d50429c3bb49e074147e0089a52eae155f" +
+			"0564f879d27ae3c02ce82834acfa8c793a629f2ca0de6919610be82f411326be",
+			"3e00ef2f895f40d67f5bb8e81f09a5a12c840ec3ce9a7f3b181be188ef711a1e" +
+			"984ce172b9216f419f445367456d5619314a42a3da86b001387bfdb80e0cfe42",
+		};
+		for (int i = 0; i < rounds.length; i++) {
+			Random r = new ChaChaRandom(new byte[32], 0, rounds[i], false);
+			byte[] b = new byte[64];
+			r.uniformBytes(b);
+			assertArrayEquals(hexToBytes(expected[i]), b);
+		}
+	}
+	
+	
+	@Test public void testBlockFunction() {
+		// RFC 7539 section 2.3.2, with the 32-bit counter and 96-bit nonce laid over words 12 to 15
+		int[] in = {0x61707865, 0x3320646E, 0x79622D32, 0x6B206574,
+			0x03020100, 0x07060504, 0x0B0A0908, 0x0F0E0D0C, 0x13121110, 0x17161514, 0x1B1A1918, 0x1F1E1D1C,
+			0x00000001, 0x09000000, 0x4A000000, 0x00000000};
+		int[] out = new int[16];
+		ChaChaRandom.chacha(in, out, 0, 20);
+		byte[] b = new byte[64];
+		for (int i = 0; i < b.length; i++)
+			b[i] = (byte)(out[i / 4] >>> (i % 4 * 8));
+		assertArrayEquals(hexToBytes("10f1e7e4d13b5915500fdd1fa32071c4c7d1f4c733c068030422aa9ac3d46c4ed2826446079faa0914c2d705d98b02a2b5129cd1de164eb9cbd083e8a2503c4e"), b);
+	}
+	
+	
+	@Test public void testConsistentAcrossRefills() {
+		byte[] key = new byte[32];
+		key[0] = 1;
+		for (boolean erasure : new boolean[]{false, true}) {
+			Random a = new ChaChaRandom(key, 5, 20, erasure);
+			Random b = new ChaChaRandom(key, 5, 20, erasure);
+			int[] ints = new int[3000];
+			a.uniformInts(ints);
+			byte[] bytes = new byte[ints.length * 4];
+			b.uniformBytes(bytes);
+			for (int i = 0; i < ints.length; i++) {
+				int w = (bytes[i * 4] & 0xFF) | (bytes[i * 4 + 1] & 0xFF) << 8 | (bytes[i * 4 + 2] & 0xFF) << 16 | bytes[i * 4 + 3] << 24;
+				assertEquals(ints[i], w);
+			}
+			assertEquals(a.uniformLong(), b.uniformLong());
+		}
+	}
+	
+	
+	@Test public void testErasureChangesOutput() {
+		byte[] key = new byte[32];
+		int[] x = new int[2000];
+		int[] y = new int[2000];
+		new ChaChaRandom(key, 0, 20, false).uniformInts(x);
+		new ChaChaRandom(key, 0, 20, true).uniformInts(y);
+		assertFalse(Arrays.equals(x, y));
+	}
+	
+	
+	@Test public void testReseed() {
+		ChaChaRandom a = new ChaChaRandom(new byte[32]);
+		ChaChaRandom b = new ChaChaRandom(new byte[32]);
+		a.reseed(new byte[]{1});
+		b.reseed(new byte[]{2});
+		assertFalse(a.uniformLong() == b.uniformLong());
+	}
+	
+	
+	@Test public void testReseedEmptyIsUnpredictable() {
+		// The new key must not be keystream that was already output
+		ChaChaRandom a = new ChaChaRandom(new byte[32], 0, 20, false);
+		byte[] first = new byte[32];
+		a.uniformBytes(first);
+		a.reseed(new byte[0]);
+		int[] x = new int[100];
+		int[] y = new int[100];
+		a.uniformInts(x);
+		new ChaChaRandom(first, 0, 20, false).uniformInts(y);
+		assertFalse(Arrays.equals(x, y));
+	}
+	
+	
+	private static byte[] hexToBytes(String s) {
+		byte[] result = new byte[s.length() / 2];
+		for (int i = 0; i < result.length; i++)
+			result[i] = (byte)Integer.parseInt(s.substring(i * 2, i * 2 + 2), 16);
+		return result;
+	}
+	
+}
@@ -0,0 +1,121 @@
+package p79068.util.random;
+
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+
+public final class FancyRandomTest extends RandomTest {
+	
+	protected Random getInstance() {
+		return new FancyRandom(new MersenneTwister());
+	}
+	
+	
+	@Test public void testGaussianMoments() {
+		FancyRandom r = new FancyRandom(new MersenneTwister(1));
+		int n = 1000000;
+		double sum = 0, sumSqr = 0, sumQuad = 0;
+		int below1 = 0, belowMinus2 = 0, tail = 0;
+		for (int i = 0; i < n; i++) {
+			double x = r.gaussianDouble();
+			sum += x;
+			sumSqr += x * x;
+			sumQuad += x * x * x * x;
+			if (x < 1) below1++;
+			if (x < -2) belowMinus2++;
+			if (Math.abs(x) > 3.442619855899) tail++;
+		}
+		assertEquals(0, sum / n, 0.005);
+		assertEquals(1, sumSqr / n, 0.01);
+		assertEquals(3, sumQuad / n, 0.05);
+		assertEquals(0.841345, (double)below1 / n, 0.002);
+		assertEquals(0.022750, (double)belowMinus2 / n, 0.001);
+		assertEquals(5.761e-4, (double)tail / n, 1e-4);
+	}
+	
+	
+	@Test public void testExponentialMoments() {
+		FancyRandom r = new FancyRandom(new MersenneTwister(2));
+		int n = 1000000;
+		double sum = 0, sumSqr = 0;
+		int below1 = 0, above8 = 0;
+		for (int i = 0; i < n; i++) {
+			double x = r.exponentialDouble();
+			if (x < 0)
+				throw new AssertionError();
+			sum += x;
+			sumSqr += x * x;
+			if (x < 1) below1++;
+			if (x > 8) above8++;
+		}
+		assertEquals(1, sum / n, 0.005);
+		assertEquals(2, sumSqr / n, 0.03);
+		assertEquals(0.632121, (double)below1 / n, 0.002);
+		assertEquals(3.355e-4, (double)above8 / n, 1e-4);
+	}
+	
+	
+	@Test public void testGaussianDoublesMoments() {
+		FancyRandom r = new FancyRandom(new Xoshiro256PlusPlus(4));
+		double[] b = new double[1000002];
+		r.gaussianDoubles(b, 1, b.length - 2);
+		assertEquals(0, b[0], 0);
+		assertEquals(0, b[b.length - 1], 0);
+		int n = b.length - 2;
+		double sum = 0, sumSqr = 0, sumQuad = 0;
+		int below1 = 0, tail = 0;
+		for (int i = 1; i <= n; i++) {
+			double x = b[i];
+			sum += x;
+			sumSqr += x * x;
+			sumQuad += x * x * x * x;
+			if (x < 1) below1++;
+			if (Math.abs(x) > 3.442619855899) tail++;
+		}
+		assertEquals(0, sum / n, 0.005);
+		assertEquals(1, sumSqr / n, 0.01);
+		assertEquals(3, sumQuad / n, 0.05);
+		assertEquals(0.841345, (double)below1 / n, 0.002);
+		assertEquals(5.761e-4, (double)tail / n, 1e-4);
+	}
+	
+	
+	@Test public void testExponentialDoublesMoments() {
+		FancyRandom r = new FancyRandom(new Xoshiro256PlusPlus(5));
+		double[] b = new double[1000000];
+		r.exponentialDoubles(b);
+		double sum = 0, sumSqr = 0;
+		int below1 = 0, above8 = 0;
+		for (double x : b) {
+			if (x < 0)
+				throw new AssertionError();
+			sum += x;
+			sumSqr += x * x;
+			if (x < 1) below1++;
+			if (x > 8) above8++;
+		}
+		int n = b.length;
+		assertEquals(1, sum / n, 0.005);
+		assertEquals(2, sumSqr / n, 0.03);
+		assertEquals(0.632121, (double)below1 / n, 0.002);
+		assertEquals(3.355e-4, (double)above8 / n, 1e-4);
+	}
+	
+	
+	@Test public void testGeometric() {
+		FancyRandom r = new FancyRandom(new MersenneTwister(3));
+		double p = 0.2;
+		int n = 1000000;
+		int zeros = 0;
+		double sum = 0;
+		for (int i = 0; i < n; i++) {
+			int k = r.geometricInt(p);
+			if (k == 0) zeros++;
+			sum += k;
+		}
+		assertEquals(p, (double)zeros / n, 0.002);
+		assertEquals((1 - p) / p, sum / n, 0.02);
+		assertEquals(0, r.geometricInt(1));
+	}
+	
+}
@@ -0,0 +1,89 @@
+package p79068.util.random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+
+public final class GammaDistributionTest {
+	
+	@Test public void testMoments() {
+		Random rand = new MersenneTwister(1);
+		double[] shapes = {0.1, 0.5, 1, 2.5, 30, 1000};
+		double[] scales = {1, 3, 0.5, 1, 2, 0.01};
+		for (int i = 0; i < shapes.length; i++) {
+			GammaDistribution dist = new GammaDistribution(shapes[i], scales[i]);
+			int trials = 200000;
+			double sum = 0, sumSqr = 0;
+			for (int j = 0; j < trials; j++) {
+				double x = dist.sample(rand);
+				assertTrue(x >= 0);
+				sum += x;
+				sumSqr += x * x;
+			}
+			double mean = shapes[i] * scales[i];
+			double var = mean * scales[i];
+			double sampleMean = sum / trials;
+			double sampleVar = sumSqr / trials - sampleMean * sampleMean;
+			assertEquals(mean, sampleMean, 6 * Math.sqrt(var / trials));
+			assertEquals(var, sampleVar, 0.05 * var);
+		}
+	}
+	
+	
+	@Test public void testExponentialCdf() {
+		// Shape 1 is the exponential distribution
+		Random rand = new MersenneTwister(2);
+		GammaDistribution dist = new GammaDistribution(1, 1);
+		int trials = 1000000;
+		int below = 0;
+		for (int i = 0; i < trials; i++) {
+			if (dist.sample(rand) < 0.5)
+				below++;
+		}
+		assertEquals(1 - Math.exp(-0.5), (double)below / trials, 0.002);
+	}
+	
+	
+	@Test public void testBeta() {
+		Random rand = new MersenneTwister(3);
+		double[][] params = {{0.5, 0.5}, {2, 5}, {0.01, 0.02}, {100, 300}};
+		for (double[] ab : params) {
+			BetaDistribution dist = new BetaDistribution(ab[0], ab[1]);
+			int trials = 200000;
+			double sum = 0, sumSqr = 0;
+			for (int i = 0; i < trials; i++) {
+				double x = dist.sample(rand);
+				assertTrue(0 <= x && x <= 1);
+				sum += x;
+				sumSqr += x * x;
+			}
+			double a = ab[0], b = ab[1];
+			double mean = a / (a + b);
+			double var = a * b / ((a + b) * (a + b) * (a + b + 1));
+			double sampleMean = sum / trials;
+			assertEquals(mean, sampleMean, 6 * Math.sqrt(var / trials));
+			assertEquals(var, sumSqr / trials - sampleMean * sampleMean, 0.05 * var);
+		}
+	}
+	
+	
+	@Test public void testChiSquared() {
+		Random rand = new MersenneTwister(4);
+		for (double k : new double[]{1, 3, 7.5}) {
+			ChiSquaredDistribution dist = new ChiSquaredDistribution(k);
+			int trials = 200000;
+			double sum = 0;
+			for (int i = 0; i < trials; i++)
+				sum += dist.sample(rand);
+			assertEquals(k, sum / trials, 6 * Math.sqrt(2 * k / trials));
+		}
+	}
+	
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testInvalidShape() {
+		new GammaDistribution(0, 1);
+	}
+	
+}
@@ -0,0 +1,44 @@
+package p79068.util.random;
+
+import static org.junit.Assert.assertTrue;
+import java.util.function.IntSupplier;
+
+
+// Statistical checks shared by the tests of discrete distributions.
+final class GoodnessOfFit {
+	
+	private static final int TRIALS = 1000000;
+	
+	
+	
+	// Pearson's chi-squared test of the sampler against the probability mass function, which need not be normalized, over the bins with enough expected counts.
+	public static void checkDistribution(double[] pmf, IntSupplier sampler) {
+		double total = 0;
+		for (double x : pmf)
+			total += x;
+		
+		long[] counts = new long[pmf.length];
+		for (int i = 0; i < TRIALS; i++) {
+			int k = sampler.getAsInt();
+			assertTrue(0 <= k && k < pmf.length);
+			counts[k]++;
+		}
+		
+		double chiSqr = 0;
+		int bins = 0;
+		for (int k = 0; k < pmf.length; k++) {
+			double expected = pmf[k] / total * TRIALS;
+			if (expected >= 20) {
+				chiSqr += (counts[k] - expected) * (counts[k] - expected) / expected;
+				bins++;
+			}
+		}
+		assertTrue(bins > 5);
+		assertTrue(chiSqr < bins + 6 * Math.sqrt(2 * bins));
+	}
+	
+	
+	
+	private GoodnessOfFit() {}
+	
+}
@@ -0,0 +1,184 @@
+package p79068.util.random;
+
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+
+public final class Isaac64Test extends RandomTest {
+	
+	protected Random getInstance() {
+		return new Isaac64(null);
+	}
+	
+	
+	@Test public void testBasic() {
+		Random r = new Isaac64(new long[256]);
+		for (int i = 0; i < 256; i++)
+			r.uniformLong();
+		
+		String[] output = {  // From the reference isaac64.c, same layout as http://www.burtleburtle.net/bob/rand/randvect64.txt
+			"12A8F216AF9418C2D4490AD526F14431B49C3B3995091A365B45E522E4B1B4EF",
+			"A1E9300CD852054849787FEF17AF992403219A39EE587A30EBE9EA2ADF4321C7",
+			"804456AF10F5FB53D74BBE77E6116AC77C0828DD624EC39014A195640116F336",
+			"2EAB8CA63CE802D7C6E57A78FBD986E058EFC10B06A2068DABEEDDB2DDE06FF1",
+			"0B090A7560A968E32CF9C8CA052F6E9F116D0016CB948F09A59E0BD101731A28",
+			"63767572AE3D6174AB4F6451CC1D45ECC2A1E7B5B459AEB52472F6207C2D0484",
+			"E699ED85B0DFB40DD4347F66EC8941C3F4D14597E660F8558B889D624D44885D",
+			"258E5A80C7204C4BAF0C317D32ADAA8A9C4CD6257C5A3603EB3593803173E0CE",
+			"36F60E2BA4FA680038B6525C21A42B0EF4F5D05C10CAB243CF3F4688801EB9AA",
+			"1DDC0325259B27DEB9571FA04DC089C8D7504DFA8816EDBB1FE2CCA76517DB90",
+			"261E4E4C0A333A9D219B97E26FFC81BD66B4835D9EAFEA224CC317FB9CDDD023",
+			"50B704CAB602C329EDB454E7BADC08059E17E49642A3E4C166C1A2A1A60CD889",
+			"7983EED3740847D5298AF231C85BAFAB2680B122BAA28D97734DE8181F6EC39A",
+			"53898E4C3910DA551761F93A44D5AEFEE4DBF0634473F5D24ED0FE7E9DC91335",
+			"D18D8549D140CAEA1CFC8BED0D681639CA1E3785A9E724E5B67C1FA481680AF8",
+			"DFEA21EA9E7557E3D6B6D0ECC617C699FA7E393983325753A09E8C8C35AB96DE",
+			"8FE88B57305E2AB689039D79D6FC5C5C9BFB227EBDF4C5CE7F7CC39420A3A545",
+			"3F6C6AF859D80055C8763C5B08D1908C469356C504EC9F9D26E6DB8FFDF5ADFE",
+			"3A938FEE32D299812C5E9DEB57EF47431E99B96E70A9BE8B764DBEAE7FA4F3A6",
+			"AAC40A2703D9BEA01A8C1E992B94114873AA8A564FB7AC9E604D51B25FBF70E2",
+			"DD69A0D8AB3B546D65CA5B96B75522102FD7E4B9E72CD38C51D2B1AB2DDFB636",
+			"9D1D84FCCE371425A44CFE79AE538BBEDE68A2355B93CAE69FC10D0F989993E0",
+			"94EBC8ABCFB56DAED7A023A73260B45C72C8834A5957B5118F8419A348F296BF",
+			"1E152328F3318DEA4838D65F6EF6748FD6BF7BAEE43CAC4013328503DF48229F",
+			"7440FB816508C4FE9D266D6A1CC0542C4DDA48153C94938A74C04BF1790C0EFE",
+			"E1925C71285279F58A8E849EB32781A5073973751F12DD5EA319CE15B0B4DB31",
+			"6DD856D94D25923667378D8ECCEF96CB9FC477DE4ED681DAF3B8B6675A6507FF",
+			"C3A9DC228CAAC9E9C37B45B3F8D6F2BAB559EB1D04E5E9321B0CAB936E65C744",
+			"AF08DA9177DDA93DAC12FB171817EEE71FFF7AC80904BF45A9119B60369FFEBD",
+			"BFCED1B0048EAC50B67B7896167B4C849B3CDB65F82CA382DBC27AB5447822BF",
+			"10DCD78E3851A492B438C2B67F98E5E943954B3252DC25E5AB9090168DD05F34",
+			"CE68341F7989338936833336D068F707DCDD7D20903D0C25DA3A361B1C5157B1",
+			"7F9D1A2E1EBE13275D0A12F27AD310D13BC36E078F7515D74DA8979A0041E8A9",
+			"950113646D1D6E037B4A38E32537DF628A1B083821F40CB43D5774A11D31AB39",
+			"7A76956C3EAFB4137F5126DBBA5E0CA712153635B2C0CF577B3F0195FC6F290F",
+			"5544F7D774B14AEF56C074A581EA17FEE7F28ECD2D49EECDE479EE5B9930578C",
+			"9FF38FED72E9052F9F65789A6509A4400981DCD296A8736D5873888850659AE7",
+			"C678B6D860284A1C63E22C147B9C340392FAE24291F2B3F1829626E3892D95D7",
+			"CFFE1939438E9B2479999CDFF70902CB8547EDDFB81CCB947B77497B32503B12",
+			"97FCAACBF030BC246CED1983376FA72B7E75D99D94A70F4DD2733C4335C6A72F",
+			"DBC0D2B6AB90A55994628D38D0C2058464972D68DEE33360B9C11D5B1E43A07E",
+			"2DE0966DAF2F8B1C2E18BC1AD9704A68D4DBA84729AF48ADB7A0B174CFF6F36E",
+			"E94C39A54A98307FAA70B5B4F89695A23BDBB92C43B17F26CCCB7005C6B9C28D",
+			"18A6A990C8B35EBDFC7C95D827357AFA1FCA8A92FD719F851DD01AAFCD53486A",
+			"49353FEA39BA63B1F85B2B4FBCDE44B7BE7444E39328A0AC3E2B8BCBF016D66D",
+			"964E915CD5E2B2071725CABFCB045B007FBF21EC8A1F45EC11317BA87905E790",
+			"2FE4B17170E59750E8D9ECBE2CF3D73FB57D2E985E1419C70572B974F03CE0BB",
+			"A8D7E4DAB780A08D4715ED43E8A45C0AC330DE426430F69D23B70EDB1955C4BF",
+			"098954D51FFF65808107FCCF064FCF56852F54934DA55CC909C7E552BC76492F",
+			"E9F6760E32CD8021A3BC941D0A5061CBBA89142E007503B8DC842B7E2819E230",
+			"BBE83F4ECC2BDECBCD454F8F19C5126AC62C58F97DD949BF693501D628297551",
+			"B9AB4CE57F2D34F39255ABB50D532280EBFAFA33D7254B59E9F6082B05542E4E",
+			"35DD37D5871448AFB03031A8B4516E84B3F256D8ACA0B0B90FD22063EDC29FCA",
+			"D9A11FBB3D9808E43A9BF55BA91F81CAC8C93882F9475F5F947AE053EE56E63C",
+			"C7D9F16864A76E947BD94E1D8E17DEBCD873DB391292ED4F30F5611484119414",
+			"565C31F7DE89EA27D0E4366228B03343325928EE6E6F87946F423357E7C6A9F9",
+			"99170A5DC311554459B97885E2F2EA28BC4097B116C524D27A13F18BBEDC4FF5",
+			"071582401C38434DB422061193D6F6A7B4B81B3FA97511E265D34954DAF3CEBD",
+			"B344C470397BBA52BAC7A9A18531294BECB53939887E8175565601C0364E3228",
+			"EF1955914B609F9316F50EDF91E513AF56963B0DCA418FC0D60F6DCEDC314222",
+			"364F6FFA464EE52E6C3B8E3E336139D3F943AEE7FEBF21B8088E049589C432E0",
+			"D49503536ABCA3453A6C27934E31188A957BAF61700CFF4E37624AE5A48FA6E9",
+			"501F65EDB3034D07907F30421D78C5DE1A804AADB9CFA7410CE2A38C344A6EED",
+			"D363EFF5F09779962CD16E2ABD791E3358627E1A149BBA217F9B6AF1EBF78BAF",
+			"D20D8C88C8FFE65F917F1DD5F8886C6156986E2EF3ED091B5FA7867CAF35E149",
+			"81A1549FD6573DA596FBF83A12884624E728E8C83C334074F1BCC3D275AFE51A",
+			"71F1CE2490D20B07E6C42178C4BBB92E0A9C32D5EAE453050C335248857FA9E7",
+			"142DE49FFF7A7C3D64A53DC924FE7AC99F6A419D382595F4150F361DAB9DEC26",
+			"C61BB3A141E50E8C2785338347F2BA087CA9723FBB2E8988CE2F8642CA0712DC",
+			"59300222B4561E00C2B5A03F71471A6FD5F9E858292504D565FA4F227A2B6D79",
+			"93CBE0B699C2585D1D95B0A5FCF90BC617EFEE45B0DEE6409E4C1269BAA4BF37",
+			"D79476A84EE20D060A56A5F0BFE392727EBA726D8C94094B5E5637885F29BC2B",
+			"D586BD01C5C217F6233003B5A6CFE6AD24C0E332B70019B09DA058C67844F20C",
+			"E4D9429322CD065A1FAB64EA29A2DDF78AF38731C02BA9807DC7785B8EFDFC80",
+			"486289DDCC3D6780222BBFAE617256062BC60A63A6F3B3F2177E00F9FC32F791",
+			"522E23F3925E319E9C2ED44081CE5FBD964781CE734B3C84F05D129681949A4C",
+			"046E3ECAAF453CE9962ACEEFA82E1C84F5B4B0B0D2DEEEB41AF3DBE25D8F45DA",
+			"F9F4892ED96BD438C4C118BFE78FEAAE07A69AFDCC42261AF8549E1A3AA5E00D",
+			"2102AE466EBB1148E87FBB46217A360E310CB380DB6F7503B5FDFC5D3132C498",
+			"DAF8E9829FE96B5FCAC09AFBDDD2CDB4B862225B055B696055B6344CF97AAFAE",
+			"FF577222C14F0A3A4E4B705B92903BA4730499AF921549FF13AE978D09FE5557",
+			"D9E92AA246BF719E7A4C10EC2158C4A649CAD48CEBF4A71ECF05DAF5AC8D77B0",
+			"ABBDCDD7ED5C08609853EAB63B5E0B35352787BAA0D7C22FC7F6AA2DE59AEA61",
+			"03727073C2E134B15A0F544DD2B1FB1874F85198B05A2E7D963EF2C96B33BE31",
+			"4659D2B743848A2C19EBB029435DCB0F4E9D2827355FC492CCEC0A73B49C9921",
+			"46C9FEB55D1209028D2636B81555A78630C05B1BA332F41CF6F7FD1431714200",
+			"1A4FF12616EEFC89990A98FD5071D26384547DDC3E203C9407A3AEC79624C7DA",
+			"8A328A1CEDFE552CD1E649DE1E7F268B2D8D5432157064C84AE7D6A36EB5DBCB",
+			"57E3306D881EDB4F0A804D18B7097475E74733427B72F0C124B33C9D7ED25117",
+			"E805A1E290CF24563B544EBE544C19F93E666E6F69AE2C15FB152FE3FF26DA89",
+			"B49B52E587A1EE60AC042E70F8B383F289C350C893AE7DC1B592BF39B0364963",
+			"190E714FADA5156EEC8177F83F90097891B534F885818A0681536D601170FC20",
+			"D4C718BC4AE8AE5F9EEDECA8E272B93310E8B35AF3EEAB370E09B88E1914F7AF",
+			"3FA9DDFB67E2F199B10BB459132D0A262C046F22062DC67D5E90277E7CB39E2D",
+			"D6B04D3B7651DD7EE34A1D250E7A8D6B53C065C6C8E635281BDEA12E35F6A8C9",
+			"21874B8B4D2DBC4F3A88A0FBBCB05C6343ED7F5A0FAE657D230E343DFBA08D33",
+			"B5B4071DBFC73A668F9887E6078735A108DE8A1C7797DA9BFCB6BE43A9F2FE9B",
+			"049A7F41061A9E609F91508BFFCFC14AE3273522064480CACD04F3FF001A4778",
+			"6BFA9AAE5EC05779371F77E76BB8417E3550C2321FD6109CFB4A3D794A9A80D2",
+			"F43C732873F24C13AA9119FF184CCCF4B69E38A8965C6B651F2B1D1F15F6DC9C",
+			"67FEF95D9260789031865CED6120F37D3A6853C7E70757A732AB0EDB696703D3",
+			"EE97F453F06791ED6DC93D9526A50E6878EDEFD694AF1EED9C1169FA2777B874",
+			"50065E535A213CF6DE0C89A556B9AE70D1E0CCD25BB9C1696B17B224BAD6BF27",
+			"6B02E63195AD0CF8455A4B4CFE30E3F59338E69C052B8E7B5092EF950A16DA0B",
+			"7C45D833AFF07862A5B1CFDBA0AB40676AD047C430A121046C47BEC883A7DE39",
+			"944F6DE09134DFB69AEBA33AC6ECC6B052E762596BF6823522AF003AB672E811",
+			"B5635C95FF7296E2ED2DF212162350974A29C6465A314CD1D83CC2687A19255F",
+			"506C11B9D90E8B1D57277707199B8175CAF21ECD4377B28CC0C0F5A60EF4CDCF",
+			"93B633ABFA3469F8E846963877671A1759AC2C7873F910A3660D3257380841EE",
+			"D813F2FAB7F5C5CA4112CF68649A260E443F64EC5A371195B0774D261CC609DB",
+			"720BF5F26F4D2EAA1C2559E30F0946BEE328E230E3E2B3FB087E79E5A57D1D13",
+			"08DD9BDFD96B9F6364D0E29EEA8838B3DDF957BC36D8B9CA6FFE73E81B637FB3",
+			"1A4E4822EB4D7A595D94337FBFAF7F5BD30C088BA61EA5EF9D765E419FB69F6D",
+			"9E21F4F903B33FD9B4D8F77BC3E56167733EA705FAE4FA77A4EC0132764CA04B",
+			"7976033A39F7D952106F72FE81E2C5908C90FD9B083F4558FD080D236DA814BA",
+			"7B64978555326F9F60E8ED72C0DFF5D1B063E962E045F54D959F587D507A8359",
+			"758F450C88572E0B1B6BACA2AE4E125B61CF4F94C97DF93D2738259634305C14",
+			"D39BB9C3A48DB6CF8215E577001332C8A1082C0466DF6C0AEF02CDD06FFDB432",
+			"FC87614BAF287E07240AB57A8B888B20BF8D5108E27E0D4861BDD1307C66E300",
+			"B925A6CD0421AFF33E003E616A6591E994C3251F06F90CF3BF84470805E69B5F",
+			"98F076A4F7A2322E70CB6AF7C2D5BCF0B64BE8D8B25396C1A9AA4D20DB084E9B",
+			"2E6D02C36017F67FEFED53D75FD64E6BD9F1F30CCD97FB09A2EBEE47E2FBFCE1",
+			"B8D91274B9E9D4FB1DB956E4502757794FC8E9560F91B12363573FF03E224774",
+			"0647DFEDCD894A297884D9BC6CB569D87FBA195410E5CA30106C09B972D2E822",
+			"241260ED4AD1E87D64C8E531BFF53B55CA672B91E9E4FA163871700761B3F743",
+			"F95CFFA23AF5F6F48D14DEDB30BE846E3B097ADAF088F94E21E0BD5026C619BF",
+			"1BDA0492E7E4586ED23C8E176D113600252F59CF0D9F04BBB3598080CE64A656",
+			"993E1DE72D36D310A2853B80F17F58EE1877B51E57A764D5001F837CC7350524",
+		};
+		
+		for (int i = 0; i < 512; i++) {
+			// Do an index reversal within each group of 256 because the
+			// generated output array is presented backwards in the RNG
+			int group = i / 256;
+			int index = 255 - i % 256;
+			int row = index / 4;
+			int col = index % 4;
+			long expected = Long.parseUnsignedLong(output[group * 64 + row].substring((col + 0) * 16, (col + 1) * 16), 16);
+			assertEquals(expected, r.uniformLong());
+		}
+	}
+	
+	
+	@Test public void testBulkMatchesSingle() {
+		for (int len : new int[]{0, 1, 7, 255, 256, 257, 1000}) {
+			Random a = new Isaac64(null);
+			Random b = new Isaac64(null);
+			for (int i = 0; i < len % 5; i++) {  // Vary the starting position
+				a.uniformLong();
+				b.uniformLong();
+			}
+			
+			long[] longs = new long[len];
+			a.uniformLongs(longs);
+			for (long x : longs)
+				assertEquals(b.uniformLong(), x);
+			
+			double[] doubles = new double[len];
+			a.uniformDoubles(doubles);
+			for (double x : doubles)
+				assertEquals(b.uniformDouble(), x, 0);
+		}
+	}
+	
+}
@@ -1,5 +1,6 @@
 package p79068.util.random;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import org.junit.Test;
 
@@ -95,4 +96,53 @@ public class IsaacTest extends RandomTest {
 		}
 	}
 	
+	
+	@Test public void testBulkMatchesSingle() {
+		for (int len : new int[]{0, 1, 7, 255, 256, 257, 623, 624, 625, 1000, 3001}) {
+			Random a = new Isaac(null);
+			Random b = new Isaac(null);
+			for (int i = 0; i < len % 5; i++) {  // Vary the starting position
+				a.uniformInt();
+				b.uniformInt();
+			}
+			
+			int[] ints = new int[len];
+			a.uniformInts(ints);
+			for (int x : ints)
+				assertEquals(b.uniformInt(), x);
+			
+			long[] longs = new long[len];
+			a.uniformLongs(longs);
+			for (long x : longs)
+				assertEquals(b.uniformLong(), x);
+			
+			double[] doubles = new double[len];
+			a.uniformDoubles(doubles);
+			for (double x : doubles)
+				assertEquals(b.uniformDouble(), x, 0);
+		}
+	}
+	
+	
+	@Test public void testSaveRestoreState() {
+		Isaac r0 = new Isaac(null);
+		for (int i = 0; i < 1001; i++)
+			r0.uniformInt();
+		byte[] state = new byte[Isaac.STATE_LENGTH + 3];
+		r0.saveState(state, 3);
+		Isaac r1 = new Isaac(new int[256]);
+		r1.restoreState(state, 3);
+		for (int i = 0; i < 2000; i++)
+			assertEquals(r0.uniformInt(), r1.uniformInt());
+		assertArrayEquals(r0.saveState(), r1.saveState());
+	}
+	
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testRestoreStateWrongTag() {
+		byte[] state = new Isaac(null).saveState();
+		state[0] ^= 1;
+		new Isaac(new int[256]).restoreState(state);
+	}
+	
 }
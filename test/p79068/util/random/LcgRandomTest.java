@@ -0,0 +1,109 @@
+package p79068.util.random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+
+public final class LcgRandomTest extends RandomTest {
+	
+	protected Random getInstance() {
+		return new LcgRandom();
+	}
+	
+	
+	@Test public void testSaveRestoreState() {
+		LcgRandom r0 = new LcgRandom(2862933555777941757L, 3037000493L, 64, 5);
+		for (int i = 0; i < 1001; i++)
+			r0.uniformInt();
+		byte[] state = r0.saveState();
+		assertEquals(LcgRandom.STATE_LENGTH, state.length);
+		LcgRandom r1 = new LcgRandom(12345);  // Different parameters, which are restored too
+		r1.restoreState(state);
+		for (int i = 0; i < 2000; i++)
+			assertEquals(r0.uniformInt(), r1.uniformInt());
+		assertArrayEquals(r0.saveState(), r1.saveState());
+	}
+	
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testRestoreStateWrongVersion() {
+		byte[] state = new LcgRandom(1).saveState();
+		state[7]++;
+		new LcgRandom(2).restoreState(state);
+	}
+	
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testRestoreStateOtherGenerator() {
+		byte[] state = new MersenneTwister(1).saveState();
+		new LcgRandom(2).restoreState(state);
+	}
+	
+	
+	@Test public void testJavaRandomCompatible() {
+		for (long seed : new long[]{0, 1, -1, 123456789, 0x5DEECE66DL}) {
+			LcgRandom r0 = new LcgRandom(0x5DEECE66DL, 11, 48, seed ^ 0x5DEECE66DL);
+			java.util.Random r1 = new java.util.Random(seed);
+			for (int i = 0; i < 1000; i++)
+				assertEquals(r1.nextInt(), r0.uniformInt());
+		}
+	}
+	
+	
+	@Test public void testSkip() {
+		for (long n : new long[]{0, 1, 2, 3, 100, 1023, 12345}) {
+			LcgRandom r0 = new LcgRandom(777);
+			LcgRandom r1 = new LcgRandom(777);
+			for (long i = 0; i < n; i++)
+				r0.uniformInt();
+			r1.skip(n);
+			for (int i = 0; i < 10; i++)
+				assertEquals(r0.uniformInt(), r1.uniformInt());
+		}
+	}
+	
+	
+	@Test public void testSkipBackward() {
+		LcgRandom r0 = new LcgRandom(2862933555777941757L, 3037000493L, 64, 99);
+		int[] expected = new int[100];
+		for (int i = 0; i < expected.length; i++)
+			expected[i] = r0.uniformInt();
+		r0.skip(-100);
+		for (int i = 0; i < expected.length; i++)
+			assertEquals(expected[i], r0.uniformInt());
+		r0.skip(1L << 63);
+		r0.skip(1L << 63);  // Together a full 2^64, which is a multiple of the period
+		r0.skip(-expected.length);
+		assertEquals(expected[0], r0.uniformInt());
+	}
+	
+	
+	@Test public void testLeapfrog() {
+		LcgRandom parent = new LcgRandom(0x5DEECE66DL, 11, 48, 42 ^ 0x5DEECE66DL);
+		parent.uniformInt();
+		int k = 5;
+		LcgRandom[] children = parent.leapfrog(k);
+		int[] expected = new int[1000];
+		parent.uniformInts(expected);
+		for (int i = 0; i < expected.length; i++)
+			assertEquals(expected[i], children[i % k].uniformInt());
+	}
+	
+	
+	@Test public void testBlocks() {
+		LcgRandom parent = new LcgRandom(8);
+		LcgRandom[] blocks = parent.blocks(4, 250);
+		int[] expected = new int[1000];
+		parent.uniformInts(expected);
+		for (int i = 0; i < expected.length; i++)
+			assertEquals(expected[i], blocks[i / 250].uniformInt());
+	}
+	
+	
+	@Test(expected=IllegalStateException.class)
+	public void testLeapfrogEvenMultiplier() {
+		new LcgRandom(1220703126L, 1, 35, 1).leapfrog(2);
+	}
+	
+}
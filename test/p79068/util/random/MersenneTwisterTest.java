@@ -1,6 +1,8 @@
 package p79068.util.random;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import java.math.BigInteger;
 import org.junit.Test;
 
 
@@ -122,4 +124,98 @@ public final class MersenneTwisterTest extends RandomTest {
 			assertEquals(x, r.uniformInt() & 0xFFFFFFFFL);
 	}
 	
+	
+	@Test public void testSkip() {
+		long[] skips = {0, 1, 623, 624, 625, 10000, 1 << 20, (1 << 20) + 12345};
+		for (long n : skips) {
+			for (int pre : new int[]{0, 1, 400, 624}) {
+				MersenneTwister a = new MersenneTwister(new int[]{0x123, 0x234, 0x345, 0x456});
+				for (int i = 0; i < pre; i++)
+					a.uniformInt();
+				MersenneTwister b = a.clone();
+				for (long i = 0; i < n; i++)
+					a.uniformInt();
+				b.skip(n);
+				for (int i = 0; i < 2000; i++)
+					assertEquals(a.uniformInt(), b.uniformInt());
+			}
+		}
+	}
+	
+	
+	@Test public void testSkipBigConsistency() {
+		BigInteger x = BigInteger.ONE.shiftLeft(100).add(BigInteger.valueOf(7));
+		BigInteger y = BigInteger.valueOf(3).shiftLeft(70);
+		MersenneTwister a = new MersenneTwister(5489);
+		MersenneTwister b = a.clone();
+		a.skip(x);
+		a.uniformInt();
+		a.skip(y);
+		b.skip(x.add(y).add(BigInteger.ONE));
+		for (int i = 0; i < 2000; i++)
+			assertEquals(a.uniformInt(), b.uniformInt());
+	}
+	
+	
+	@Test public void testSubstreams() {
+		MersenneTwister base = new MersenneTwister(42L);
+		MersenneTwister[] subs = base.substreams(3);
+		MersenneTwister expect = base.clone();
+		for (int i = 0; i < subs.length; i++) {
+			MersenneTwister r = expect.clone();
+			for (int j = 0; j < 1000; j++)
+				assertEquals(r.uniformInt(), subs[i].uniformInt());
+			expect.skip(BigInteger.ONE.shiftLeft(MersenneTwister.SUBSTREAM_SPACING_LOG2));
+		}
+	}
+	
+	
+	@Test public void testBulkMatchesSingle() {
+		for (int len : new int[]{0, 1, 7, 255, 256, 257, 623, 624, 625, 1000, 3001}) {
+			Random a = new MersenneTwister(12345);
+			Random b = new MersenneTwister(12345);
+			for (int i = 0; i < len % 5; i++) {  // Vary the starting position
+				a.uniformInt();
+				b.uniformInt();
+			}
+			
+			int[] ints = new int[len];
+			a.uniformInts(ints);
+			for (int x : ints)
+				assertEquals(b.uniformInt(), x);
+			
+			long[] longs = new long[len];
+			a.uniformLongs(longs);
+			for (long x : longs)
+				assertEquals(b.uniformLong(), x);
+			
+			double[] doubles = new double[len];
+			a.uniformDoubles(doubles);
+			for (double x : doubles)
+				assertEquals(b.uniformDouble(), x, 0);
+		}
+	}
+	
+	
+	@Test public void testSaveRestoreState() {
+		MersenneTwister r0 = new MersenneTwister(1234);
+		for (int i = 0; i < 1001; i++)
+			r0.uniformInt();
+		byte[] state = new byte[MersenneTwister.STATE_LENGTH + 3];
+		r0.saveState(state, 3);
+		MersenneTwister r1 = new MersenneTwister(99);
+		r1.restoreState(state, 3);
+		for (int i = 0; i < 2000; i++)
+			assertEquals(r0.uniformInt(), r1.uniformInt());
+		assertArrayEquals(r0.saveState(), r1.saveState());
+	}
+	
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testRestoreStateWrongTag() {
+		byte[] state = new MersenneTwister(1234).saveState();
+		state[0] ^= 1;
+		new MersenneTwister(99).restoreState(state);
+	}
+	
 }
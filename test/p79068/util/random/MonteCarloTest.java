@@ -0,0 +1,105 @@
+package p79068.util.random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.ToDoubleFunction;
+import org.junit.Test;
+
+
+public final class MonteCarloTest {
+	
+	private static final ToDoubleFunction<Random> QUARTER_CIRCLE = rand -> {
+		double x = rand.uniformDouble();
+		double y = rand.uniformDouble();
+		return x * x + y * y < 1 ? 4 : 0;
+	};
+	
+	
+	@Test public void testEstimatePi() {
+		RunningStatistics s = MonteCarlo.run(QUARTER_CIRCLE, 1000000, 1);
+		assertEquals(1000000, s.getCount());
+		assertEquals(Math.PI, s.getMean(), 5 * s.getStandardError());
+		assertEquals(Math.sqrt(Math.PI * (4 - Math.PI)), s.getStandardDeviation(), 0.01);
+		assertEquals(0, s.getMin(), 0);
+		assertEquals(4, s.getMax(), 0);
+	}
+	
+	
+	@Test public void testReproducibleAcrossPools() {
+		ToDoubleFunction<Random> kernel = rand -> Math.exp(rand.uniformDouble());
+		long n = 300001;  // Not a multiple of the block size
+		RunningStatistics[] results = {
+			MonteCarlo.run(kernel, n, 42, 1000, new ForkJoinPool(1)),
+			MonteCarlo.run(kernel, n, 42, 1000, new ForkJoinPool(4)),
+			MonteCarlo.run(kernel, n, 42, 1000, ForkJoinPool.commonPool()),
+		};
+		for (RunningStatistics s : results) {
+			assertEquals(n, s.getCount());
+			assertEquals(Double.doubleToRawLongBits(results[0].getMean()), Double.doubleToRawLongBits(s.getMean()));
+			assertEquals(Double.doubleToRawLongBits(results[0].getVariance()), Double.doubleToRawLongBits(s.getVariance()));
+		}
+		assertEquals(Math.E - 1, results[0].getMean(), 0.002);
+		
+		RunningStatistics other = MonteCarlo.run(kernel, n, 43, 1000, ForkJoinPool.commonPool());
+		assertTrue(other.getMean() != results[0].getMean());
+	}
+	
+	
+	@Test public void testBlocksUseTheirOwnStreams() {
+		// Block k draws from stream k, so the first block's first sample is predictable
+		RunningStatistics s = MonteCarlo.run(Random::uniformDouble, 1, 7, 10, ForkJoinPool.commonPool());
+		assertEquals(new Philox4x32(7, 0).uniformDouble(), s.getMean(), 0);
+	}
+	
+	
+	@Test public void testZeroSamples() {
+		RunningStatistics s = MonteCarlo.run(QUARTER_CIRCLE, 0, 1);
+		assertEquals(0, s.getCount());
+		assertTrue(Double.isNaN(s.getMean()));
+	}
+	
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testNegativeSamples() {
+		MonteCarlo.run(QUARTER_CIRCLE, -1, 1);
+	}
+	
+	
+	@Test public void testRunningStatisticsMerge() {
+		Random rand = new Xoshiro256PlusPlus(5);
+		double[] data = new double[1001];
+		for (int i = 0; i < data.length; i++)
+			data[i] = 1e6 + rand.uniformDouble();  // A large offset defeats the naive formula
+		
+		double sum = 0;
+		for (double x : data)
+			sum += x;
+		double mean = sum / data.length;
+		double sqrDev = 0;
+		for (double x : data)
+			sqrDev += (x - mean) * (x - mean);
+		double variance = sqrDev / (data.length - 1);
+		
+		RunningStatistics all = new RunningStatistics();
+		RunningStatistics a = new RunningStatistics();
+		RunningStatistics b = new RunningStatistics();
+		for (int i = 0; i < data.length; i++) {
+			all.accept(data[i]);
+			(i < 300 ? a : b).accept(data[i]);
+		}
+		a.merge(b);
+		for (RunningStatistics s : new RunningStatistics[]{all, a}) {
+			assertEquals(data.length, s.getCount());
+			assertEquals(mean, s.getMean(), 1e-8);
+			assertEquals(variance, s.getVariance(), 1e-9);
+		}
+		assertEquals(all.getMin(), a.getMin(), 0);
+		assertEquals(all.getMax(), a.getMax(), 0);
+		
+		RunningStatistics empty = new RunningStatistics();
+		empty.merge(all);
+		assertEquals(all.getVariance(), empty.getVariance(), 0);
+	}
+	
+}
@@ -0,0 +1,57 @@
+package p79068.util.random;
+
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+
+public final class Pcg32Test extends RandomTest {
+	
+	protected Random getInstance() {
+		return new Pcg32();
+	}
+	
+	
+	@Test public void testReference() {
+		int[] expected = {0xA15C02B7, 0x7B47F409, 0xBA1D3330, 0x83D2F293, 0xBFA4784B, 0xCBED606E};  // From pcg32-demo
+		Random r = new Pcg32(42, 54);
+		for (int x : expected)
+			assertEquals(x, r.uniformInt());
+	}
+	
+	
+	@Test public void testAdvance() {
+		for (long n : new long[]{0, 1, 2, 100, 12345}) {
+			Pcg32 a = new Pcg32(42, 54);
+			Pcg32 b = a.clone();
+			for (long i = 0; i < n; i++)
+				a.uniformInt();
+			b.advance(n);
+			for (int i = 0; i < 100; i++)
+				assertEquals(a.uniformInt(), b.uniformInt());
+		}
+	}
+	
+	
+	@Test public void testAdvanceBackward() {
+		Pcg32 a = new Pcg32(1, 2);
+		Pcg32 b = a.clone();
+		for (int i = 0; i < 1000; i++)
+			a.uniformInt();
+		a.advance(-1000);
+		for (int i = 0; i < 100; i++)
+			assertEquals(b.uniformInt(), a.uniformInt());
+	}
+	
+	
+	@Test public void testStreamsDiffer() {
+		Random a = new Pcg32(42, 0);
+		Random b = new Pcg32(42, 1);
+		int same = 0;
+		for (int i = 0; i < 100; i++) {
+			if (a.uniformInt() == b.uniformInt())
+				same++;
+		}
+		assertEquals(0, same);
+	}
+	
+}
@@ -0,0 +1,47 @@
+package p79068.util.random;
+
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+
+public final class Pcg64DxsmTest extends RandomTest {
+	
+	protected Random getInstance() {
+		return new Pcg64Dxsm();
+	}
+	
+	
+	@Test public void testReference() {
+		// From the reference C code with 128-bit seed 0x0123456789ABCDEF_FEDCBA9876543210 and stream 0x0F1E2D3C4B5A6978_8796A5B4C3D2E1F0
+		long[] expected = {0xCC7C5B60ECB366D1L, 0xC77C92F1ACAF7C5DL, 0x6675B59001D48E92L, 0x71A2D9B96773A509L, 0x0CD31D49C9D7A467L, 0x905580C279EAD150L};
+		Random r = new Pcg64Dxsm(0x0123456789ABCDEFL, 0xFEDCBA9876543210L, 0x0F1E2D3C4B5A6978L, 0x8796A5B4C3D2E1F0L);
+		for (long x : expected)
+			assertEquals(x, r.uniformLong());
+	}
+	
+	
+	@Test public void testAdvance() {
+		for (long n : new long[]{0, 1, 2, 100, 12345}) {
+			Pcg64Dxsm a = new Pcg64Dxsm(-1, -2, 3, 4);
+			Pcg64Dxsm b = a.clone();
+			for (long i = 0; i < n; i++)
+				a.uniformLong();
+			b.advance(n);
+			for (int i = 0; i < 100; i++)
+				assertEquals(a.uniformLong(), b.uniformLong());
+		}
+	}
+	
+	
+	@Test public void testAdvanceComposes() {
+		Pcg64Dxsm a = new Pcg64Dxsm(5, 6);
+		Pcg64Dxsm b = a.clone();
+		a.advance(-1L);  // 2^64 - 1
+		a.advance(1);
+		b.advance(Long.MIN_VALUE);  // 2^63
+		b.advance(Long.MIN_VALUE);
+		for (int i = 0; i < 100; i++)
+			assertEquals(a.uniformLong(), b.uniformLong());
+	}
+	
+}
@@ -0,0 +1,47 @@
+package p79068.util.random;
+
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+
+public final class Pcg64Test extends RandomTest {
+	
+	protected Random getInstance() {
+		return new Pcg64();
+	}
+	
+	
+	@Test public void testReference() {
+		// From the reference C code with 128-bit seed 0x0123456789ABCDEF_FEDCBA9876543210 and stream 0x0F1E2D3C4B5A6978_8796A5B4C3D2E1F0
+		long[] expected = {0x4D1AC2C001800C11L, 0x171AB1DB52F8CA2FL, 0x8B5D0841F9D3C460L, 0xE52531DAE61ECCC4L, 0xBABD1227B58B0717L, 0x7FB5C2E6502F792FL};
+		Random r = new Pcg64(0x0123456789ABCDEFL, 0xFEDCBA9876543210L, 0x0F1E2D3C4B5A6978L, 0x8796A5B4C3D2E1F0L);
+		for (long x : expected)
+			assertEquals(x, r.uniformLong());
+	}
+	
+	
+	@Test public void testAdvance() {
+		for (long n : new long[]{0, 1, 2, 100, 12345}) {
+			Pcg64 a = new Pcg64(-1, -2, 3, 4);
+			Pcg64 b = a.clone();
+			for (long i = 0; i < n; i++)
+				a.uniformLong();
+			b.advance(n);
+			for (int i = 0; i < 100; i++)
+				assertEquals(a.uniformLong(), b.uniformLong());
+		}
+	}
+	
+	
+	@Test public void testAdvanceComposes() {
+		Pcg64 a = new Pcg64(5, 6);
+		Pcg64 b = a.clone();
+		a.advance(-1L);  // 2^64 - 1
+		a.advance(1);
+		b.advance(Long.MIN_VALUE);  // 2^63
+		b.advance(Long.MIN_VALUE);
+		for (int i = 0; i < 100; i++)
+			assertEquals(a.uniformLong(), b.uniformLong());
+	}
+	
+}
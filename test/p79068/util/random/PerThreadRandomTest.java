@@ -0,0 +1,36 @@
+package p79068.util.random;
+
+import static org.junit.Assert.assertFalse;
+import java.util.Arrays;
+import org.junit.Test;
+
+
+public final class PerThreadRandomTest extends RandomTest {
+	
+	protected Random getInstance() {
+		return new PerThreadRandom(new MersenneTwister());
+	}
+	
+	
+	@Test public void testThreadsDiffer() throws InterruptedException {
+		final Random r = getInstance();
+		final long[][] outputs = new long[4][100];
+		Thread[] threads = new Thread[outputs.length];
+		for (int i = 0; i < threads.length; i++) {
+			final long[] out = outputs[i];
+			threads[i] = new Thread() {
+				public void run() {
+					r.uniformLongs(out);
+				}
+			};
+			threads[i].start();
+		}
+		for (Thread t : threads)
+			t.join();
+		for (int i = 0; i < outputs.length; i++) {
+			for (int j = i + 1; j < outputs.length; j++)
+				assertFalse(Arrays.equals(outputs[i], outputs[j]));
+		}
+	}
+	
+}
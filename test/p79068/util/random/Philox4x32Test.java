@@ -0,0 +1,72 @@
+package p79068.util.random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+
+public final class Philox4x32Test extends RandomTest {
+	
+	protected Random getInstance() {
+		return new Philox4x32();
+	}
+	
+	
+	@Test public void testKnownAnswers() {
+		// From the Random123 known-answer tests (kat_vectors), as {counter[4], key[2], output[4]}
+		int[][] cases = {
+			{0x00000000, 0x00000000, 0x00000000, 0x00000000, 0x00000000, 0x00000000, 0x6627E8D5, 0xE169C58D, 0xBC57AC4C, 0x9B00DBD8},
+			{0xFFFFFFFF, 0xFFFFFFFF, 0xFFFFFFFF, 0xFFFFFFFF, 0xFFFFFFFF, 0xFFFFFFFF, 0x408F276D, 0x41C83B0E, 0xA20BC7C6, 0x6D5451FD},
+			{0x243F6A88, 0x85A308D3, 0x13198A2E, 0x03707344, 0xA4093822, 0x299F31D0, 0xD16CFE09, 0x94FDCCEB, 0x5001E420, 0x24126EA1},
+		};
+		for (int[] cs : cases) {
+			int[] c = {cs[0], cs[1], cs[2], cs[3]};
+			Philox4x32.philox(c, cs[4], cs[5]);
+			assertArrayEquals(new int[]{cs[6], cs[7], cs[8], cs[9]}, c);
+		}
+		
+		Philox4x32 r = new Philox4x32(0);
+		assertEquals(0x6627E8D5E169C58DL, r.uniformLong());
+		assertEquals(0xBC57AC4C9B00DBD8L, r.uniformLong());
+	}
+	
+	
+	@Test public void testRandomAccess() {
+		Philox4x32 r = new Philox4x32(0x0123456789ABCDEFL, 77);
+		long[] seq = new long[101];
+		for (int i = 0; i < seq.length; i++)
+			seq[i] = r.uniformLong();
+		for (int i = 0; i < seq.length; i++)
+			assertEquals(seq[i], r.valueAt(i));
+		
+		for (int start = 0; start < 4; start++) {
+			long[] b = new long[seq.length - start];
+			r.valuesAt(start, b, 0, b.length);
+			for (int i = 0; i < b.length; i++)
+				assertEquals(seq[start + i], b[i]);
+		}
+		
+		for (int i = 0; i < seq.length; i++) {
+			r.seek(i);
+			assertEquals(seq[i], r.uniformLong());
+		}
+	}
+	
+	
+	@Test public void testBulkMatchesSingle() {
+		for (int pre = 0; pre < 4; pre++) {
+			Philox4x32 a = new Philox4x32(5, 6);
+			Philox4x32 b = a.clone();
+			for (int i = 0; i < pre; i++) {
+				a.uniformInt();
+				b.uniformInt();
+			}
+			long[] longs = new long[51];
+			a.uniformLongs(longs);
+			for (long x : longs)
+				assertEquals(b.uniformLong(), x);
+			assertEquals(b.uniformInt(), a.uniformInt());
+		}
+	}
+	
+}
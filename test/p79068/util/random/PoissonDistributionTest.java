@@ -0,0 +1,64 @@
+package p79068.util.random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+
+public final class PoissonDistributionTest {
+	
+	@Test public void testMoments() {
+		Random rand = new MersenneTwister(1);
+		double[] lambdas = {0, 0.5, 9.99, 10, 35.5, 1000, 1e8};
+		for (double lambda : lambdas) {
+			PoissonDistribution dist = new PoissonDistribution(lambda);
+			int trials = 100000;
+			double sum = 0, sumSqr = 0;
+			for (int i = 0; i < trials; i++) {
+				int k = dist.sample(rand);
+				assertTrue(k >= 0);
+				sum += k;
+				sumSqr += (double)k * k;
+			}
+			double mean = sum / trials;
+			double var = sumSqr / trials - mean * mean;
+			assertEquals(lambda, mean, 6 * Math.sqrt(lambda / trials) + 1e-9);
+			assertEquals(lambda, var, 0.03 * lambda + 1e-9);
+		}
+	}
+	
+	
+	@Test public void testDistributionInversion() {
+		checkDistribution(4.5);
+	}
+	
+	
+	@Test public void testDistributionPtrs() {
+		checkDistribution(10);
+		checkDistribution(250);
+	}
+	
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testInvalidMean() {
+		new PoissonDistribution(-1);
+	}
+	
+	
+	// Checks samples against the exact probability mass function.
+	private static void checkDistribution(double lambda) {
+		int maxK = (int)(lambda + 20 * Math.sqrt(lambda) + 20);
+		double[] pmf = new double[maxK + 1];
+		int mode = (int)lambda;
+		pmf[mode] = 1;
+		for (int k = mode + 1; k <= maxK; k++)
+			pmf[k] = pmf[k - 1] * lambda / k;
+		for (int k = mode - 1; k >= 0; k--)
+			pmf[k] = pmf[k + 1] * (k + 1) / lambda;
+		
+		PoissonDistribution dist = new PoissonDistribution(lambda);
+		Random rand = new MersenneTwister((int)lambda);
+		GoodnessOfFit.checkDistribution(pmf, () -> dist.sample(rand));
+	}
+	
+}
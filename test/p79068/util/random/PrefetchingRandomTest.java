@@ -0,0 +1,125 @@
+package p79068.util.random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Test;
+
+
+public final class PrefetchingRandomTest extends RandomTest {
+	
+	private List<PrefetchingRandom> instances = new ArrayList<PrefetchingRandom>();
+	
+	
+	protected Random getInstance() {
+		PrefetchingRandom result = new PrefetchingRandom(new MersenneTwister());
+		instances.add(result);
+		return result;
+	}
+	
+	
+	@After public void closeInstances() {
+		for (PrefetchingRandom r : instances)
+			r.close();
+	}
+	
+	
+	@Test public void testSameSequence() {
+		Random expect = new Xoshiro256PlusPlus(1);
+		try (PrefetchingRandom r = new PrefetchingRandom(new Xoshiro256PlusPlus(1), 100, 3, Thread::new)) {
+			for (int i = 0; i < 1000; i++)
+				assertEquals(expect.uniformLong(), r.uniformLong());
+			long[] b = new long[777];
+			r.uniformLongs(b, 1, 775);  // Spans several blocks, starting mid-block
+			for (int i = 1; i < 776; i++)
+				assertEquals(expect.uniformLong(), b[i]);
+			assertEquals(0, b[0]);
+			assertEquals(0, b[776]);
+			for (int i = 0; i < 1000; i++)
+				assertEquals(expect.uniformLong(), r.uniformLong());
+		}
+	}
+	
+	
+	@Test(expected=IllegalStateException.class)
+	public void testClosed() {
+		PrefetchingRandom r = new PrefetchingRandom(new MersenneTwister(2));
+		r.uniformInt();
+		r.close();
+		r.close();
+		r.uniformInt();
+	}
+	
+	
+	@Test public void testCoreFailure() {
+		Random core = new AbstractRandom() {
+			private int calls = 0;
+			public long uniformLong() {
+				calls++;
+				if (calls > 150)
+					throw new UnsupportedOperationException();
+				return calls;
+			}
+		};
+		try (PrefetchingRandom r = new PrefetchingRandom(core, 50, 2, Thread::new)) {
+			for (int i = 1; i <= 150; i++)
+				assertEquals(i, r.uniformLong());
+			try {
+				r.uniformLong();
+				fail();
+			} catch (IllegalStateException e) {
+				assertEquals(UnsupportedOperationException.class, e.getCause().getClass());
+			}
+		}
+	}
+	
+	
+	@Test public void testProducerInterrupted() {
+		Thread[] producer = new Thread[1];
+		try (PrefetchingRandom r = new PrefetchingRandom(new MersenneTwister(3), 10, 2, task -> {
+				producer[0] = new Thread(task);
+				return producer[0];
+			})) {
+			producer[0].interrupt();  // Not by close(), as when an executor shuts down
+			try {
+				for (int i = 0; i < 100; i++)  // At most the two blocks already filled
+					r.uniformLong();
+				fail();
+			} catch (IllegalStateException e) {
+				assertEquals(InterruptedException.class, e.getCause().getClass());
+			}
+		}
+	}
+	
+	
+	@Test public void testProducerInterruptedWhileIdle() throws InterruptedException {
+		Thread[] producer = new Thread[1];
+		try (PrefetchingRandom r = new PrefetchingRandom(new MersenneTwister(4), 10, 2, task -> {
+				producer[0] = new Thread(task);
+				return producer[0];
+			})) {
+			// Wait until both blocks are filled and the producer is parked waiting for an empty one
+			long deadline = System.currentTimeMillis() + 10000;
+			while (producer[0].getState() != Thread.State.WAITING) {
+				assertTrue(System.currentTimeMillis() < deadline);
+				Thread.sleep(1);
+			}
+			producer[0].interrupt();
+			producer[0].join(10000);
+			assertFalse(producer[0].isAlive());
+			for (int i = 0; i < 20; i++)  // The two filled blocks
+				r.uniformLong();
+			try {
+				r.uniformLong();
+				fail();
+			} catch (IllegalStateException e) {
+				assertEquals(InterruptedException.class, e.getCause().getClass());
+			}
+		}
+	}
+	
+}
@@ -0,0 +1,238 @@
+package p79068.util.random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+
+public final class QuasiRandomSequenceTest {
+	
+	/* Sobol' sequence */
+	
+	@Test public void testSobolFirstPoints() {
+		// Same as the unscrambled output of common implementations such as SciPy's
+		double[][] expect = {
+			{0.000, 0.000, 0.000},
+			{0.500, 0.500, 0.500},
+			{0.750, 0.250, 0.250},
+			{0.250, 0.750, 0.750},
+			{0.375, 0.375, 0.625},
+			{0.875, 0.875, 0.125},
+			{0.625, 0.125, 0.875},
+			{0.125, 0.625, 0.375},
+		};
+		QuasiRandomSequence seq = new SobolSequence(3);
+		double[] p = new double[3];
+		for (int i = 0; i < expect.length; i++) {
+			seq.point(i, p);
+			assertArrayEquals(expect[i], p, 0);
+		}
+	}
+	
+	
+	@Test public void testSobolStratification() {
+		testStratification(new SobolSequence(SobolSequence.MAX_DIMENSION), 0, 10);
+		testStratification(new SobolSequence(SobolSequence.MAX_DIMENSION), 3 << 10, 10);
+		testStratification(new SobolSequence(SobolSequence.MAX_DIMENSION, new MersenneTwister(1)), 0, 10);
+		testStratification(new SobolSequence(SobolSequence.MAX_DIMENSION, new MersenneTwister(2)), 1 << 12, 12);
+	}
+	
+	
+	@Test public void testSobolFirstTwoCoordinatesAreANet() {
+		// The first two coordinates form a (0, 2)-sequence: 2^m points put one point in every dyadic box of area 2^-m
+		for (QuasiRandomSequence seq : new QuasiRandomSequence[]{new SobolSequence(2), new SobolSequence(2, new MersenneTwister(3))}) {
+			int m = 8;
+			double[] b = new double[2 << m];
+			seq.points(0, 1 << m, b);
+			for (int k = 0; k <= m; k++) {
+				boolean[] seen = new boolean[1 << m];
+				for (int i = 0; i < 1 << m; i++) {
+					int x = (int)(b[i] * (1 << k));
+					int y = (int)(b[(1 << m) + i] * (1 << (m - k)));
+					int box = x << (m - k) | y;
+					assertTrue(!seen[box]);
+					seen[box] = true;
+				}
+			}
+		}
+	}
+	
+	
+	@Test public void testSobolScrambledDiffers() {
+		double[] a = new double[5];
+		double[] b = new double[5];
+		new SobolSequence(5, new MersenneTwister(4)).point(100, a);
+		new SobolSequence(5, new MersenneTwister(5)).point(100, b);
+		assertTrue(a[0] != b[0]);
+	}
+	
+	
+	@Test public void testSobolPrimitivePolynomials() {
+		// The same (s, a) as the first rows of Joe and Kuo's table
+		int[][] expect = {{1, 0}, {2, 1}, {3, 1}, {3, 2}, {4, 1}, {4, 4}, {5, 2}, {5, 4}, {5, 7}, {5, 11}, {5, 13}, {5, 14}, {6, 1}, {6, 13}, {6, 16}, {6, 19}, {6, 22}, {6, 25}, {7, 1}, {7, 4}};
+		int[][] polys = SobolSequence.primitivePolynomials(1110);
+		for (int i = 0; i < expect.length; i++)
+			assertArrayEquals(expect[i], polys[i]);
+		
+		// There are phi(2^s - 1) / s primitive polynomials of degree s
+		int[] counts = {1, 1, 2, 2, 6, 6, 18, 16, 48, 60, 176, 144, 630};
+		int[] actual = new int[counts.length];
+		for (int[] p : polys)
+			actual[p[0] - 1]++;
+		assertArrayEquals(counts, actual);
+	}
+	
+	
+	@Test public void testSobolMaxDimension() {
+		SobolSequence seq = new SobolSequence(SobolSequence.MAX_DIMENSION);
+		double[] p = new double[SobolSequence.MAX_DIMENSION];
+		seq.point(1, p);
+		for (double x : p)
+			assertEquals(0.5, x, 0);  // Every direction number m_1 is 1
+		testStratification(seq, 1 << 8, 8);
+	}
+	
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testSobolDimensionTooLarge() {
+		new SobolSequence(SobolSequence.MAX_DIMENSION + 1);
+	}
+	
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testSobolIndexTooLarge() {
+		new SobolSequence(1).point(1L << 32, new double[1]);
+	}
+	
+	
+	
+	/* Halton sequence */
+	
+	@Test public void testHaltonFirstPoints() {
+		double[][] expect = {
+			{0,     0,     0},
+			{1/2.0, 1/3.0, 1/5.0},
+			{1/4.0, 2/3.0, 2/5.0},
+			{3/4.0, 1/9.0, 3/5.0},
+			{1/8.0, 4/9.0, 4/5.0},
+			{5/8.0, 7/9.0, 1/25.0},
+		};
+		QuasiRandomSequence seq = new HaltonSequence(3);
+		double[] p = new double[3];
+		for (int i = 0; i < expect.length; i++) {
+			seq.point(i, p);
+			assertArrayEquals(expect[i], p, 1e-15);
+		}
+	}
+	
+	
+	@Test public void testHaltonScrambledStratification() {
+		// Each coordinate of p^k consecutive aligned points covers every interval of width p^-k once
+		QuasiRandomSequence seq = new HaltonSequence(4, new MersenneTwister(6));
+		int[] bases = {2, 3, 5, 7};
+		int n = 2 * 3 * 5 * 7 * 4;
+		double[] b = new double[4 * n];
+		seq.points(0, n, b);
+		for (int j = 0; j < 4; j++) {
+			int bins = bases[j];
+			int[] counts = new int[bins];
+			for (int i = 0; i < n; i++) {
+				double x = b[j * n + i];
+				assertTrue(0 <= x && x < 1);
+				counts[(int)(x * bins + 1e-9)]++;  // Points lie exactly on the boundaries k/p, up to rounding
+			}
+			for (int c : counts)
+				assertEquals(n / bins, c);
+		}
+	}
+	
+	
+	
+	/* R sequence */
+	
+	@Test public void testRSequence() {
+		double[] p = new double[2];
+		QuasiRandomSequence seq = new RSequence(2);
+		seq.point(0, p);
+		assertArrayEquals(new double[]{0.5, 0.5}, p, 0);
+		// The plastic number is the root of x^3 = x + 1
+		double phi = 1.32471795724474602596;
+		seq.point(12345, p);
+		assertEquals(frac(0.5 + 12345 / phi), p[0], 1e-12);
+		assertEquals(frac(0.5 + 12345 / (phi * phi)), p[1], 1e-12);
+		
+		new RSequence(1).point(1, p);
+		assertEquals(frac(0.5 + 2 / (1 + Math.sqrt(5))), p[0], 1e-15);
+	}
+	
+	
+	
+	/* All sequences */
+	
+	@Test public void testBulkMatchesPoint() {
+		QuasiRandomSequence[] seqs = {
+			new SobolSequence(7), new SobolSequence(7, new MersenneTwister(7)),
+			new HaltonSequence(7), new HaltonSequence(7, new MersenneTwister(8)),
+			new RSequence(7), new RSequence(7, new MersenneTwister(9)),
+		};
+		for (QuasiRandomSequence seq : seqs) {
+			for (long start : new long[]{0, 1, 1000, 123456789}) {
+				int count = 300;
+				double[] b = new double[7 * count];
+				seq.points(start, count, b);
+				double[] p = new double[7];
+				for (int i = 0; i < count; i++) {
+					seq.point(start + i, p);
+					for (int j = 0; j < 7; j++)
+						assertEquals(p[j], b[j * count + i], 0);
+				}
+			}
+		}
+	}
+	
+	
+	@Test public void testIntegrationError() {
+		// The integral of the product of (1 + (x_j - 1/2)) over the 6-dimensional unit cube is 1
+		int d = 6;
+		int n = 1 << 14;
+		QuasiRandomSequence[] seqs = {new SobolSequence(d, new MersenneTwister(10)), new HaltonSequence(d, new MersenneTwister(11)), new RSequence(d, new MersenneTwister(12))};
+		for (QuasiRandomSequence seq : seqs) {
+			double[] b = new double[d * n];
+			seq.points(0, n, b);
+			double sum = 0;
+			for (int i = 0; i < n; i++) {
+				double prod = 1;
+				for (int j = 0; j < d; j++)
+					prod *= 0.5 + b[j * n + i];
+				sum += prod;
+			}
+			// Plain Monte Carlo would have a standard error of about 0.006 here
+			assertEquals(1, sum / n, 1e-3);
+		}
+	}
+	
+	
+	private static void testStratification(QuasiRandomSequence seq, long start, int log2n) {
+		int n = 1 << log2n;
+		int d = seq.dimension();
+		double[] b = new double[d * n];
+		seq.points(start, n, b);
+		for (int j = 0; j < d; j++) {
+			boolean[] seen = new boolean[n];
+			for (int i = 0; i < n; i++) {
+				double x = b[j * n + i];
+				assertTrue(0 <= x && x < 1);
+				int bin = (int)(x * n);
+				assertTrue(!seen[bin]);
+				seen[bin] = true;
+			}
+		}
+	}
+	
+	
+	private static double frac(double x) {
+		return x - Math.floor(x);
+	}
+	
+}
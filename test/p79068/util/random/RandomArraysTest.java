@@ -0,0 +1,164 @@
+package p79068.util.random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.util.Arrays;
+import org.junit.Test;
+
+
+public final class RandomArraysTest {
+	
+	@Test public void testShuffleIsPermutation() {
+		Random rand = new MersenneTwister(1);
+		for (int n = 0; n < 100; n++) {
+			int[] a = identity(n);
+			RandomArrays.shuffle(a, rand);
+			Arrays.sort(a);
+			assertArrayEquals(identity(n), a);
+		}
+	}
+	
+	
+	@Test public void testShuffleRange() {
+		Random rand = new MersenneTwister(2);
+		double[] a = new double[20];
+		for (int i = 0; i < a.length; i++)
+			a[i] = i;
+		RandomArrays.shuffle(a, 5, 10, rand);
+		for (int i = 0; i < 5; i++)
+			assertEquals(i, a[i], 0);
+		for (int i = 15; i < 20; i++)
+			assertEquals(i, a[i], 0);
+		double[] middle = Arrays.copyOfRange(a, 5, 15);
+		Arrays.sort(middle);
+		for (int i = 0; i < middle.length; i++)
+			assertEquals(i + 5, middle[i], 0);
+	}
+	
+	
+	@Test public void testShuffleUniform() {
+		Random rand = new MersenneTwister(3);
+		int[] counts = new int[24];
+		int trials = 240000;
+		for (int i = 0; i < trials; i++) {
+			Object[] a = {0, 1, 2, 3};
+			RandomArrays.shuffle(a, rand);
+			counts[permutationIndex(a)]++;
+		}
+		checkUniform(counts, trials);
+	}
+	
+	
+	@Test public void testParallelShuffleUniform() {
+		// A leaf size of 1 makes every permutation come entirely from the merges
+		int[] counts = new int[24];
+		int trials = 240000;
+		for (int i = 0; i < trials; i++) {
+			int[] a = identity(4);
+			RandomArrays.parallelShuffle(a, i, 1);
+			Integer[] boxed = {a[0], a[1], a[2], a[3]};
+			counts[permutationIndex(boxed)]++;
+		}
+		checkUniform(counts, trials);
+	}
+	
+	
+	@Test public void testParallelShuffleDeterministic() {
+		int n = 300000;
+		int[] a = identity(n);
+		int[] b = identity(n);
+		RandomArrays.parallelShuffle(a, 123, 1000);
+		RandomArrays.parallelShuffle(b, 123, 1000);
+		assertArrayEquals(a, b);
+		assertFalse(Arrays.equals(identity(n), a));
+		Arrays.sort(a);
+		assertArrayEquals(identity(n), a);
+		
+		long[] c = new long[n];
+		for (int i = 0; i < n; i++)
+			c[i] = i;
+		RandomArrays.parallelShuffle(c, 456);
+		Arrays.sort(c);
+		for (int i = 0; i < n; i++)
+			assertEquals(i, c[i]);
+	}
+	
+	
+	@Test public void testSampleIndices() {
+		Random rand = new MersenneTwister(4);
+		int n = 50;
+		int k = 10;
+		int trials = 100000;
+		int[] counts = new int[n];
+		int[] firstCounts = new int[n];
+		for (int i = 0; i < trials; i++) {
+			int[] sample = RandomArrays.sampleIndices(n, k, rand);
+			assertEquals(k, sample.length);
+			boolean[] seen = new boolean[n];
+			for (int x : sample) {
+				assertTrue(0 <= x && x < n);
+				assertFalse(seen[x]);
+				seen[x] = true;
+				counts[x]++;
+			}
+			firstCounts[sample[0]]++;
+		}
+		for (int c : counts)
+			assertEquals((double)trials * k / n, c, 600);
+		for (int c : firstCounts)
+			assertEquals((double)trials / n, c, 300);
+	}
+	
+	
+	@Test public void testSampleIndicesEdgeCases() {
+		Random rand = new MersenneTwister(5);
+		assertEquals(0, RandomArrays.sampleIndices(0, 0, rand).length);
+		assertEquals(0, RandomArrays.sampleIndices(Integer.MAX_VALUE, 0, rand).length);
+		int[] all = RandomArrays.sampleIndices(1000, 1000, rand);
+		Arrays.sort(all);
+		assertArrayEquals(identity(1000), all);
+		int[] big = RandomArrays.sampleIndices(Integer.MAX_VALUE, 1000, rand);
+		assertEquals(1000, big.length);
+	}
+	
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testSampleIndicesInvalid() {
+		RandomArrays.sampleIndices(5, 6, new MersenneTwister(6));
+	}
+	
+	
+	private static int[] identity(int n) {
+		int[] result = new int[n];
+		for (int i = 0; i < n; i++)
+			result[i] = i;
+		return result;
+	}
+	
+	
+	// Returns the lexicographic rank of the specified permutation of {0, 1, 2, 3}.
+	private static int permutationIndex(Object[] perm) {
+		int result = 0;
+		for (int i = 0; i < perm.length; i++) {
+			int smaller = 0;
+			for (int j = i + 1; j < perm.length; j++) {
+				if ((Integer)perm[j] < (Integer)perm[i])
+					smaller++;
+			}
+			result = result * (perm.length - i) + smaller;
+		}
+		return result;
+	}
+	
+	
+	private static void checkUniform(int[] counts, int trials) {
+		double expected = (double)trials / counts.length;
+		double chiSqr = 0;
+		for (int c : counts)
+			chiSqr += (c - expected) * (c - expected) / expected;
+		assertTrue(chiSqr < 60);  // 23 degrees of freedom
+	}
+	
+}
@@ -0,0 +1,108 @@
+package p79068.util.random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import java.util.Arrays;
+import java.util.Spliterator;
+import org.junit.Test;
+
+
+public final class RandomStreamsTest {
+	
+	@Test public void testSequentialMatchesSingleCalls() {
+		int[] expected = new int[1000];
+		AbstractRandom r0 = new MersenneTwister(1);
+		for (int i = 0; i < expected.length; i++)
+			expected[i] = r0.uniformInt();
+		assertArrayEquals(expected, new MersenneTwister(1).ints(1000).toArray());
+		
+		// Element-by-element traversal and bulk traversal give the same values
+		int[] actual = new MersenneTwister(1).ints().limit(1000).toArray();
+		assertArrayEquals(expected, actual);
+		
+		long[] expectedLongs = new long[777];
+		new Pcg32(5, 6).uniformLongs(expectedLongs);
+		assertArrayEquals(expectedLongs, new Pcg32(5, 6).longs(777).toArray());
+		
+		double[] expectedDoubles = new double[500];
+		new LcgRandom(9).uniformDoubles(expectedDoubles);
+		assertArrayEquals(expectedDoubles, new LcgRandom(9).doubles(500).toArray(), 0);
+	}
+	
+	
+	@Test public void testParallel() {
+		long n = 1000000;
+		AbstractRandom[] gens = {new MersenneTwister(2), new Xoshiro256PlusPlus(3), new Pcg64(4, 5), new Philox4x32(6)};
+		for (AbstractRandom r : gens) {
+			double[] values = r.doubles(n).parallel().toArray();
+			assertEquals(n, values.length);
+			double sum = 0;
+			for (double x : values) {
+				assertTrue(0 <= x && x < 1);
+				sum += x;
+			}
+			assertEquals(0.5, sum / n, 0.002);
+			assertEquals(n, Arrays.stream(r.longs(n).parallel().toArray()).distinct().count());
+		}
+	}
+	
+	
+	@Test public void testSpliteratorSplits() {
+		Spliterator.OfLong s0 = new Xoroshiro128PlusPlus(7).longs(1000).spliterator();
+		Spliterator.OfLong s1 = s0.trySplit();
+		assertNotNull(s1);
+		assertEquals(500, s0.estimateSize());
+		assertEquals(500, s1.estimateSize());
+		long[] a = new long[500];
+		long[] b = new long[500];
+		final int[] i = {0};
+		s0.forEachRemaining((long x) -> a[i[0]++] = x);
+		i[0] = 0;
+		s1.forEachRemaining((long x) -> b[i[0]++] = x);
+		assertFalse(Arrays.equals(a, b));
+		
+		Spliterator.OfInt s2 = new MersenneTwister(8).ints(1).spliterator();
+		assertEquals(null, s2.trySplit());
+	}
+	
+	
+	@Test public void testSplitIndependent() {
+		SplittableRandom[] gens = {new Xoshiro256StarStar(1), new Xoshiro256PlusPlus(1), new Xoroshiro128PlusPlus(1), new Pcg32(1, 1), new Pcg64(1, 1), new Pcg64Dxsm(1, 1), new Philox4x32(1)};
+		for (SplittableRandom r : gens) {
+			SplittableRandom child = r.split();
+			assertEquals(r.getClass(), child.getClass());
+			SplittableRandom grandchild = child.split();
+			long[] x = new long[100];
+			long[] y = new long[100];
+			long[] z = new long[100];
+			r.uniformLongs(x);
+			child.uniformLongs(y);
+			grandchild.uniformLongs(z);
+			assertFalse(Arrays.equals(x, y));
+			assertFalse(Arrays.equals(y, z));
+			assertFalse(Arrays.equals(x, z));
+		}
+	}
+	
+	
+	@Test public void testWrappers() {
+		int[] expected = new MersenneTwister(10).ints(1000).toArray();
+		Random[] wrappers = {new FancyRandom(new MersenneTwister(10)), new SynchronizedRandom(new MersenneTwister(10)), new StripedRandom(new Random[]{new MersenneTwister(10)})};
+		for (Random r : wrappers)
+			assertArrayEquals(expected, r.ints(1000).toArray());
+		
+		Random r = new PerThreadRandom(new MersenneTwister(11));
+		assertEquals(100000, r.doubles(100000).parallel().filter(x -> 0 <= x && x < 1).count());
+		assertEquals(500, r.longs().limit(500).count());
+	}
+	
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testNegativeSize() {
+		new MersenneTwister(9).ints(-1);
+	}
+	
+}
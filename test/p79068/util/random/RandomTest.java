@@ -31,6 +31,67 @@ public abstract class RandomTest {
 	}
 	
 	
+	@Test public void testUniformIntRange() {
+		Random r = getInstance();
+		int[][] ranges = {{0, 1}, {-5, 5}, {Integer.MIN_VALUE, Integer.MAX_VALUE}, {-1, Integer.MAX_VALUE}, {Integer.MAX_VALUE - 3, Integer.MAX_VALUE}};
+		for (int[] range : ranges) {
+			for (int i = 0; i < 1000; i++) {
+				int x = r.uniformInt(range[0], range[1]);
+				assertTrue(range[0] <= x && x < range[1]);
+			}
+		}
+		try {
+			r.uniformInt(3, 3);
+			fail();
+		} catch (IllegalArgumentException e) {}
+	}
+	
+	
+	@Test public void testUniformLongN() {
+		Random r = getInstance();
+		long[] bounds = {1, 2, 3, 1000, 1L << 32, (1L << 40) + 7, Long.MAX_VALUE / 3 * 2, Long.MAX_VALUE};
+		for (long n : bounds) {
+			for (int i = 0; i < 1000; i++) {
+				long x = r.uniformLong(n);
+				assertTrue(0 <= x && x < n);
+			}
+		}
+		try {
+			r.uniformLong(0);
+			fail();
+		} catch (IllegalArgumentException e) {}
+	}
+	
+	
+	@Test public void testUniformLongRange() {
+		Random r = getInstance();
+		long[][] ranges = {{-1, 0}, {-1000, 1000}, {Long.MIN_VALUE, Long.MAX_VALUE}, {Long.MIN_VALUE, 1}};
+		for (long[] range : ranges) {
+			for (int i = 0; i < 1000; i++) {
+				long x = r.uniformLong(range[0], range[1]);
+				assertTrue(range[0] <= x && x < range[1]);
+			}
+		}
+		try {
+			r.uniformLong(5, -5);
+			fail();
+		} catch (IllegalArgumentException e) {}
+	}
+	
+	
+	@Test public void testUniformIntNDistribution() {
+		// Without rejection, a multiply-shift with bound 3 * 2^29 would give outputs congruent to 2 mod 3 a probability of only 1/4
+		Random r = getInstance();
+		int n = 3 << 29;
+		int trials = 300000;
+		int[] counts = new int[3];
+		for (int i = 0; i < trials; i++)
+			counts[r.uniformInt(n) % 3]++;
+		for (int c : counts)
+			assertEquals(trials / 3.0, c, 1500);
+	}
+	
+	
 	@Test public void testUniformDouble() {
 		Random r = getInstance();
 		for (int i = 1; i < 1000; i++) {
@@ -59,4 +120,32 @@ public abstract class RandomTest {
 		}
 	}
 	
+	
+	@Test public void testUniformIntsRange() {
+		Random r = getInstance();
+		for (int i = 0; i < 1000; i++) {
+			int[] reference = new int[i];
+			r.uniformInts(reference);
+			
+			int off = r.uniformInt(i + 1);
+			int len = r.uniformInt(i - off + 1);
+			int[] refilled = reference.clone();
+			r.uniformInts(refilled, off, len);
+			for (int j = 0; j < off; j++)
+				assertEquals(reference[j], refilled[j]);
+			for (int j = off + len; j < i; j++)
+				assertEquals(reference[j], refilled[j]);
+		}
+	}
+	
+	
+	@Test public void testUniformDoubles() {
+		Random r = getInstance();
+		double[] b = new double[1000];
+		r.uniformDoubles(b, 1, 998);
+		assertTrue(b[0] == 0 && b[999] == 0);
+		for (int i = 1; i < 999; i++)
+			assertTrue(0.0 <= b[i] && b[i] < 1.0);
+	}
+	
 }
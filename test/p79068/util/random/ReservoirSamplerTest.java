@@ -0,0 +1,110 @@
+package p79068.util.random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.Test;
+
+
+public final class ReservoirSamplerTest {
+	
+	@Test public void testFewerThanCapacity() {
+		ReservoirSampler<Integer> s = new ReservoirSampler<Integer>(10, new MersenneTwister(1));
+		for (int i = 0; i < 7; i++)
+			s.accept(i);
+		assertEquals(7, s.getCount());
+		assertEquals(new HashSet<Integer>(IntStream.range(0, 7).boxed().collect(Collectors.toList())), new HashSet<Integer>(s.getSample()));
+	}
+	
+	
+	@Test public void testUniformInclusion() {
+		Random rand = new MersenneTwister(2);
+		int n = 1000;
+		int k = 10;
+		int trials = 20000;
+		int[] counts = new int[n];
+		for (int i = 0; i < trials; i++) {
+			ReservoirSampler<Integer> s = new ReservoirSampler<Integer>(k, rand);
+			s.acceptAll(IntStream.range(0, n).iterator());
+			List<Integer> sample = s.getSample();
+			assertEquals(k, new HashSet<Integer>(sample).size());
+			for (int x : sample)
+				counts[x]++;
+		}
+		checkInclusion(counts, (double)trials * k / n);
+	}
+	
+	
+	@Test public void testMergeUniformInclusion() {
+		Random rand = new MersenneTwister(3);
+		int n = 100;
+		int k = 10;
+		int trials = 50000;
+		int[] counts = new int[n];
+		for (int i = 0; i < trials; i++) {
+			// Uneven parts, one of them smaller than the capacity
+			ReservoirSampler<Integer> s0 = new ReservoirSampler<Integer>(k, rand);
+			ReservoirSampler<Integer> s1 = new ReservoirSampler<Integer>(k, rand);
+			ReservoirSampler<Integer> s2 = new ReservoirSampler<Integer>(k, rand);
+			for (int j = 0; j < 4; j++)
+				s0.accept(j);
+			for (int j = 4; j < 70; j++)
+				s1.accept(j);
+			for (int j = 70; j < n; j++)
+				s2.accept(j);
+			s0.merge(s1);
+			s0.merge(s2);
+			assertEquals(n, s0.getCount());
+			for (int x : s0.getSample())
+				counts[x]++;
+		}
+		checkInclusion(counts, (double)trials * k / n);
+	}
+	
+	
+	@Test public void testContinueAfterMerge() {
+		Random rand = new MersenneTwister(4);
+		int n = 200;
+		int k = 5;
+		int trials = 40000;
+		int[] counts = new int[n];
+		for (int i = 0; i < trials; i++) {
+			ReservoirSampler<Integer> s0 = new ReservoirSampler<Integer>(k, rand);
+			ReservoirSampler<Integer> s1 = new ReservoirSampler<Integer>(k, rand);
+			for (int j = 0; j < 50; j++)
+				s0.accept(j);
+			for (int j = 50; j < 100; j++)
+				s1.accept(j);
+			s0.merge(s1);
+			for (int j = 100; j < n; j++)
+				s0.accept(j);
+			for (int x : s0.getSample())
+				counts[x]++;
+		}
+		checkInclusion(counts, (double)trials * k / n);
+	}
+	
+	
+	@Test public void testParallelCollector() {
+		List<Integer> sample = IntStream.range(0, 100000).parallel().boxed()
+			.collect(ReservoirSampler.<Integer>collector(50, Random.PER_THREAD));
+		Set<Integer> distinct = new HashSet<Integer>(sample);
+		assertEquals(50, distinct.size());
+		for (int x : distinct)
+			assertTrue(0 <= x && x < 100000);
+	}
+	
+	
+	private static void checkInclusion(int[] counts, double expected) {
+		double chiSqr = 0;
+		for (int c : counts)
+			chiSqr += (c - expected) * (c - expected) / expected;
+		int dof = counts.length - 1;
+		assertTrue(chiSqr < dof + 6 * Math.sqrt(2 * dof));
+	}
+	
+}
@@ -0,0 +1,38 @@
+package p79068.util.random;
+
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+
+public final class StripedRandomTest extends RandomTest {
+	
+	protected Random getInstance() {
+		return new StripedRandom(4);
+	}
+	
+	
+	@Test public void testContended() throws InterruptedException {
+		final Random r = new StripedRandom(3);
+		Thread[] threads = new Thread[8];
+		final boolean[] ok = new boolean[threads.length];
+		for (int i = 0; i < threads.length; i++) {
+			final int index = i;
+			threads[i] = new Thread() {
+				public void run() {
+					boolean good = true;
+					for (int j = 0; j < 100000; j++) {
+						int x = r.uniformInt(10);
+						good &= 0 <= x && x < 10;
+					}
+					ok[index] = good;
+				}
+			};
+			threads[i].start();
+		}
+		for (Thread t : threads)
+			t.join();
+		for (boolean b : ok)
+			assertTrue(b);
+	}
+	
+}
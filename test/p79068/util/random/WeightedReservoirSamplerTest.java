@@ -0,0 +1,82 @@
+package p79068.util.random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.Test;
+
+
+public final class WeightedReservoirSamplerTest {
+	
+	@Test public void testSingleProportionalToWeight() {
+		Random rand = new MersenneTwister(1);
+		double[] weights = {1, 2, 3, 0, 4};
+		int trials = 200000;
+		int[] counts = new int[weights.length];
+		for (int i = 0; i < trials; i++) {
+			WeightedReservoirSampler<Integer> s = new WeightedReservoirSampler<Integer>(1, rand);
+			for (int j = 0; j < weights.length; j++)
+				s.accept(j, weights[j]);
+			counts[s.getSample().get(0)]++;
+		}
+		assertEquals(0, counts[3]);
+		for (int j = 0; j < weights.length; j++)
+			assertEquals(weights[j] / 10, (double)counts[j] / trials, 0.004);
+	}
+	
+	
+	@Test public void testSkipsMatchDirectKeys() {
+		// With k = 2 and weights {1, 1, 2}, the probability that item 2 is excluded is
+		// P(first draw is 0) * P(second is 1 | first 0) + P(first is 1) * P(second is 0 | first 1) = (1/4)(1/3) * 2 = 1/6
+		Random rand = new MersenneTwister(2);
+		int trials = 200000;
+		int excluded = 0;
+		for (int i = 0; i < trials; i++) {
+			WeightedReservoirSampler<Integer> s = new WeightedReservoirSampler<Integer>(2, rand);
+			s.accept(0, 1);
+			s.accept(1, 1);
+			s.accept(2, 2);
+			if (!s.getSample().contains(2))
+				excluded++;
+		}
+		assertEquals(1.0 / 6, (double)excluded / trials, 0.003);
+	}
+	
+	
+	@Test public void testMerge() {
+		Random rand = new MersenneTwister(3);
+		int trials = 200000;
+		int[] counts = new int[4];
+		for (int i = 0; i < trials; i++) {
+			WeightedReservoirSampler<Integer> s0 = new WeightedReservoirSampler<Integer>(1, rand);
+			WeightedReservoirSampler<Integer> s1 = new WeightedReservoirSampler<Integer>(1, rand);
+			s0.accept(0, 1);
+			s0.accept(1, 2);
+			s1.accept(2, 3);
+			s1.accept(3, 4);
+			s0.merge(s1);
+			assertEquals(4, s0.getCount());
+			counts[s0.getSample().get(0)]++;
+		}
+		for (int j = 0; j < 4; j++)
+			assertEquals((j + 1) / 10.0, (double)counts[j] / trials, 0.004);
+	}
+	
+	
+	@Test public void testParallelCollector() {
+		List<Integer> sample = IntStream.range(0, 100000).parallel().boxed()
+			.collect(WeightedReservoirSampler.<Integer>collector(20, x -> x % 2 == 0 ? 1.0 : 0.0, Random.PER_THREAD));
+		assertEquals(20, new HashSet<Integer>(sample).size());
+		for (int x : sample)
+			assertFalse(x % 2 == 1);
+	}
+	
+	
+	@Test(expected=IllegalArgumentException.class)
+	public void testInvalidWeight() {
+		new WeightedReservoirSampler<String>(3, new MersenneTwister(4)).accept("a", -1);
+	}
+	
+}
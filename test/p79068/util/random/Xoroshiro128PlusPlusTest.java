@@ -0,0 +1,43 @@
+package p79068.util.random;
+
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+
+public final class Xoroshiro128PlusPlusTest extends RandomTest {
+	
+	protected Random getInstance() {
+		return new Xoroshiro128PlusPlus();
+	}
+	
+	
+	@Test public void testReference() {
+		// From the reference C code, starting from the state {1, 2}
+		long[][] expected = {
+			{0x0000000000060001L, 0x000260C000660007L, 0x180ACC04718606D3L, 0x9E226D35036FC4C7L, 0x849BC9AC6B960BE4L},  // Initial
+			{0x20467A1D49654418L, 0x5526C08B330B23B8L, 0x650F00A34800A9DEL, 0xCC32408D7046AD4BL, 0xCD0661D676365161L},  // After jump()
+			{0x779BAE656224EDCBL, 0x2F9BCA4589882D9DL, 0x8CAE49483E96CF71L, 0xF19711A0D7397189L, 0x2030DF96D800DADBL},  // After longJump()
+		};
+		Xoroshiro128PlusPlus r = new Xoroshiro128PlusPlus(1, 2);
+		for (int i = 0; i < expected.length; i++) {
+			if (i == 1)
+				r.jump();
+			else if (i == 2)
+				r.longJump();
+			for (long x : expected[i])
+				assertEquals(x, r.uniformLong());
+		}
+	}
+	
+	
+	@Test public void testBulkMatchesSingle() {
+		Xoroshiro128PlusPlus a = new Xoroshiro128PlusPlus(123);
+		Xoroshiro128PlusPlus b = a.clone();
+		long[] longs = new long[1000];
+		a.uniformLongs(longs, 1, 998);
+		for (int i = 1; i < 999; i++)
+			assertEquals(b.uniformLong(), longs[i]);
+		assertEquals(b.uniformLong(), a.uniformLong());
+	}
+	
+}
@@ -0,0 +1,43 @@
+package p79068.util.random;
+
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+
+public final class Xoshiro256PlusPlusTest extends RandomTest {
+	
+	protected Random getInstance() {
+		return new Xoshiro256PlusPlus();
+	}
+	
+	
+	@Test public void testReference() {
+		// From the reference C code, starting from the state {1, 2, 3, 4}
+		long[][] expected = {
+			{0x0000000002800001L, 0x0000000003800067L, 0x000CC00003800067L, 0x000CC201994400B2L, 0x8012A2019AC433CDL},  // Initial
+			{0x78770C15D47E19EAL, 0x84CFAAE73AA9756AL, 0x62408345715A13E6L, 0x8196E08940FF93C8L, 0x87609D8B6361DC82L},  // After jump()
+			{0x4F92F40172159871L, 0x947D1A72FA35A0BBL, 0x830317BE0FEF5C2DL, 0xE07620C2034617C3L, 0x99137608FFBF46DFL},  // After longJump()
+		};
+		Xoshiro256PlusPlus r = new Xoshiro256PlusPlus(1, 2, 3, 4);
+		for (int i = 0; i < expected.length; i++) {
+			if (i == 1)
+				r.jump();
+			else if (i == 2)
+				r.longJump();
+			for (long x : expected[i])
+				assertEquals(x, r.uniformLong());
+		}
+	}
+	
+	
+	@Test public void testBulkMatchesSingle() {
+		Xoshiro256PlusPlus a = new Xoshiro256PlusPlus(123);
+		Xoshiro256PlusPlus b = a.clone();
+		long[] longs = new long[1000];
+		a.uniformLongs(longs, 1, 998);
+		for (int i = 1; i < 999; i++)
+			assertEquals(b.uniformLong(), longs[i]);
+		assertEquals(b.uniformLong(), a.uniformLong());
+	}
+	
+}
@@ -0,0 +1,43 @@
+package p79068.util.random;
+
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+
+public final class Xoshiro256StarStarTest extends RandomTest {
+	
+	protected Random getInstance() {
+		return new Xoshiro256StarStar();
+	}
+	
+	
+	@Test public void testReference() {
+		// From the reference C code, starting from the state {1, 2, 3, 4}
+		long[][] expected = {
+			{0x0000000000002D00L, 0x0000000000000000L, 0x000000005A007080L, 0x10E0000000009D80L, 0x10E0B61CE1009D80L},  // Initial
+			{0x02A79EF4CC0C7A67L, 0x4B50848AFA521D37L, 0xA49FEA6ABF4C3238L, 0xA07057441B7763D3L, 0x9033E1777DB24FC2L},  // After jump()
+			{0xC55348EAFFCCE9EEL, 0x6EFF61BC9D91F8DAL, 0x586AD8F506354595L, 0x503EF779DF69BBDAL, 0x8466FF939620B7E8L},  // After longJump()
+		};
+		Xoshiro256StarStar r = new Xoshiro256StarStar(1, 2, 3, 4);
+		for (int i = 0; i < expected.length; i++) {
+			if (i == 1)
+				r.jump();
+			else if (i == 2)
+				r.longJump();
+			for (long x : expected[i])
+				assertEquals(x, r.uniformLong());
+		}
+	}
+	
+	
+	@Test public void testBulkMatchesSingle() {
+		Xoshiro256StarStar a = new Xoshiro256StarStar(123);
+		Xoshiro256StarStar b = a.clone();
+		long[] longs = new long[1000];
+		a.uniformLongs(longs, 1, 998);
+		for (int i = 1; i < 999; i++)
+			assertEquals(b.uniformLong(), longs[i]);
+		assertEquals(b.uniformLong(), a.uniformLong());
+	}
+	
+}